@@ -8,6 +8,7 @@ import com.example.treksathi.record.OrganizerRecord;
 
 public interface IEventService {
     PaginatedResponseDTO<EventCardResponse> getAllEvents(int page, int size);
+    PaginatedResponseDTO<EventCardResponse> scrollEvents(String cursor, int size, boolean includeTotal);
     EventResponseRecord getEventById(int id);
 
 
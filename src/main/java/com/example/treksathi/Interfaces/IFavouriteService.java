@@ -24,6 +24,9 @@ public interface IFavouriteService {
     // Get all favourites for user (paginated)
     FavouritesPageResponse getUserFavourites(String email, Pageable pageable);
 
+    // Get favourites by seek cursor, without counting them unless asked
+    FavouritesPageResponse scrollUserFavourites(String email, String cursor, int size, boolean includeTotal);
+
     // Get all favourite event IDs (for quick lookup)
     List<Integer> getUserFavouriteEventIds(String email);
 
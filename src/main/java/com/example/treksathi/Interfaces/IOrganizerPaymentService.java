@@ -2,6 +2,7 @@ package com.example.treksathi.Interfaces;
 
 import com.example.treksathi.dto.organizer.PaymentDashboardDTO;
 import com.example.treksathi.dto.organizer.PaymentFilterDTO;
+import com.example.treksathi.dto.pagination.CursorPageDTO;
 
 public interface IOrganizerPaymentService {
     PaymentDashboardDTO getPaymentDashboard(Integer organizerId, PaymentFilterDTO filters);
@@ -9,5 +10,9 @@ public interface IOrganizerPaymentService {
     org.springframework.data.domain.Page<com.example.treksathi.dto.organizer.ParticipantPaymentDTO> getPayments(
             Integer organizerId, PaymentFilterDTO filters, int page, int size);
 
-    java.io.ByteArrayInputStream exportPaymentsToCSV(Integer organizerId);
+    CursorPageDTO<com.example.treksathi.dto.organizer.ParticipantPaymentDTO> getPaymentsByCursor(
+            Integer organizerId, PaymentFilterDTO filters, String cursor, int size, boolean includeCount);
+
+    org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody exportPaymentsToCSV(
+            Integer organizerId, PaymentFilterDTO filters);
 }
@@ -7,6 +7,6 @@ import java.util.List;
 public interface ISearchService {
     SearchResponse searchEvents(SearchCriteria criteria);
     List<QuickSearchSuggestion> getQuickSuggestions(String query);
-    List<String> getPopularLocations();
+    List<String> getPopularLocations(Integer limit);
     List<OrganizerSearchDTO> searchOrganizers(String query);
 }
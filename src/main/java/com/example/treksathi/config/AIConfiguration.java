@@ -1,9 +1,19 @@
 package com.example.treksathi.config;
 
+import com.example.treksathi.util.CachingEmbeddingModel;
+import com.example.treksathi.util.HashingEmbeddingModel;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.qdrant.client.QdrantClient;
 import io.qdrant.client.QdrantGrpcClient;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
 
 @Configuration
 public class AIConfiguration {
@@ -15,4 +25,34 @@ public class AIConfiguration {
                         .build()
         );
     }
+
+    /**
+     * Deterministic word-hashing embeddings instead of Ollama, for tests and
+     * offline runs; pairs with ai.vector-store.provider=local.
+     */
+    @Bean
+    @Primary
+    @ConditionalOnProperty(name = "ai.embedding.provider", havingValue = "hashing")
+    public EmbeddingModel hashingEmbeddingModel(@Value("${ai.embedding.hashing.dimensions:384}") int dimensions) {
+        return new HashingEmbeddingModel(dimensions);
+    }
+
+    /**
+     * Wraps the auto-configured embedding model, so the vector store and our own
+     * services share one cache of question embeddings.
+     */
+    @Bean
+    public static BeanPostProcessor queryEmbeddingCache(Environment environment,
+                                                        ObjectProvider<MeterRegistry> meterRegistry) {
+        int maxEntries = environment.getProperty("ai.embedding-cache.max-entries", Integer.class, 1000);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof EmbeddingModel model && !(bean instanceof CachingEmbeddingModel) && maxEntries > 0) {
+                    return new CachingEmbeddingModel(model, maxEntries, meterRegistry.getObject());
+                }
+                return bean;
+            }
+        };
+    }
 }
@@ -6,6 +6,8 @@ import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 @Configuration
 @EnableAsync
@@ -22,6 +24,12 @@ public class AsyncConfig {
         return executor;
     }
 
+    // Dashboard sections spend nearly all their time waiting on the database, so one virtual thread each is cheap
+    @Bean(name = "dashboardExecutor", destroyMethod = "close")
+    public ExecutorService dashboardExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("dashboard-", 0).factory());
+    }
+
     public static void main(String[] args) {
 
     }
@@ -0,0 +1,61 @@
+package com.example.treksathi.config;
+
+import com.example.treksathi.dto.ChatBot.ChatbotResponseDTO;
+import com.example.treksathi.dto.PlatformStatsDTO;
+import com.example.treksathi.dto.admin.dashboard.AdminDashboardDTO;
+import com.example.treksathi.dto.search.SearchCacheKey;
+import com.example.treksathi.dto.search.SearchResponse;
+import com.example.treksathi.util.ByteBudgetCache;
+import com.example.treksathi.util.ReadThroughCache;
+import com.example.treksathi.util.SemanticCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
+
+@Configuration
+public class CacheConfig {
+
+    @Bean
+    public ReadThroughCache<String, AdminDashboardDTO> adminDashboardCache(
+            @Value("${cache.admin-dashboard.ttl:60s}") Duration ttl, MeterRegistry meterRegistry) {
+        return new ReadThroughCache<>("admin-dashboard", ttl, 1, meterRegistry);
+    }
+
+    @Bean
+    public ReadThroughCache<String, PlatformStatsDTO> publicStatsCache(
+            @Value("${cache.public-stats.ttl:5m}") Duration ttl, MeterRegistry meterRegistry) {
+        return new ReadThroughCache<>("public-stats", ttl, 1, meterRegistry);
+    }
+
+    @Bean
+    public ReadThroughCache<String, List<String>> popularLocationsCache(
+            @Value("${cache.popular-locations.ttl:10m}") Duration ttl, MeterRegistry meterRegistry) {
+        return new ReadThroughCache<>("popular-locations", ttl, 1, meterRegistry);
+    }
+
+    @Bean
+    public ByteBudgetCache<SearchCacheKey, SearchResponse> searchResultCache(
+            @Value("${cache.search-results.ttl:60s}") Duration ttl,
+            @Value("${cache.search-results.max-bytes:16MB}") DataSize maxBytes,
+            ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        return new ByteBudgetCache<>("search-results", SearchResponse.class, objectMapper, ttl, maxBytes.toBytes(),
+                meterRegistry);
+    }
+
+    @Bean
+    public SemanticCache<ChatbotResponseDTO> chatAnswerCache(
+            @Value("${cache.chat-answers.ttl:30m}") Duration ttl,
+            @Value("${cache.chat-answers.similarity-threshold:0.92}") double similarityThreshold,
+            @Value("${cache.chat-answers.max-entries:500}") int maxEntries,
+            EmbeddingModel embeddingModel, MeterRegistry meterRegistry) {
+        return new SemanticCache<>("chat-answers", embeddingModel, similarityThreshold, ttl, maxEntries,
+                meterRegistry);
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.treksathi.config;
+
+import com.example.treksathi.util.InMemoryVectorStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Replaces the Qdrant vector store with the in-process one when
+ * ai.vector-store.provider=local; {@link LocalVectorStoreEnvironmentPostProcessor}
+ * switches the Qdrant auto-configuration off for that. The store starts from
+ * its last snapshot, if any, and VectorIndexingService then reindexes every
+ * event, since the snapshot misses whatever changed after it was taken.
+ */
+@Configuration
+@ConditionalOnProperty(name = "ai.vector-store.provider", havingValue = "local")
+@Slf4j
+public class LocalVectorStoreConfig {
+
+    @Bean(destroyMethod = "saveSnapshot")
+    public InMemoryVectorStore inMemoryVectorStore(EmbeddingModel embeddingModel, ObjectMapper objectMapper,
+                                           @Value("${ai.vector-store.local.snapshot-dir:}") String snapshotDir) {
+        InMemoryVectorStore store = new InMemoryVectorStore(embeddingModel, objectMapper,
+                snapshotDir.isBlank() ? null : Path.of(snapshotDir));
+        try {
+            store.loadSnapshot();
+        } catch (IOException e) {
+            log.warn("Could not load vector store snapshot from {}, starting empty: {}", snapshotDir, e.getMessage());
+        }
+        return store;
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.treksathi.config;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+
+import java.util.Map;
+
+/**
+ * Excludes the Qdrant vector store auto-configuration when
+ * ai.vector-store.provider=local, so {@link LocalVectorStoreConfig} provides
+ * the only vector store. Any exclusions already configured are kept.
+ * Registered through META-INF/spring.factories.
+ */
+public class LocalVectorStoreEnvironmentPostProcessor implements EnvironmentPostProcessor {
+
+    private static final String QDRANT_AUTO_CONFIGURATION =
+            "org.springframework.ai.autoconfigure.vectorstore.qdrant.QdrantVectorStoreAutoConfiguration";
+
+    private static final String EXCLUDE = "spring.autoconfigure.exclude";
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        if (!"local".equals(environment.getProperty("ai.vector-store.provider"))) {
+            return;
+        }
+        String existing = environment.getProperty(EXCLUDE, "");
+        String exclude = existing.isBlank() ? QDRANT_AUTO_CONFIGURATION : existing + "," + QDRANT_AUTO_CONFIGURATION;
+        // First, since only the highest-precedence value of the property is read
+        environment.getPropertySources().addFirst(new MapPropertySource("localVectorStore", Map.of(EXCLUDE, exclude)));
+    }
+}
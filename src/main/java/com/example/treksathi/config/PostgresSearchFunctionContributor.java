@@ -0,0 +1,83 @@
+package com.example.treksathi.config;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.metamodel.model.domain.ReturnableType;
+import org.hibernate.query.sqm.function.AbstractSqmSelfRenderingFunctionDescriptor;
+import org.hibernate.query.sqm.produce.function.StandardArgumentsValidators;
+import org.hibernate.query.sqm.produce.function.StandardFunctionArgumentTypeResolvers;
+import org.hibernate.query.sqm.produce.function.StandardFunctionReturnTypeResolvers;
+import org.hibernate.sql.ast.SqlAstTranslator;
+import org.hibernate.sql.ast.spi.SqlAppender;
+import org.hibernate.sql.ast.tree.SqlAstNode;
+import org.hibernate.sql.ast.tree.expression.ColumnReference;
+import org.hibernate.sql.ast.tree.expression.Expression;
+import org.hibernate.type.BasicType;
+import org.hibernate.type.BasicTypeRegistry;
+import org.hibernate.type.StandardBasicTypes;
+
+import java.util.List;
+
+/**
+ * Exposes PostgreSQL full-text operators to JPA criteria queries. Both
+ * functions take a column of the event and the raw user query, which is
+ * parsed with websearch_to_tsquery so quotes, "or" and "-" work as users expect.
+ * They match against the search_vector column of that column's table, which is
+ * deliberately not mapped so loading an event never reads it.
+ * Also adds the great-circle distance in kilometres between two lat/lon pairs.
+ * Registered through META-INF/services.
+ */
+public class PostgresSearchFunctionContributor implements FunctionContributor {
+
+    public static final String FTS_MATCH = "fts_match";
+    public static final String FTS_RANK = "fts_rank";
+    public static final String GEO_DISTANCE_KM = "geo_distance_km";
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        BasicTypeRegistry types = functionContributions.getTypeConfiguration().getBasicTypeRegistry();
+
+        functionContributions.getFunctionRegistry().register(FTS_MATCH,
+                new SearchVectorFunction(FTS_MATCH, "(", " @@ ", types.resolve(StandardBasicTypes.BOOLEAN)));
+        functionContributions.getFunctionRegistry().register(FTS_RANK,
+                new SearchVectorFunction(FTS_RANK, "ts_rank(", ", ", types.resolve(StandardBasicTypes.DOUBLE)));
+        // Haversine: geo_distance_km(lat1, lon1, lat2, lon2)
+        functionContributions.getFunctionRegistry().registerPattern(GEO_DISTANCE_KM,
+                "(12742.0 * asin(least(1.0, sqrt(power(sin(radians(?3 - ?1) / 2), 2) "
+                        + "+ cos(radians(?1)) * cos(radians(?3)) * power(sin(radians(?4 - ?2) / 2), 2)))))",
+                types.resolve(StandardBasicTypes.DOUBLE));
+    }
+
+    /**
+     * Renders the match or rank against {@code <alias>.search_vector}, taking the
+     * alias from the column passed as the first argument.
+     */
+    private static final class SearchVectorFunction extends AbstractSqmSelfRenderingFunctionDescriptor {
+
+        private final String open;
+        private final String operator;
+
+        SearchVectorFunction(String name, String open, String operator, BasicType<?> type) {
+            super(name, StandardArgumentsValidators.exactly(2),
+                    StandardFunctionReturnTypeResolvers.invariant(type), StandardFunctionArgumentTypeResolvers.NULL);
+            this.open = open;
+            this.operator = operator;
+        }
+
+        @Override
+        public void render(SqlAppender sqlAppender, List<? extends SqlAstNode> arguments,
+                           ReturnableType<?> returnType, SqlAstTranslator<?> walker) {
+            ColumnReference column = ((Expression) arguments.get(0)).getColumnReference();
+            if (column == null) {
+                throw new IllegalArgumentException(getName() + " takes a column of the event as its first argument");
+            }
+            sqlAppender.appendSql(open);
+            sqlAppender.appendSql(column.getQualifier());
+            sqlAppender.appendSql(".search_vector");
+            sqlAppender.appendSql(operator);
+            sqlAppender.appendSql("websearch_to_tsquery('english', ");
+            arguments.get(1).accept(walker);
+            sqlAppender.appendSql("))");
+        }
+    }
+}
@@ -1,4 +1,5 @@
     package com.example.treksathi.config;
+    import jakarta.servlet.DispatcherType;
     import jakarta.servlet.http.HttpServletResponse;
     import lombok.RequiredArgsConstructor;
     import lombok.extern.slf4j.Slf4j;
@@ -54,6 +55,8 @@
             http.csrf(customizer -> customizer.disable())
                     .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                     .authorizeHttpRequests(auth -> auth
+                            // Async dispatches (streamed responses) continue a request that was already authorized
+                            .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                             .requestMatchers( "/auth/**", "/event/registration/success", "/event/registration/failure").permitAll()
                             .requestMatchers("/v3/api-docs/auth/**").permitAll()
                             .requestMatchers("/auth/**",  "/public/stats").permitAll()
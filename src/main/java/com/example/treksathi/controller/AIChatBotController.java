@@ -5,8 +5,11 @@ import com.example.treksathi.service.RagService;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 
 import java.time.LocalDate;
 
@@ -29,6 +32,17 @@ public class AIChatBotController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Streaming chatbot endpoint - event cards first, then the answer token by token
+     * POST /api/ai/ask/stream
+     * Body: { "question": "Show me treks in January" }
+     * Events: "cards", then "token" (repeated), then "done" or "error"
+     */
+    @PostMapping(value = "/ask/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<Object>> askStream(@RequestBody ChatRequest request) {
+        return ragService.streamWithEventCards(request.getQuestion());
+    }
+
     /**
      * Simple text-only endpoint (backward compatibility)
      * POST /api/chatbot/ask-simple
@@ -100,4 +114,4 @@ class SearchRequest {
 @Data
 class RecommendationRequest {
     private String preferences;
-}
\ No newline at end of file
+}
\ No newline at end of file
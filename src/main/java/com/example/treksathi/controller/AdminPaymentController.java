@@ -1,10 +1,13 @@
 package com.example.treksathi.controller;
 
 import com.example.treksathi.dto.payment.AdminPaymentDTO;
+import com.example.treksathi.dto.payment.BulkReleaseResultDTO;
 import com.example.treksathi.dto.payment.OrganizerBalanceDTO;
 import com.example.treksathi.dto.payment.PaymentStatsDTO;
 import com.example.treksathi.model.User;
 import com.example.treksathi.service.AdminPaymentService;
+import com.example.treksathi.service.OrganizerBalanceService;
+import com.example.treksathi.service.RevenueRollupService;
 import com.example.treksathi.service.UserServices;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -31,6 +34,8 @@ import java.util.Map;
 public class AdminPaymentController {
 
     private final AdminPaymentService adminPaymentService;
+    private final RevenueRollupService revenueRollupService;
+    private final OrganizerBalanceService organizerBalanceService;
     private final UserServices userServices;
 
     @GetMapping
@@ -84,10 +89,9 @@ public class AdminPaymentController {
 
     @PostMapping("/release/bulk")
     @PreAuthorize("hasAuthority('ADMIN')")
-    @Operation(summary = "Bulk release payments", description = "Release multiple payments at once", security = @SecurityRequirement(name = "bearerAuth"))
-    public ResponseEntity<Void> bulkRelease(@RequestBody List<Integer> paymentIds) {
-        adminPaymentService.bulkRelease(paymentIds, getAuthenticatedUserId());
-        return ResponseEntity.ok().build();
+    @Operation(summary = "Bulk release payments", description = "Release multiple payments at once and report the outcome for each ID", security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<BulkReleaseResultDTO> bulkRelease(@RequestBody List<Integer> paymentIds) {
+        return ResponseEntity.ok(adminPaymentService.bulkRelease(paymentIds, getAuthenticatedUserId()));
     }
 
     @PostMapping("/{id}/refund")
@@ -100,13 +104,30 @@ public class AdminPaymentController {
     @GetMapping("/export")
     @PreAuthorize("hasAuthority('ADMIN')")
     @Operation(summary = "Export payments to CSV", security = @SecurityRequirement(name = "bearerAuth"))
-    public ResponseEntity<org.springframework.core.io.InputStreamResource> exportPayments() {
-        var stream = adminPaymentService.exportPaymentsToCSV();
+    public ResponseEntity<org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody> exportPayments(
+            @RequestParam(defaultValue = "ALL") String status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        var body = adminPaymentService.exportPaymentsToCSV(status, startDate, endDate);
 
         return ResponseEntity.ok()
                 .header(org.springframework.http.HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=payments.csv")
                 .contentType(org.springframework.http.MediaType.parseMediaType("application/csv"))
-                .body(new org.springframework.core.io.InputStreamResource(stream));
+                .body(body);
+    }
+
+    @PostMapping("/rollup/rebuild")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    @Operation(summary = "Rebuild revenue rollup", description = "Recompute the daily revenue rollup from the payment history", security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<Map<String, Integer>> rebuildRevenueRollup() {
+        return ResponseEntity.ok(Map.of("buckets", revenueRollupService.rebuild()));
+    }
+
+    @PostMapping("/balances/reconcile")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    @Operation(summary = "Reconcile organizer balances", description = "Check the organizer balance ledger against raw payments and repair drifted rows", security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<Map<String, Integer>> reconcileOrganizerBalances() {
+        return ResponseEntity.ok(Map.of("repaired", organizerBalanceService.reconcile()));
     }
 
     private int getAuthenticatedUserId() {
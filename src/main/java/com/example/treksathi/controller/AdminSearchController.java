@@ -0,0 +1,63 @@
+package com.example.treksathi.controller;
+
+import com.example.treksathi.dto.search.SuggestionIndexStatusDTO;
+import com.example.treksathi.dto.search.VectorIndexStatusDTO;
+import com.example.treksathi.service.SuggestionIndexService;
+import com.example.treksathi.service.VectorIndexingService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/admin/search")
+@RequiredArgsConstructor
+@Tag(name = "Admin Search", description = "Endpoints for maintaining the search suggestion and vector indexes")
+@SecurityRequirement(name = "bearerAuth")
+public class AdminSearchController {
+
+    private final SuggestionIndexService suggestionIndexService;
+    private final VectorIndexingService vectorIndexingService;
+
+    @GetMapping("/suggestions/status")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    @Operation(summary = "Get suggestion index status", description = "Returns entry count, memory use against the budget and when the index was built.")
+    public ResponseEntity<SuggestionIndexStatusDTO> getStatus() {
+        return ResponseEntity.ok(suggestionIndexService.status());
+    }
+
+    @GetMapping("/suggestions/consistency")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    @Operation(summary = "Check suggestion index against the database", description = "Counts entries that are missing, stale or no longer active compared to the database.")
+    public ResponseEntity<SuggestionIndexStatusDTO> checkConsistency() {
+        return ResponseEntity.ok(suggestionIndexService.checkConsistency());
+    }
+
+    @PostMapping("/suggestions/rebuild")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    @Operation(summary = "Rebuild suggestion index", description = "Reloads active events, locations and approved organizers into the in-memory suggestion index.")
+    public ResponseEntity<SuggestionIndexStatusDTO> rebuild() {
+        return ResponseEntity.ok(suggestionIndexService.rebuild());
+    }
+
+    @GetMapping("/vectors/status")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    @Operation(summary = "Get vector indexing status", description = "Returns the number of events waiting to be indexed, how many of them have failed, and how old the oldest one is.")
+    public ResponseEntity<VectorIndexStatusDTO> getVectorStatus() {
+        return ResponseEntity.ok(vectorIndexingService.status());
+    }
+
+    @PostMapping("/vectors/reindex")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    @Operation(summary = "Reindex events in the vector store", description = "Queues every event with an id above afterEventId for indexing. Safe to repeat; pass the reported lastEventId to resume.")
+    public ResponseEntity<VectorIndexStatusDTO> reindexVectors(@RequestParam(defaultValue = "0") int afterEventId) {
+        return ResponseEntity.ok(vectorIndexingService.reindexAll(afterEventId));
+    }
+}
@@ -33,13 +33,18 @@ public class EventController {
 
     private static final String FRONTEND_URL = "http://localhost:5173";
 
-    // Get all event
+    // Get all event; scroll=true (or a cursor) pages by nextCursor without counting
     @GetMapping("/all")
     public ResponseEntity<PaginatedResponseDTO<EventCardResponse>> getAllEvents(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean scroll,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean includeTotal
     ) {
-        PaginatedResponseDTO<EventCardResponse> events = eventService.getAllEvents(page, size);
+        PaginatedResponseDTO<EventCardResponse> events = scroll || cursor != null
+                ? eventService.scrollEvents(cursor, size, includeTotal)
+                : eventService.getAllEvents(page, size);
         return ResponseEntity.ok(events);
     }
     // Get Event details by the event ID
@@ -62,13 +62,19 @@ public class FavouriteController {
         return ResponseEntity.ok(isFavourite);
     }
 
-    // Get all favourites (paginated)
+    // Get all favourites (paginated); scroll=true (or a cursor) pages by nextCursor without counting
     @GetMapping
     public ResponseEntity<FavouritesPageResponse> getUserFavourites(
             Authentication authentication,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean scroll,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
         String email = authentication.getName();
+        if (scroll || cursor != null) {
+            return ResponseEntity.ok(favouriteService.scrollUserFavourites(email, cursor, size, includeTotal));
+        }
         Pageable pageable = PageRequest.of(page, size);
         FavouritesPageResponse response = favouriteService.getUserFavourites(email, pageable);
         return ResponseEntity.ok(response);
@@ -5,7 +5,6 @@ import com.example.treksathi.dto.events.*;
 import com.example.treksathi.dto.organizer.StatusUpdateRequest;
 import com.example.treksathi.record.EventDetailsOrganizerRecord;
 import com.example.treksathi.service.OrganizerEventService;
-import com.example.treksathi.service.VectorService;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.transaction.Transactional;
 import jakarta.validation.Valid;
@@ -3,6 +3,7 @@ package com.example.treksathi.controller;
 import com.example.treksathi.Interfaces.IOrganizerPaymentService;
 import com.example.treksathi.dto.organizer.PaymentDashboardDTO;
 import com.example.treksathi.dto.organizer.PaymentFilterDTO;
+import com.example.treksathi.dto.pagination.CursorPageDTO;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
@@ -122,16 +123,61 @@ public class OrganizerPaymentController {
         return ResponseEntity.ok(organizerPaymentService.getPayments(organizerId, filters, page, size));
     }
 
+    @GetMapping("/{organizerId}/cursor")
+    @Operation(summary = "Get payments by cursor", description = "Keyset-paginated payments for organizer; pass nextCursor back to get the following page")
+    public ResponseEntity<CursorPageDTO<com.example.treksathi.dto.organizer.ParticipantPaymentDTO>> getPaymentsByCursor(
+            @PathVariable Integer organizerId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean includeCount,
+            @RequestParam(defaultValue = "ALL") String status,
+            @RequestParam(defaultValue = "ALL") String paymentMethod,
+            @RequestParam(required = false) Integer eventId,
+            @RequestParam(required = false) String fromDate,
+            @RequestParam(required = false) String toDate) {
+        PaymentFilterDTO filters = new PaymentFilterDTO();
+        filters.setStatus(status);
+        filters.setPaymentMethod(paymentMethod);
+        filters.setEventId(eventId);
+
+        if (fromDate != null || toDate != null) {
+            PaymentFilterDTO.DateRange dateRange = new PaymentFilterDTO.DateRange();
+            if (fromDate != null)
+                dateRange.setFrom(java.time.LocalDate.parse(fromDate));
+            if (toDate != null)
+                dateRange.setTo(java.time.LocalDate.parse(toDate));
+            filters.setDateRange(dateRange);
+        }
+
+        return ResponseEntity.ok(organizerPaymentService.getPaymentsByCursor(organizerId, filters, cursor,
+                Math.min(Math.max(size, 1), 100), includeCount));
+    }
+
     @GetMapping("/{organizerId}/export")
-    @Operation(summary = "Export payments to CSV", description = "Export organizer payments to CSV")
-    public ResponseEntity<org.springframework.core.io.InputStreamResource> exportPayments(
-            @PathVariable Integer organizerId) {
-        var stream = organizerPaymentService.exportPaymentsToCSV(organizerId);
+    @Operation(summary = "Export payments to CSV", description = "Stream organizer payments to CSV, optionally filtered by status and payment date")
+    public ResponseEntity<org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody> exportPayments(
+            @PathVariable Integer organizerId,
+            @RequestParam(defaultValue = "ALL") String status,
+            @RequestParam(required = false) String fromDate,
+            @RequestParam(required = false) String toDate) {
+        PaymentFilterDTO filters = new PaymentFilterDTO();
+        filters.setStatus(status);
+
+        if (fromDate != null || toDate != null) {
+            PaymentFilterDTO.DateRange dateRange = new PaymentFilterDTO.DateRange();
+            if (fromDate != null)
+                dateRange.setFrom(java.time.LocalDate.parse(fromDate));
+            if (toDate != null)
+                dateRange.setTo(java.time.LocalDate.parse(toDate));
+            filters.setDateRange(dateRange);
+        }
+
+        var body = organizerPaymentService.exportPaymentsToCSV(organizerId, filters);
 
         return ResponseEntity.ok()
                 .header(org.springframework.http.HttpHeaders.CONTENT_DISPOSITION,
                         "attachment; filename=organizer_payments.csv")
                 .contentType(org.springframework.http.MediaType.parseMediaType("application/csv"))
-                .body(new org.springframework.core.io.InputStreamResource(stream));
+                .body(body);
     }
 }
@@ -10,6 +10,7 @@ import com.example.treksathi.repository.EventRepository;
 import com.example.treksathi.repository.UserRepository;
 import com.example.treksathi.repository.EventRegistrationRepository; // Assume this exists for bookings
 import com.example.treksathi.enums.EventStatus;
+import com.example.treksathi.service.PopularityService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -40,6 +41,9 @@ public class ReviewController {
     @Autowired
     private EventRegistrationRepository eventRegistrationRepository;
 
+    @Autowired
+    private PopularityService popularityService;
+
     // Get my reviews
     @GetMapping("/my-reviews")
     public ResponseEntity<List<ReviewDTO>> getMyReviews(Authentication authentication) {
@@ -118,6 +122,7 @@ public class ReviewController {
         review.setCreatedAt(LocalDateTime.now());
 
         Reviews saved = reviewRepository.save(review);
+        popularityService.recordReview(event.getId(), 0, saved.getRating(), saved.getCreatedAt());
         return ResponseEntity.ok(mapToReviewDTO(saved));
     }
 
@@ -138,10 +143,13 @@ public class ReviewController {
             throw new RuntimeException("Not authorized");
         }
 
+        int previousRating = review.getRating();
         review.setRating(dto.getRating());
         review.setComment(dto.getComment());
 
         Reviews updated = reviewRepository.save(review);
+        popularityService.recordReview(updated.getEvents().getId(), previousRating, updated.getRating(),
+                updated.getCreatedAt());
         return ResponseEntity.ok(mapToReviewDTO(updated));
     }
 
@@ -159,4 +167,4 @@ public class ReviewController {
                 false // isHelpful - implement if needed
         );
     }
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -30,6 +30,9 @@ public class SearchController {
     /**
      * Main search endpoint
      * GET /api/search?query=annapurna&difficultyLevel=MODERATE&minPrice=100&maxPrice=500
+     * Add facets=true for counts per difficulty, price range, duration range and location
+     * Add scroll=true (or a cursor) to page by nextCursor in date order without counting
+     * Add near=pokhara&radiusKm=30 (and sortBy=distance) for events around a known place
      */
     @GetMapping
     public ResponseEntity<SearchResponse> search(
@@ -43,12 +46,18 @@ public class SearchController {
             @RequestParam(required = false) Integer minDuration,
             @RequestParam(required = false) Integer maxDuration,
             @RequestParam(required = false) String location,
+            @RequestParam(required = false) String near,
+            @RequestParam(required = false) Double radiusKm,
             @RequestParam(required = false) String organizerName,
             @RequestParam(required = false) Integer organizerId,
             @RequestParam(defaultValue = "0") Integer page,
             @RequestParam(defaultValue = "10") Integer size,
             @RequestParam(defaultValue = "date") String sortBy,
             @RequestParam(defaultValue = "ASC") String sortDirection,
+            @RequestParam(defaultValue = "false") Boolean facets,
+            @RequestParam(defaultValue = "false") Boolean scroll,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") Boolean includeTotal,
             Authentication authentication
 
     ) {
@@ -75,12 +84,18 @@ public class SearchController {
                 .minDuration(minDuration)
                 .maxDuration(maxDuration)
                 .location(location)
+                .near(near)
+                .radiusKm(radiusKm)
                 .organizerName(organizerName)
                 .organizerId(organizer.getId())
                 .page(page)
                 .size(size)
                 .sortBy(sortBy)
                 .sortDirection(sortDirection)
+                .includeFacets(facets)
+                .scroll(scroll)
+                .cursor(cursor)
+                .includeTotal(includeTotal)
                 .build();
 
         SearchResponse response = searchService.searchEvents(criteria);
@@ -101,12 +116,14 @@ public class SearchController {
     }
 
     /**
-     * Get popular locations
-     * GET /api/search/locations
+     * Get popular locations, ranked by recent registrations and active events
+     * GET /api/search/locations?limit=10
      */
     @GetMapping("/locations")
-    public ResponseEntity<List<String>> getPopularLocations() {
-        List<String> locations = searchService.getPopularLocations();
+    public ResponseEntity<List<String>> getPopularLocations(
+            @RequestParam(required = false) Integer limit
+    ) {
+        List<String> locations = searchService.getPopularLocations(limit);
         return ResponseEntity.ok(locations);
     }
 
@@ -20,4 +20,5 @@ public class FavouritesPageResponse {
     private Long totalItems;
     private Boolean hasNext;
     private Boolean hasPrevious;
+    private String nextCursor;
 }
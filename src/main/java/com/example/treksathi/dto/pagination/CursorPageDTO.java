@@ -0,0 +1,25 @@
+package com.example.treksathi.dto.pagination;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * One slice of a keyset-paginated list. Pass {@code nextCursor} back to fetch
+ * the following slice; it is null once the last slice has been returned.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class CursorPageDTO<T> {
+    private List<T> data;
+    private String nextCursor;
+    private boolean hasNext;
+    private int pageSize;
+    // Only filled when the caller asks for it; may be served from a short-lived cache
+    private Long totalElements;
+}
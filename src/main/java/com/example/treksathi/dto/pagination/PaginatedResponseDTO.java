@@ -7,6 +7,7 @@ import lombok.Setter;
 import org.springframework.data.domain.Page;
 
 import java.util.List;
+import java.util.function.Function;
 
 @Getter
 @Setter
@@ -21,12 +22,14 @@ public class PaginatedResponseDTO<T> {
     @AllArgsConstructor
     @NoArgsConstructor
     public static class PaginationMetadata {
-        private int currentPage;
-        private int totalPages;
+        private Integer currentPage;
+        // Totals are left out of scroll pages unless asked for
+        private Integer totalPages;
         private int pageSize;
-        private long totalElements;
+        private Long totalElements;
         private boolean hasNext;
         private boolean hasPrevious;
+        private String nextCursor;
     }
 
     public static <T> PaginatedResponseDTO<T> of(Page<T> page) {
@@ -36,8 +39,29 @@ public class PaginatedResponseDTO<T> {
                 page.getSize(),
                 page.getTotalElements(),
                 page.hasNext(),
-                page.hasPrevious()
+                page.hasPrevious(),
+                null
         );
         return new PaginatedResponseDTO<>(page.getContent(), metadata);
     }
+
+    /**
+     * Builds a scroll page from up to {@code size + 1} rows; the extra row only
+     * tells that another page follows and is not returned.
+     */
+    public static <T> PaginatedResponseDTO<T> ofSlice(List<T> rows, int size, boolean hasPrevious,
+                                                      Function<T, String> cursorOf, Long totalElements) {
+        boolean hasNext = rows.size() > size;
+        List<T> content = hasNext ? rows.subList(0, size) : rows;
+        PaginationMetadata metadata = new PaginationMetadata(
+                null,
+                totalElements != null ? (int) Math.ceil((double) totalElements / size) : null,
+                size,
+                totalElements,
+                hasNext,
+                hasPrevious,
+                hasNext ? cursorOf.apply(content.get(content.size() - 1)) : null
+        );
+        return new PaginatedResponseDTO<>(content, metadata);
+    }
 }
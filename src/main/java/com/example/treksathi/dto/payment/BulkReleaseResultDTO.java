@@ -0,0 +1,23 @@
+package com.example.treksathi.dto.payment;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class BulkReleaseResultDTO {
+    private int requested;
+    private int released;
+    private int skipped;
+    private List<Outcome> outcomes;
+
+    @Data
+    @Builder
+    public static class Outcome {
+        private int paymentId;
+        private String outcome; // RELEASED, SKIPPED
+        private String reason;
+    }
+}
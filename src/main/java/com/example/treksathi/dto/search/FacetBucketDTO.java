@@ -0,0 +1,18 @@
+package com.example.treksathi.dto.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FacetBucketDTO {
+    private String value;
+    // Filter bounds that select this bucket; null for plain values and open ends
+    private Double min;
+    private Double max;
+    private Long count;
+}
@@ -0,0 +1,98 @@
+package com.example.treksathi.dto.search;
+
+import com.example.treksathi.enums.DifficultyLevel;
+
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Canonical form of a {@link SearchCriteria}, so searches that only differ in
+ * letter case, spacing or an ignored sort direction share one cache entry.
+ */
+public record SearchCacheKey(
+        String query,
+        DifficultyLevel difficultyLevel,
+        Double minPrice,
+        Double maxPrice,
+        LocalDate startDate,
+        LocalDate endDate,
+        Integer minDuration,
+        Integer maxDuration,
+        String location,
+        String near,
+        Double radiusKm,
+        String eventStatus,
+        String organizerName,
+        Integer organizerId,
+        int page,
+        int size,
+        String sortBy,
+        String sortDirection,
+        boolean includeFacets,
+        boolean scroll,
+        String cursor,
+        boolean includeTotal
+) {
+
+    private static final Set<String> SORT_FIELDS =
+            Set.of("date", "price", "title", "popularity", "relevance", "distance");
+
+    public static SearchCacheKey of(SearchCriteria criteria) {
+        String query = normalize(criteria.getQuery());
+        String near = normalize(criteria.getNear());
+        boolean scroll = criteria.isScrollMode();
+        String sortBy = criteria.getSortBy() != null ? criteria.getSortBy().toLowerCase(Locale.ROOT) : "date";
+        // Scroll pages always seek by date; the page number is replaced by the cursor
+        if (scroll || !SORT_FIELDS.contains(sortBy) || ("relevance".equals(sortBy) && query == null)
+                || ("distance".equals(sortBy) && near == null)) {
+            sortBy = "date";
+        }
+        // Relevance and distance are always ranked best first
+        String sortDirection = "relevance".equals(sortBy) || "distance".equals(sortBy) || !"DESC".equalsIgnoreCase(criteria.getSortDirection())
+                ? "ASC"
+                : "DESC";
+
+        return new SearchCacheKey(
+                query,
+                criteria.getDifficultyLevel(),
+                criteria.getMinPrice(),
+                criteria.getMaxPrice(),
+                criteria.getStartDate(),
+                criteria.getEndDate(),
+                criteria.getMinDuration(),
+                criteria.getMaxDuration(),
+                lowerCase(criteria.getLocation()),
+                near,
+                near != null ? criteria.getRadiusKm() : null,
+                criteria.getEventStatus() != null && !criteria.getEventStatus().isBlank()
+                        ? criteria.getEventStatus().toUpperCase(Locale.ROOT)
+                        : null,
+                lowerCase(criteria.getOrganizerName()),
+                criteria.getOrganizerId(),
+                scroll || criteria.getPage() == null ? 0 : criteria.getPage(),
+                criteria.getSize() != null ? criteria.getSize() : 10,
+                sortBy,
+                sortDirection,
+                Boolean.TRUE.equals(criteria.getIncludeFacets()),
+                scroll,
+                scroll && criteria.getCursor() != null && !criteria.getCursor().isBlank() ? criteria.getCursor() : null,
+                scroll && Boolean.TRUE.equals(criteria.getIncludeTotal()));
+    }
+
+    // Full-text matching ignores case and spacing
+    private static String normalize(String text) {
+        if (text == null || text.isBlank()) {
+            return null;
+        }
+        return text.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    // Substring filters are case-insensitive, but surrounding spaces still take part in the match
+    private static String lowerCase(String text) {
+        if (text == null || text.trim().isEmpty()) {
+            return null;
+        }
+        return text.toLowerCase(Locale.ROOT);
+    }
+}
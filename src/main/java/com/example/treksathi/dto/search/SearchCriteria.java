@@ -27,6 +27,10 @@ public class SearchCriteria {
     private String location;
     private String eventStatus;
 
+    // Radius filter around a gazetteer place
+    private String near;
+    private Double radiusKm;
+
     // Organizer filter
     private String organizerName;
     private Integer organizerId;
@@ -36,6 +40,21 @@ public class SearchCriteria {
     private Integer size = 10;
 
     // Sorting
-    private String sortBy = "date"; // date, price, title, popularity
+    private String sortBy = "date"; // date, price, title, popularity, relevance, distance
     private String sortDirection = "ASC"; // ASC or DESC
+
+    // Facet counts
+    @Builder.Default
+    private Boolean includeFacets = false;
+
+    // Scroll mode: seek by (date, id) from the cursor, totals only on request
+    @Builder.Default
+    private Boolean scroll = false;
+    private String cursor;
+    @Builder.Default
+    private Boolean includeTotal = false;
+
+    public boolean isScrollMode() {
+        return Boolean.TRUE.equals(scroll) || (cursor != null && !cursor.isBlank());
+    }
 }
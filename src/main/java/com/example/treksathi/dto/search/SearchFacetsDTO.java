@@ -0,0 +1,19 @@
+package com.example.treksathi.dto.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchFacetsDTO {
+    private List<FacetBucketDTO> difficultyLevels;
+    private List<FacetBucketDTO> priceRanges;
+    private List<FacetBucketDTO> durations;
+    private List<FacetBucketDTO> locations;
+}
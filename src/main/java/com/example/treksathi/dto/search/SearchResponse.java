@@ -17,4 +17,6 @@ public class SearchResponse {
     private Integer pageSize;
     private Boolean hasNext;
     private Boolean hasPrevious;
+    private String nextCursor; // scroll mode only
+    private SearchFacetsDTO facets; // only when requested
 }
@@ -27,4 +27,5 @@ public class SearchResultDTO {
     private OrganizerSearchDTO organizer;
     private Double averageRating;
     private Integer reviewCount;
+    private Double distanceKm; // only for searches near a place
 }
@@ -0,0 +1,28 @@
+package com.example.treksathi.dto.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SuggestionIndexStatusDTO {
+    private boolean ready;
+    private boolean complete; // false when the memory budget cut entries off
+    private int entries;
+    private int tokens;
+    private long estimatedBytes;
+    private long maxBytes;
+    private LocalDateTime builtAt;
+
+    // Only filled by a consistency check
+    private Integer missing;
+    private Integer stale;
+    private Integer extra;
+    private Boolean consistent;
+}
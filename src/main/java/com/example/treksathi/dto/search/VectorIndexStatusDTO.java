@@ -0,0 +1,24 @@
+package com.example.treksathi.dto.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VectorIndexStatusDTO {
+    private long pending;
+    private long failing; // pending rows that have failed at least once and are still retried
+    private long parked; // rows that failed too often to be retried until their event is queued again
+    private LocalDateTime oldestRequestedAt;
+    private long lagSeconds;
+
+    // Only filled by a full reindex
+    private Integer enqueued;
+    private Integer lastEventId;
+}
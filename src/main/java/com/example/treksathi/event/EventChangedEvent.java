@@ -0,0 +1,13 @@
+package com.example.treksathi.event;
+
+import com.example.treksathi.enums.EventStatus;
+
+/**
+ * Published when an event is created, edited, changes status or is deleted.
+ */
+public record EventChangedEvent(int eventId, EventStatus status, Change change) {
+
+    public enum Change {
+        CREATED, UPDATED, STATUS_CHANGED, DELETED
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.treksathi.event;
+
+import com.example.treksathi.enums.Approval_status;
+
+/**
+ * Published when an organizer is registered, approved or rejected.
+ */
+public record OrganizerApprovalChangedEvent(int organizerId, Approval_status approvalStatus) {
+}
@@ -0,0 +1,9 @@
+package com.example.treksathi.event;
+
+import com.example.treksathi.enums.PaymentStatus;
+
+/**
+ * Published when payments of an organizer are created or move to a new status.
+ */
+public record PaymentStatusChangedEvent(int organizerId, PaymentStatus status) {
+}
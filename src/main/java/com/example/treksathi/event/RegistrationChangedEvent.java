@@ -0,0 +1,9 @@
+package com.example.treksathi.event;
+
+import com.example.treksathi.enums.EventRegistrationStatus;
+
+/**
+ * Published when a registration for an event is created or changes status.
+ */
+public record RegistrationChangedEvent(int eventId, EventRegistrationStatus status) {
+}
@@ -0,0 +1,9 @@
+package com.example.treksathi.event;
+
+import com.example.treksathi.enums.Role;
+
+/**
+ * Published when a new account is created, by signup, OAuth2 login or organizer registration.
+ */
+public record UserRegisteredEvent(int userId, Role role) {
+}
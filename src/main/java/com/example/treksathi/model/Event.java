@@ -13,6 +13,12 @@ import java.util.List;
 @Getter
 @Setter
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_event_status_location", columnList = "status, location"),
+        @Index(name = "idx_event_status_date_id", columnList = "status, date, id"),
+        @Index(name = "idx_event_status_popularity", columnList = "status, popularity_score"),
+        @Index(name = "idx_event_status_geohash", columnList = "status, geohash")
+})
 public class Event {
 
     @Id
@@ -30,6 +36,13 @@ public class Event {
 
     private String location;
 
+    // Resolved from the location through the gazetteer; null when the place is unknown
+    private Double latitude;
+    private Double longitude;
+
+    @Column(length = 12)
+    private String geohash;
+
     private LocalDate date;
     private int durationDays;
 
@@ -41,6 +54,12 @@ public class Event {
     private double price;
     private int maxParticipants;
 
+    // Decaying engagement score kept by PopularityService through bulk updates only; read-only here so
+    // saving an event never writes back a stale score over concurrent increments or decay
+    @Column(name = "popularity_score", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "double precision default 0")
+    private double popularityScore;
+
     private String meetingPoint;
     private LocalTime meetingTime;
 
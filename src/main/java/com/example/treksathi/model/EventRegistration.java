@@ -14,6 +14,7 @@ import java.util.List;
 @Entity
 @Getter
 @Setter
+@Table(indexes = @Index(name = "idx_event_registration_event_date", columnList = "event_id, registrationDate"))
 public class EventRegistration {
 
     @Id
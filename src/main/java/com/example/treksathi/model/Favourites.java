@@ -8,7 +8,8 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "favourites",
-        uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "event_id"}))
+        uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "event_id"}),
+        indexes = @Index(name = "idx_favourites_user_added_at", columnList = "user_id, added_at, id"))
 @Data
 @Builder
 @NoArgsConstructor
@@ -32,7 +32,7 @@ public class Organizer {
 
     @OneToMany(mappedBy = "organizer")
     private List<Event> events;
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "verified_by")
     private User verified_by;
     @OneToMany(mappedBy = "organizer", cascade = CascadeType.ALL)
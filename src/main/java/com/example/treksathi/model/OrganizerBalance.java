@@ -0,0 +1,39 @@
+package com.example.treksathi.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Running payout totals for one organizer. Rows are adjusted by
+ * {@link com.example.treksathi.service.OrganizerBalanceService} in the same
+ * transaction as every payment status change.
+ */
+@Entity
+@Getter
+@Setter
+@Table(name = "organizer_balance")
+public class OrganizerBalance {
+
+    @Id
+    @Column(name = "organizer_id")
+    private int organizerId;
+
+    // Net amount of successful payments not yet released to the organizer
+    private double pendingAmount;
+    private long pendingCount;
+
+    private double releasedAmount;
+    private long releasedCount;
+
+    private double refundedAmount;
+    private long refundedCount;
+
+    // Payments of any status, PENDING and FAILED included, so every organizer with a payment has a row
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private long paymentCount;
+
+    private LocalDateTime updatedAt;
+}
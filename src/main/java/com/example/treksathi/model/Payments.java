@@ -12,6 +12,7 @@ import java.time.LocalDateTime;
 @Entity
 @Getter
 @Setter
+@Table(indexes = @Index(name = "idx_payments_transaction_date_id", columnList = "transactionDate, id"))
 public class Payments {
 
     @Id
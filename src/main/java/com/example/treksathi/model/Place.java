@@ -0,0 +1,32 @@
+package com.example.treksathi.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Gazetteer entry: a Nepali place name with its coordinates, used to place
+ * events whose location is free text and to resolve "near" searches.
+ */
+@Entity
+@Getter
+@Setter
+@Table(name = "place", uniqueConstraints = @UniqueConstraint(columnNames = "normalized_name"))
+public class Place {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private int id;
+
+    @Column(nullable = false)
+    private String name;
+
+    @Column(name = "normalized_name", nullable = false)
+    private String normalizedName;
+
+    @Column(nullable = false)
+    private double latitude;
+
+    @Column(nullable = false)
+    private double longitude;
+}
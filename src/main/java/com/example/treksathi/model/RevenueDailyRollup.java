@@ -0,0 +1,52 @@
+package com.example.treksathi.model;
+
+import com.example.treksathi.enums.PaymentMethod;
+import com.example.treksathi.enums.PaymentStatus;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+/**
+ * Pre-aggregated payment totals per day, organizer, method and status.
+ * Rows are adjusted by {@link com.example.treksathi.service.RevenueRollupService}
+ * in the same transaction as every payment status change.
+ */
+@Entity
+@Getter
+@Setter
+@Table(name = "revenue_daily_rollup",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"day", "organizer_id", "method", "status"}))
+public class RevenueDailyRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private long id;
+
+    @Column(nullable = false)
+    private LocalDate day;
+
+    @Column(name = "organizer_id", nullable = false)
+    private int organizerId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private PaymentMethod method;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private PaymentStatus status;
+
+    private long paymentCount;
+    private long participants;
+    private double amount;
+
+    // Fee actually recorded on the payments
+    private double fee;
+
+    // Recorded fee, or the 10% platform commission when none is recorded yet
+    private double estimatedFee;
+
+    private double netAmount;
+}
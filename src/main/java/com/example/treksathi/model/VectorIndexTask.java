@@ -0,0 +1,46 @@
+package com.example.treksathi.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Pending vector store work for one event, written by
+ * {@link com.example.treksathi.service.VectorIndexingService} in the same
+ * transaction as the event change. There is at most one row per event: the
+ * worker indexes whatever state the event has when it gets to the row, and
+ * removes the row only if it was not requested again in the meantime.
+ * {@code created} marks a row queued for a new event, which can change
+ * chatbot answers that never cited it.
+ */
+@Entity
+@Getter
+@Setter
+@Table(name = "vector_index_outbox",
+        uniqueConstraints = @UniqueConstraint(columnNames = "event_id"),
+        indexes = @Index(name = "idx_vector_index_outbox_next_attempt", columnList = "next_attempt_at, id"))
+public class VectorIndexTask {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private long id;
+
+    @Column(name = "event_id", nullable = false)
+    private int eventId;
+
+    @Column(name = "requested_at", nullable = false)
+    private LocalDateTime requestedAt;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    private int attempts;
+
+    @Column(nullable = false, columnDefinition = "boolean default false")
+    private boolean created;
+
+    @Column(length = 500)
+    private String lastError;
+}
@@ -0,0 +1,4 @@
+package com.example.treksathi.record;
+
+public record EventLocationRecord(int id, String location) {
+}
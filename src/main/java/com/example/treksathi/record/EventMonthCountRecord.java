@@ -0,0 +1,8 @@
+package com.example.treksathi.record;
+
+public record EventMonthCountRecord(
+        int year,
+        int month,
+        long events
+) {
+}
@@ -0,0 +1,9 @@
+package com.example.treksathi.record;
+
+public record EventSuggestionSourceRecord(
+        int id,
+        String title,
+        String location,
+        long registrations
+) {
+}
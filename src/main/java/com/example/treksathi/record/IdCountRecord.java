@@ -0,0 +1,7 @@
+package com.example.treksathi.record;
+
+public record IdCountRecord(
+        int id,
+        long count
+) {
+}
@@ -0,0 +1,11 @@
+package com.example.treksathi.record;
+
+public record OrganizerBalanceRecord(
+        int organizerId,
+        String organizerName,
+        String organization,
+        double pendingAmount,
+        long pendingCount,
+        double releasedAmount
+) {
+}
@@ -0,0 +1,13 @@
+package com.example.treksathi.record;
+
+public record OrganizerBalanceTotalsRecord(
+        int organizerId,
+        double pendingAmount,
+        long pendingCount,
+        double releasedAmount,
+        long releasedCount,
+        double refundedAmount,
+        long refundedCount,
+        long paymentCount
+) {
+}
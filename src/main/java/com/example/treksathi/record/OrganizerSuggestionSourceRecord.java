@@ -0,0 +1,8 @@
+package com.example.treksathi.record;
+
+public record OrganizerSuggestionSourceRecord(
+        int id,
+        String organizationName,
+        long activeEvents
+) {
+}
@@ -0,0 +1,21 @@
+package com.example.treksathi.record;
+
+import com.example.treksathi.enums.PaymentMethod;
+import com.example.treksathi.enums.PaymentStatus;
+
+import java.time.LocalDateTime;
+
+public record PaymentExportRecord(
+        String transactionUuid,
+        String eventTitle,
+        String userName,
+        String userEmail,
+        String contactName,
+        String contactEmail,
+        String organizationName,
+        Double amount,
+        PaymentStatus status,
+        PaymentMethod method,
+        LocalDateTime transactionDate
+) {
+}
@@ -0,0 +1,19 @@
+package com.example.treksathi.record;
+
+import com.example.treksathi.enums.PaymentMethod;
+import com.example.treksathi.enums.PaymentStatus;
+
+import java.time.LocalDateTime;
+
+public record PaymentReleaseCandidateRecord(
+        int id,
+        PaymentStatus status,
+        LocalDateTime transactionDate,
+        int organizerId,
+        PaymentMethod method,
+        Double amount,
+        Double fee,
+        Double netAmount,
+        int participants
+) {
+}
@@ -0,0 +1,8 @@
+package com.example.treksathi.record;
+
+public record PopularLocationRecord(
+        String location,
+        long activeEvents,
+        long recentRegistrations
+) {
+}
@@ -0,0 +1,8 @@
+package com.example.treksathi.record;
+
+public record RatingSummaryRecord(
+        int id,
+        double averageRating,
+        long reviewCount
+) {
+}
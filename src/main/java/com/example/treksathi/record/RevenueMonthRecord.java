@@ -0,0 +1,10 @@
+package com.example.treksathi.record;
+
+public record RevenueMonthRecord(
+        int year,
+        int month,
+        double revenue,
+        double fees,
+        long participants
+) {
+}
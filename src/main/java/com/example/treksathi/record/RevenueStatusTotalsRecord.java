@@ -0,0 +1,12 @@
+package com.example.treksathi.record;
+
+import com.example.treksathi.enums.PaymentStatus;
+
+public record RevenueStatusTotalsRecord(
+        PaymentStatus status,
+        long paymentCount,
+        double amount,
+        double fee,
+        double netAmount
+) {
+}
@@ -0,0 +1,9 @@
+package com.example.treksathi.record;
+
+public record RevenueTotalsRecord(
+        double totalRevenue,
+        double monthRevenue,
+        double previousMonthRevenue,
+        double totalFees
+) {
+}
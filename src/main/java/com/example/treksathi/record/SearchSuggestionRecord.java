@@ -0,0 +1,9 @@
+package com.example.treksathi.record;
+
+public record SearchSuggestionRecord(
+        String type,
+        String text,
+        String value,
+        double score
+) {
+}
@@ -1,6 +1,7 @@
 package com.example.treksathi.repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,6 +13,7 @@ import com.example.treksathi.enums.EventRegistrationStatus;
 import com.example.treksathi.enums.EventStatus;
 import com.example.treksathi.model.EventRegistration;
 import com.example.treksathi.model.User;
+import com.example.treksathi.record.IdCountRecord;
 import com.example.treksathi.record.UpcommingEventRecord;
 
     public interface EventRegistrationRepository extends JpaRepository<EventRegistration, Integer> {
@@ -71,5 +73,11 @@ import com.example.treksathi.record.UpcommingEventRecord;
                 "and e.status = :status ")
         int countByUserIdAndEventDateBeforeAndStatus(@Param("userId") int userId, @Param("date") LocalDate date, @Param("status") EventStatus status);
         int countByEventId(int eventId);
+
+        @Query("SELECT new com.example.treksathi.record.IdCountRecord(er.event.id, COUNT(er)) " +
+                "FROM EventRegistration er " +
+                "WHERE er.event.id IN :eventIds " +
+                "GROUP BY er.event.id")
+        List<IdCountRecord> countByEventIds(@Param("eventIds") Collection<Integer> eventIds);
         List<EventRegistration> findByUserIdAndEventStatus(int userId, EventStatus status);
      }
@@ -1,12 +1,16 @@
 package com.example.treksathi.repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -14,6 +18,11 @@ import com.example.treksathi.enums.EventStatus;
 import com.example.treksathi.model.Event;
 import com.example.treksathi.model.Organizer;
 import com.example.treksathi.record.EventCardResponse;
+import com.example.treksathi.record.EventMonthCountRecord;
+import com.example.treksathi.record.EventSuggestionSourceRecord;
+import com.example.treksathi.record.IdCountRecord;
+import com.example.treksathi.record.PopularLocationRecord;
+import com.example.treksathi.record.SearchSuggestionRecord;
 
 public interface EventRepository extends JpaRepository<Event, Integer>, JpaSpecificationExecutor<Event> {
 
@@ -32,9 +41,124 @@ public interface EventRepository extends JpaRepository<Event, Integer>, JpaSpeci
 
         List<Event> findByLocationContainingIgnoreCase(String location);
 
+        @Query("""
+                        SELECT new com.example.treksathi.record.EventMonthCountRecord(YEAR(e.date), MONTH(e.date), COUNT(e))
+                        FROM Event e
+                        WHERE e.organizer.id = :organizerId
+                          AND e.date >= :from
+                        GROUP BY YEAR(e.date), MONTH(e.date)
+                        """)
+        List<EventMonthCountRecord> countByMonthForOrganizer(@Param("organizerId") int organizerId,
+                        @Param("from") LocalDate from);
+
+        // Weighted full-text document kept in step by PostgreSQL itself. It is not mapped, so loading
+        // an event never reads it; the search functions in PostgresSearchFunctionContributor do
+        @Modifying
+        @Query(value = """
+                        ALTER TABLE event ADD COLUMN IF NOT EXISTS search_vector tsvector GENERATED ALWAYS AS (
+                            setweight(to_tsvector('english', coalesce(title, '')), 'A') ||
+                            setweight(to_tsvector('english', coalesce(location, '')), 'B') ||
+                            setweight(to_tsvector('english', coalesce(description, '')), 'C')) STORED
+                        """, nativeQuery = true)
+        void createSearchVectorColumn();
+
+        // Hibernate can only emit B-tree indexes
+        @Modifying
+        @Query(value = "CREATE INDEX IF NOT EXISTS idx_event_search_vector ON event USING GIN (search_vector)",
+                        nativeQuery = true)
+        void createSearchVectorIndex();
+
+        @Modifying
+        @Query(value = "CREATE EXTENSION IF NOT EXISTS pg_trgm", nativeQuery = true)
+        void createTrigramExtension();
+
+        @Modifying
+        @Query(value = "CREATE INDEX IF NOT EXISTS idx_event_title_trgm ON event USING GIN (title gin_trgm_ops)",
+                        nativeQuery = true)
+        void createTitleTrigramIndex();
+
+        @Modifying
+        @Query(value = "CREATE INDEX IF NOT EXISTS idx_event_location_trgm ON event USING GIN (location gin_trgm_ops)",
+                        nativeQuery = true)
+        void createLocationTrigramIndex();
+
+        // Locations ranked by registrations since the cutoff, then by how many active events they host
+        @Query("""
+                        SELECT new com.example.treksathi.record.PopularLocationRecord(
+                            MIN(e.location), COUNT(DISTINCT e.id), COUNT(er.id))
+                        FROM Event e
+                        LEFT JOIN e.eventRegistration er ON er.registrationDate >= :since
+                        WHERE e.status = com.example.treksathi.enums.EventStatus.ACTIVE
+                          AND e.location IS NOT NULL AND TRIM(e.location) <> ''
+                        GROUP BY LOWER(TRIM(e.location))
+                        ORDER BY COUNT(er.id) DESC, COUNT(DISTINCT e.id) DESC, MIN(e.location)
+                        """)
+        List<PopularLocationRecord> findPopularLocations(@Param("since") LocalDateTime since, Pageable pageable);
+
+        // Source rows for the in-memory suggestion index
+        @Query("""
+                        SELECT new com.example.treksathi.record.EventSuggestionSourceRecord(
+                            e.id, e.title, e.location, SIZE(e.eventRegistration))
+                        FROM Event e
+                        WHERE e.status = com.example.treksathi.enums.EventStatus.ACTIVE
+                        """)
+        List<EventSuggestionSourceRecord> findSuggestionSources();
+
+        @Query("""
+                        SELECT new com.example.treksathi.record.EventSuggestionSourceRecord(
+                            e.id, e.title, e.location, SIZE(e.eventRegistration))
+                        FROM Event e
+                        WHERE e.id = :id AND e.status = com.example.treksathi.enums.EventStatus.ACTIVE
+                        """)
+        Optional<EventSuggestionSourceRecord> findSuggestionSource(@Param("id") int id);
+
+        // All three typeahead sources in one round trip; each branch is served by its trigram index
+        @Query(value = """
+                        SELECT s.type, s.text, s.value, s.score FROM (
+                            (SELECT 1 AS kind, 'EVENT' AS type, e.title AS text, CAST(e.id AS VARCHAR) AS value,
+                                    similarity(e.title, :query) AS score
+                             FROM event e
+                             WHERE e.status = 'ACTIVE' AND e.title ILIKE :pattern
+                             ORDER BY score DESC, e.title
+                             LIMIT :eventLimit)
+                            UNION ALL
+                            (SELECT 2, 'ORGANIZER', o.organization_name, CAST(o.id AS VARCHAR),
+                                    similarity(o.organization_name, :query)
+                             FROM organizer o
+                             WHERE o.approval_status = 'SUCCESS' AND o.organization_name ILIKE :pattern
+                             ORDER BY 5 DESC, 3
+                             LIMIT :organizerLimit)
+                            UNION ALL
+                            (SELECT DISTINCT 3, 'LOCATION', e.location, e.location, similarity(e.location, :query)
+                             FROM event e
+                             WHERE e.status = 'ACTIVE' AND e.location ILIKE :pattern
+                             ORDER BY 5 DESC, 3
+                             LIMIT :locationLimit)
+                        ) s
+                        ORDER BY s.kind, s.score DESC, s.text
+                        """, nativeQuery = true)
+        List<Object[]> findSuggestionRows(@Param("query") String query,
+                        @Param("pattern") String pattern,
+                        @Param("eventLimit") int eventLimit,
+                        @Param("organizerLimit") int organizerLimit,
+                        @Param("locationLimit") int locationLimit);
+
+        default List<SearchSuggestionRecord> findSuggestions(String query, int eventLimit, int organizerLimit,
+                        int locationLimit) {
+                String pattern = "%" + query.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+                return findSuggestionRows(query, pattern, eventLimit, organizerLimit, locationLimit).stream()
+                                .map(row -> new SearchSuggestionRecord((String) row[0], (String) row[1],
+                                                (String) row[2], ((Number) row[3]).doubleValue()))
+                                .toList();
+        }
+
         @Query("SELECT COUNT(e) FROM Event e WHERE e.organizer.id = :organizerId")
         int countByOrganizerId(@Param("organizerId") int organizerId);
 
+        @Query("SELECT new com.example.treksathi.record.IdCountRecord(e.organizer.id, COUNT(e)) FROM Event e "
+                        + "WHERE e.organizer.id IN :organizerIds GROUP BY e.organizer.id")
+        List<IdCountRecord> countByOrganizerIds(@Param("organizerIds") Collection<Integer> organizerIds);
+
         @Query("SELECT COUNT(e) FROM Event e WHERE e.organizer.id = :organizerId AND e.status = :status")
         int countByOrganizerIdAndStatus(@Param("organizerId") int organizerId, @Param("status") EventStatus status);
 
@@ -65,6 +189,105 @@ public interface EventRepository extends JpaRepository<Event, Integer>, JpaSpeci
                         @Param("status") EventStatus status,
                         Pageable pageable);
 
+        // Scroll pages: newest first with id as tie-breaker, no count query. The first page has its own query;
+        // an optional cursor (":date IS NULL OR ...") keeps a generic plan from seeking the (status, date, id) index
+        @Query("SELECT new com.example.treksathi.record.EventCardResponse(" +
+                        "e.id, e.title, e.description, e.location, e.date, " +
+                        "e.durationDays, " +
+                        "CAST(e.difficultyLevel AS string), " +
+                        "e.price, e.maxParticipants, e.bannerImageUrl, " +
+                        "CAST(e.status AS string), " +
+                        "COUNT(DISTINCT ep.id)) " +
+                        "FROM Event e " +
+                        "LEFT JOIN e.eventRegistration er " +
+                        "LEFT JOIN er.eventParticipants ep " +
+                        "WHERE e.status = :status " +
+                        "GROUP BY e.id, e.title, e.description, e.location, e.date, " +
+                        "e.durationDays, e.difficultyLevel, e.price, e.maxParticipants, " +
+                        "e.bannerImageUrl, e.status " +
+                        "ORDER BY e.date DESC, e.id DESC")
+        List<EventCardResponse> findFirstEventCards(
+                        @Param("status") EventStatus status,
+                        Pageable pageable);
+
+        @Query("SELECT new com.example.treksathi.record.EventCardResponse(" +
+                        "e.id, e.title, e.description, e.location, e.date, " +
+                        "e.durationDays, " +
+                        "CAST(e.difficultyLevel AS string), " +
+                        "e.price, e.maxParticipants, e.bannerImageUrl, " +
+                        "CAST(e.status AS string), " +
+                        "COUNT(DISTINCT ep.id)) " +
+                        "FROM Event e " +
+                        "LEFT JOIN e.eventRegistration er " +
+                        "LEFT JOIN er.eventParticipants ep " +
+                        "WHERE e.status = :status " +
+                        "AND (e.date < :date OR (e.date = :date AND e.id < :id)) " +
+                        "GROUP BY e.id, e.title, e.description, e.location, e.date, " +
+                        "e.durationDays, e.difficultyLevel, e.price, e.maxParticipants, " +
+                        "e.bannerImageUrl, e.status " +
+                        "ORDER BY e.date DESC, e.id DESC")
+        List<EventCardResponse> findEventCardsAfter(
+                        @Param("status") EventStatus status,
+                        @Param("date") LocalDate date,
+                        @Param("id") int id,
+                        Pageable pageable);
+
+        // Popularity signals are added in place so concurrent writers never overwrite each other
+        @Modifying
+        @Query("UPDATE Event e SET e.popularityScore = GREATEST(e.popularityScore + :delta, 0) WHERE e.id = :eventId")
+        int addPopularity(@Param("eventId") int eventId, @Param("delta") double delta);
+
+        @Modifying
+        @Query("UPDATE Event e SET e.popularityScore = CASE WHEN e.popularityScore * :factor < :floor THEN 0 " +
+                        "ELSE e.popularityScore * :factor END WHERE e.popularityScore > 0")
+        int decayPopularity(@Param("factor") double factor, @Param("floor") double floor);
+
+        // Recomputes every score from the raw signals, each decayed by its age; used for backfill and repair
+        @Modifying
+        @Query(value = """
+                        UPDATE event e SET popularity_score = COALESCE((
+                            SELECT SUM(s.weight * POWER(0.5,
+                                       EXTRACT(EPOCH FROM (CURRENT_TIMESTAMP - COALESCE(s.happened_at, CURRENT_TIMESTAMP)))
+                                       / :halfLifeSeconds))
+                            FROM (SELECT CAST(:registrationWeight AS double precision) AS weight,
+                                         er.registration_date AS happened_at
+                                  FROM event_registration er
+                                  WHERE er.event_id = e.id AND er.status = 'SUCCESS'
+                                  UNION ALL
+                                  SELECT CAST(:favouriteWeight AS double precision), f.added_at
+                                  FROM favourites f
+                                  WHERE f.event_id = e.id
+                                  UNION ALL
+                                  SELECT r.rating * CAST(:reviewWeight AS double precision), r.created_at
+                                  FROM reviews r
+                                  WHERE r.event_id = e.id) s), 0)
+                        """, nativeQuery = true)
+        int rebuildPopularity(@Param("halfLifeSeconds") double halfLifeSeconds,
+                        @Param("registrationWeight") double registrationWeight,
+                        @Param("favouriteWeight") double favouriteWeight,
+                        @Param("reviewWeight") double reviewWeight);
+
+        boolean existsByPopularityScoreGreaterThan(double score);
+
+        @Query("SELECT new com.example.treksathi.record.EventLocationRecord(e.id, e.location) FROM Event e " +
+                        "WHERE e.geohash IS NULL AND e.location IS NOT NULL")
+        List<EventLocationRecord> findUnlocatedEvents();
+
+        @Modifying
+        @Query("UPDATE Event e SET e.latitude = :latitude, e.longitude = :longitude, e.geohash = :geohash " +
+                        "WHERE e.id = :eventId")
+        int updateCoordinates(@Param("eventId") int eventId, @Param("latitude") double latitude,
+                        @Param("longitude") double longitude, @Param("geohash") String geohash);
+
+        @Query("SELECT e FROM Event e JOIN FETCH e.organizer WHERE e.status = :status AND e.date >= :from " +
+                        "ORDER BY e.popularityScore DESC, e.id DESC")
+        List<Event> findTrendingEvents(@Param("status") EventStatus status,
+                        @Param("from") LocalDate from,
+                        Pageable pageable);
+
+        @Query("SELECT e.id FROM Event e WHERE e.id > :afterId ORDER BY e.id")
+        List<Integer> findIdsAfter(@Param("afterId") int afterId, Pageable pageable);
+
         List<Event> findByDateAfterAndStatusOrderByDateAsc(LocalDate date, EventStatus status);
 
         long countByStatus(EventStatus status);
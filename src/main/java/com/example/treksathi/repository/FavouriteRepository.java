@@ -9,6 +9,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -24,6 +25,17 @@ public interface FavouriteRepository extends JpaRepository<Favourites, Integer>
     // Get all favourites for a user
     Page<Favourites> findByUserIdOrderByAddedAtDesc(Integer userId, Pageable pageable);
 
+    // Scroll pages: newest first with id as tie-breaker, no count query
+    List<Favourites> findByUserIdOrderByAddedAtDescIdDesc(Integer userId, Pageable pageable);
+
+    @Query("SELECT f FROM Favourites f WHERE f.user.id = :userId " +
+            "AND (f.addedAt < :addedAt OR (f.addedAt = :addedAt AND f.id < :id)) " +
+            "ORDER BY f.addedAt DESC, f.id DESC")
+    List<Favourites> findByUserIdAfter(@Param("userId") Integer userId,
+                                       @Param("addedAt") LocalDateTime addedAt,
+                                       @Param("id") int id,
+                                       Pageable pageable);
+
     // Get all favourites for a user (no pagination)
     List<Favourites> findByUserId(Integer userId);
 
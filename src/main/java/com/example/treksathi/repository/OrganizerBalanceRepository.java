@@ -0,0 +1,119 @@
+package com.example.treksathi.repository;
+
+import com.example.treksathi.model.OrganizerBalance;
+import com.example.treksathi.record.OrganizerBalanceRecord;
+import com.example.treksathi.record.OrganizerBalanceTotalsRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface OrganizerBalanceRepository extends JpaRepository<OrganizerBalance, Integer> {
+
+    // Adds the deltas to the organizer's row in place, creating it on the first payment
+    @Modifying
+    @Query(value = """
+            INSERT INTO organizer_balance
+                (organizer_id, pending_amount, pending_count, released_amount, released_count,
+                 refunded_amount, refunded_count, payment_count, updated_at)
+            VALUES (:organizerId, :pendingAmount, :pendingCount, :releasedAmount, :releasedCount,
+                    :refundedAmount, :refundedCount, :paymentCount, CURRENT_TIMESTAMP)
+            ON CONFLICT (organizer_id) DO UPDATE SET
+                pending_amount  = organizer_balance.pending_amount + EXCLUDED.pending_amount,
+                pending_count   = organizer_balance.pending_count + EXCLUDED.pending_count,
+                released_amount = organizer_balance.released_amount + EXCLUDED.released_amount,
+                released_count  = organizer_balance.released_count + EXCLUDED.released_count,
+                refunded_amount = organizer_balance.refunded_amount + EXCLUDED.refunded_amount,
+                refunded_count  = organizer_balance.refunded_count + EXCLUDED.refunded_count,
+                payment_count   = organizer_balance.payment_count + EXCLUDED.payment_count,
+                updated_at      = EXCLUDED.updated_at
+            """, nativeQuery = true)
+    void applyDelta(@Param("organizerId") int organizerId,
+                    @Param("pendingAmount") double pendingAmount,
+                    @Param("pendingCount") long pendingCount,
+                    @Param("releasedAmount") double releasedAmount,
+                    @Param("releasedCount") long releasedCount,
+                    @Param("refundedAmount") double refundedAmount,
+                    @Param("refundedCount") long refundedCount,
+                    @Param("paymentCount") long paymentCount);
+
+    // Overwrites one organizer's row with totals recomputed from the raw payments
+    @Modifying
+    @Query(value = """
+            INSERT INTO organizer_balance
+                (organizer_id, pending_amount, pending_count, released_amount, released_count,
+                 refunded_amount, refunded_count, payment_count, updated_at)
+            SELECT :organizerId,
+                   COALESCE(SUM(COALESCE(p.net_amount, 0)) FILTER (WHERE p.payment_status IN ('SUCCESS', 'COMPLETED')), 0),
+                   COUNT(*) FILTER (WHERE p.payment_status IN ('SUCCESS', 'COMPLETED')),
+                   COALESCE(SUM(COALESCE(p.net_amount, 0)) FILTER (WHERE p.payment_status = 'RELEASED'), 0),
+                   COUNT(*) FILTER (WHERE p.payment_status = 'RELEASED'),
+                   COALESCE(SUM(COALESCE(p.net_amount, 0)) FILTER (WHERE p.payment_status = 'REFUNDED'), 0),
+                   COUNT(*) FILTER (WHERE p.payment_status = 'REFUNDED'),
+                   COUNT(*),
+                   CURRENT_TIMESTAMP
+            FROM payments p
+            JOIN event_registration er ON er.id = p.registration_id
+            JOIN event e ON e.id = er.event_id
+            WHERE e.organizer_id = :organizerId
+            ON CONFLICT (organizer_id) DO UPDATE SET
+                pending_amount  = EXCLUDED.pending_amount,
+                pending_count   = EXCLUDED.pending_count,
+                released_amount = EXCLUDED.released_amount,
+                released_count  = EXCLUDED.released_count,
+                refunded_amount = EXCLUDED.refunded_amount,
+                refunded_count  = EXCLUDED.refunded_count,
+                payment_count   = EXCLUDED.payment_count,
+                updated_at      = EXCLUDED.updated_at
+            """, nativeQuery = true)
+    void recomputeFromPayments(@Param("organizerId") int organizerId);
+
+    // Every organizer with any payment, as before the ledger, including those whose payments are all
+    // still PENDING or FAILED; the ledger counts those payments too, so the payments table is not read
+    @Query("""
+            SELECT new com.example.treksathi.record.OrganizerBalanceRecord(
+                b.organizerId, u.name, o.organization_name, b.pendingAmount, b.pendingCount, b.releasedAmount)
+            FROM OrganizerBalance b
+            JOIN Organizer o ON o.id = b.organizerId
+            JOIN o.user u
+            WHERE b.paymentCount > 0
+            ORDER BY b.pendingAmount DESC
+            """)
+    List<OrganizerBalanceRecord> findBalances();
+
+    @Query("""
+            SELECT new com.example.treksathi.record.OrganizerBalanceTotalsRecord(
+                b.organizerId, b.pendingAmount, b.pendingCount, b.releasedAmount, b.releasedCount,
+                b.refundedAmount, b.refundedCount, b.paymentCount)
+            FROM OrganizerBalance b
+            """)
+    List<OrganizerBalanceTotalsRecord> findAllTotals();
+
+    // The same totals computed from the payments table, for reconciliation
+    @Query("""
+            SELECT new com.example.treksathi.record.OrganizerBalanceTotalsRecord(
+                e.organizer.id,
+                COALESCE(SUM(CASE WHEN p.paymentStatus IN (com.example.treksathi.enums.PaymentStatus.SUCCESS,
+                        com.example.treksathi.enums.PaymentStatus.COMPLETED) THEN COALESCE(p.netAmount, 0.0) ELSE 0.0 END), 0.0),
+                SUM(CASE WHEN p.paymentStatus IN (com.example.treksathi.enums.PaymentStatus.SUCCESS,
+                        com.example.treksathi.enums.PaymentStatus.COMPLETED) THEN 1 ELSE 0 END),
+                COALESCE(SUM(CASE WHEN p.paymentStatus = com.example.treksathi.enums.PaymentStatus.RELEASED
+                        THEN COALESCE(p.netAmount, 0.0) ELSE 0.0 END), 0.0),
+                SUM(CASE WHEN p.paymentStatus = com.example.treksathi.enums.PaymentStatus.RELEASED THEN 1 ELSE 0 END),
+                COALESCE(SUM(CASE WHEN p.paymentStatus = com.example.treksathi.enums.PaymentStatus.REFUNDED
+                        THEN COALESCE(p.netAmount, 0.0) ELSE 0.0 END), 0.0),
+                SUM(CASE WHEN p.paymentStatus = com.example.treksathi.enums.PaymentStatus.REFUNDED THEN 1 ELSE 0 END),
+                COUNT(p))
+            FROM Payments p
+            JOIN p.eventRegistration er
+            JOIN er.event e
+            GROUP BY e.organizer.id
+            """)
+    List<OrganizerBalanceTotalsRecord> computeTotalsFromPayments();
+
+    boolean existsByPaymentCount(long paymentCount);
+}
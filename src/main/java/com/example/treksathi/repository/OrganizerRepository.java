@@ -3,8 +3,12 @@ package com.example.treksathi.repository;
 import com.example.treksathi.enums.Approval_status;
 import com.example.treksathi.model.Organizer;
 import com.example.treksathi.model.User;
+import com.example.treksathi.record.OrganizerSuggestionSourceRecord;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -21,4 +25,30 @@ public interface OrganizerRepository extends JpaRepository<Organizer, Integer>,
     List<Organizer> findByApprovalStatus(Approval_status status);
 
     long countByApprovalStatus(Approval_status status);
+
+    // Approved organizers with their active event count, for the in-memory suggestion index
+    @Query("""
+            SELECT new com.example.treksathi.record.OrganizerSuggestionSourceRecord(
+                o.id, o.organization_name,
+                (SELECT COUNT(e) FROM Event e
+                 WHERE e.organizer = o AND e.status = com.example.treksathi.enums.EventStatus.ACTIVE))
+            FROM Organizer o
+            WHERE o.approvalStatus = com.example.treksathi.enums.Approval_status.SUCCESS
+            """)
+    List<OrganizerSuggestionSourceRecord> findSuggestionSources();
+
+    @Query("""
+            SELECT new com.example.treksathi.record.OrganizerSuggestionSourceRecord(
+                o.id, o.organization_name,
+                (SELECT COUNT(e) FROM Event e
+                 WHERE e.organizer = o AND e.status = com.example.treksathi.enums.EventStatus.ACTIVE))
+            FROM Organizer o
+            WHERE o.id = :id AND o.approvalStatus = com.example.treksathi.enums.Approval_status.SUCCESS
+            """)
+    Optional<OrganizerSuggestionSourceRecord> findSuggestionSource(@Param("id") int id);
+
+    @Modifying
+    @Query(value = "CREATE INDEX IF NOT EXISTS idx_organizer_name_trgm ON organizer USING GIN (organization_name gin_trgm_ops)",
+            nativeQuery = true)
+    void createOrganizationNameTrigramIndex();
 }
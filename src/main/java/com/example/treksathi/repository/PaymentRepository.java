@@ -3,13 +3,22 @@ package com.example.treksathi.repository;
 import com.example.treksathi.enums.PaymentMethod;
 import com.example.treksathi.enums.PaymentStatus;
 import com.example.treksathi.model.Payments;
+import com.example.treksathi.record.PaymentExportRecord;
+import com.example.treksathi.record.PaymentReleaseCandidateRecord;
+import com.example.treksathi.record.RevenueTotalsRecord;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @org.springframework.stereotype.Repository
 public interface PaymentRepository extends JpaRepository<Payments, Integer>,
@@ -53,7 +62,107 @@ public interface PaymentRepository extends JpaRepository<Payments, Integer>,
       @Param("fromDate") LocalDateTime fromDate,
       @Param("toDate") LocalDateTime toDate);
 
+  // Second phase of payment paging: load the full graph for one page of IDs
+  @Query("""
+          SELECT DISTINCT p FROM Payments p
+          JOIN FETCH p.eventRegistration er
+          JOIN FETCH er.event e
+          LEFT JOIN FETCH er.user u
+          LEFT JOIN FETCH er.eventParticipants
+          WHERE p.id IN :ids
+      """)
+  List<Payments> findWithRegistrationByIdIn(@Param("ids") Collection<Integer> ids);
+
+  // Everything the bulk release needs to check eligibility and move the rollup buckets, in one query
+  @Query("""
+          SELECT new com.example.treksathi.record.PaymentReleaseCandidateRecord(
+              p.id, p.paymentStatus, p.transactionDate, e.organizer.id, p.method, p.amount, p.fee, p.netAmount,
+              SIZE(er.eventParticipants))
+          FROM Payments p
+          JOIN p.eventRegistration er
+          JOIN er.event e
+          WHERE p.id IN :ids
+      """)
+  List<PaymentReleaseCandidateRecord> findReleaseCandidates(@Param("ids") Collection<Integer> ids);
+
+  // The status guard keeps a payment that changed since the eligibility check from being released;
+  // RETURNING reports exactly the payments this statement released
+  @Transactional
+  @Query(value = """
+          UPDATE payments
+          SET payment_status = 'RELEASED',
+              released_by = :adminId,
+              released_at = :releasedAt,
+              release_notes = :notes
+          WHERE id IN (:ids) AND payment_status IN (:statuses)
+          RETURNING id
+      """, nativeQuery = true)
+  List<Integer> releaseAll(@Param("ids") Collection<Integer> ids,
+      @Param("statuses") Collection<String> statuses,
+      @Param("adminId") int adminId,
+      @Param("releasedAt") LocalDateTime releasedAt,
+      @Param("notes") String notes);
+
   java.util.List<Payments> findAllByTransactionDateBetween(java.time.LocalDateTime start, java.time.LocalDateTime end);
 
   java.util.List<Payments> findTop5ByOrderByTransactionDateDesc();
+
+  // Fees fall back to the 10% platform commission when a payment has no fee recorded yet
+  @Query("""
+          SELECT new com.example.treksathi.record.RevenueTotalsRecord(
+              COALESCE(SUM(p.amount), 0.0),
+              COALESCE(SUM(CASE WHEN p.transactionDate >= :monthStart THEN p.amount ELSE 0.0 END), 0.0),
+              COALESCE(SUM(CASE WHEN p.transactionDate >= :previousMonthStart AND p.transactionDate < :monthStart
+                  THEN p.amount ELSE 0.0 END), 0.0),
+              COALESCE(SUM(COALESCE(p.fee, p.amount * 0.10)), 0.0))
+          FROM Payments p
+          WHERE p.paymentStatus IN :statuses
+      """)
+  RevenueTotalsRecord summarizeRevenue(
+      @Param("statuses") List<PaymentStatus> statuses,
+      @Param("monthStart") LocalDateTime monthStart,
+      @Param("previousMonthStart") LocalDateTime previousMonthStart);
+
+  // Export rows are streamed from an open cursor; the fetch size keeps the JDBC driver from buffering the result
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+  @Query("""
+          SELECT new com.example.treksathi.record.PaymentExportRecord(
+              p.transactionUuid, e.title, u.name, u.email, er.contactName, er.email, o.organization_name,
+              p.amount, p.paymentStatus, p.method, p.transactionDate)
+          FROM Payments p
+          JOIN p.eventRegistration er
+          JOIN er.event e
+          JOIN e.organizer o
+          JOIN er.user u
+          WHERE o.id = :organizerId
+            AND (:status IS NULL OR p.paymentStatus = :status)
+            AND (:fromDate IS NULL OR p.transactionDate >= :fromDate)
+            AND (:toDate   IS NULL OR p.transactionDate <= :toDate)
+          ORDER BY p.transactionDate DESC
+      """)
+  Stream<PaymentExportRecord> streamExportRowsByOrganizerId(
+      @Param("organizerId") int organizerId,
+      @Param("status") PaymentStatus status,
+      @Param("fromDate") LocalDateTime fromDate,
+      @Param("toDate") LocalDateTime toDate);
+
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+  @Query("""
+          SELECT new com.example.treksathi.record.PaymentExportRecord(
+              p.transactionUuid, e.title, u.name, u.email, er.contactName, er.email, o.organization_name,
+              p.amount, p.paymentStatus, p.method, p.transactionDate)
+          FROM Payments p
+          LEFT JOIN p.eventRegistration er
+          LEFT JOIN er.event e
+          LEFT JOIN e.organizer o
+          LEFT JOIN er.user u
+          WHERE (:status IS NULL OR p.paymentStatus = :status)
+            AND (:fromDate IS NULL OR p.transactionDate >= :fromDate)
+            AND (:toDate   IS NULL OR p.transactionDate <= :toDate)
+          ORDER BY p.transactionDate DESC
+      """)
+  Stream<PaymentExportRecord> streamExportRows(
+      @Param("status") PaymentStatus status,
+      @Param("fromDate") LocalDateTime fromDate,
+      @Param("toDate") LocalDateTime toDate);
 }
@@ -0,0 +1,9 @@
+package com.example.treksathi.repository;
+
+import com.example.treksathi.model.Place;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PlaceRepository extends JpaRepository<Place, Integer> {
+}
@@ -0,0 +1,105 @@
+package com.example.treksathi.repository;
+
+import com.example.treksathi.enums.PaymentStatus;
+import com.example.treksathi.model.RevenueDailyRollup;
+import com.example.treksathi.record.RevenueMonthRecord;
+import com.example.treksathi.record.RevenueStatusTotalsRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface RevenueDailyRollupRepository extends JpaRepository<RevenueDailyRollup, Long> {
+
+    // Adds the deltas to the bucket, creating it on first use. Negative deltas move a payment out of a bucket.
+    @Modifying
+    @Query(value = """
+            INSERT INTO revenue_daily_rollup
+                (day, organizer_id, method, status, payment_count, participants, amount, fee, estimated_fee, net_amount)
+            VALUES (:day, :organizerId, :method, :status, :paymentCount, :participants, :amount, :fee,
+                    :estimatedFee, :netAmount)
+            ON CONFLICT (day, organizer_id, method, status) DO UPDATE SET
+                payment_count = revenue_daily_rollup.payment_count + EXCLUDED.payment_count,
+                participants  = revenue_daily_rollup.participants + EXCLUDED.participants,
+                amount        = revenue_daily_rollup.amount + EXCLUDED.amount,
+                fee           = revenue_daily_rollup.fee + EXCLUDED.fee,
+                estimated_fee = revenue_daily_rollup.estimated_fee + EXCLUDED.estimated_fee,
+                net_amount    = revenue_daily_rollup.net_amount + EXCLUDED.net_amount
+            """, nativeQuery = true)
+    void applyDelta(@Param("day") LocalDate day,
+                    @Param("organizerId") int organizerId,
+                    @Param("method") String method,
+                    @Param("status") String status,
+                    @Param("paymentCount") long paymentCount,
+                    @Param("participants") long participants,
+                    @Param("amount") double amount,
+                    @Param("fee") double fee,
+                    @Param("estimatedFee") double estimatedFee,
+                    @Param("netAmount") double netAmount);
+
+    @Modifying
+    @Query(value = "DELETE FROM revenue_daily_rollup", nativeQuery = true)
+    void deleteAllRows();
+
+    // Recomputes every bucket from the raw payment history; used for backfill and repair
+    @Modifying
+    @Query(value = """
+            INSERT INTO revenue_daily_rollup
+                (day, organizer_id, method, status, payment_count, participants, amount, fee, estimated_fee, net_amount)
+            SELECT CAST(COALESCE(p.transaction_date, CURRENT_TIMESTAMP) AS date),
+                   e.organizer_id,
+                   COALESCE(p.method, 'CARD'),
+                   COALESCE(p.payment_status, 'PENDING'),
+                   COUNT(*),
+                   COALESCE(SUM(pc.participants), 0),
+                   COALESCE(SUM(p.amount), 0),
+                   COALESCE(SUM(p.fee), 0),
+                   COALESCE(SUM(COALESCE(p.fee, p.amount * 0.10)), 0),
+                   COALESCE(SUM(p.net_amount), 0)
+            FROM payments p
+            JOIN event_registration er ON er.id = p.registration_id
+            JOIN event e ON e.id = er.event_id
+            LEFT JOIN (SELECT ep.event_registration_id, COUNT(*) AS participants
+                       FROM event_participants ep
+                       GROUP BY ep.event_registration_id) pc ON pc.event_registration_id = er.id
+            GROUP BY 1, 2, 3, 4
+            """, nativeQuery = true)
+    int rebuildFromPayments();
+
+    @Query("""
+            SELECT new com.example.treksathi.record.RevenueMonthRecord(
+                YEAR(r.day), MONTH(r.day), SUM(r.amount), SUM(r.estimatedFee), SUM(r.participants))
+            FROM RevenueDailyRollup r
+            WHERE r.status IN :statuses AND r.day >= :from
+            GROUP BY YEAR(r.day), MONTH(r.day)
+            """)
+    List<RevenueMonthRecord> summarizeByMonth(@Param("statuses") List<PaymentStatus> statuses,
+                                              @Param("from") LocalDate from);
+
+    @Query("""
+            SELECT new com.example.treksathi.record.RevenueMonthRecord(
+                YEAR(r.day), MONTH(r.day), SUM(r.amount), SUM(r.estimatedFee), SUM(r.participants))
+            FROM RevenueDailyRollup r
+            WHERE r.organizerId = :organizerId AND r.status IN :statuses AND r.day >= :from
+            GROUP BY YEAR(r.day), MONTH(r.day)
+            """)
+    List<RevenueMonthRecord> summarizeByMonthForOrganizer(@Param("organizerId") int organizerId,
+                                                          @Param("statuses") List<PaymentStatus> statuses,
+                                                          @Param("from") LocalDate from);
+
+    @Query("""
+            SELECT new com.example.treksathi.record.RevenueStatusTotalsRecord(
+                r.status, SUM(r.paymentCount), SUM(r.amount), SUM(r.fee), SUM(r.netAmount))
+            FROM RevenueDailyRollup r
+            GROUP BY r.status
+            """)
+    List<RevenueStatusTotalsRecord> summarizeByStatus();
+
+    @Query("SELECT COALESCE(SUM(r.amount), 0.0) FROM RevenueDailyRollup r WHERE r.day = :day")
+    Double sumAmountByDay(@Param("day") LocalDate day);
+}
@@ -1,5 +1,6 @@
 package com.example.treksathi.repository;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -7,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import com.example.treksathi.model.Reviews;
+import com.example.treksathi.record.RatingSummaryRecord;
 
 public interface ReviewRepository extends JpaRepository<Reviews, Integer> {
 
@@ -34,6 +36,19 @@ public interface ReviewRepository extends JpaRepository<Reviews, Integer> {
 
         int countByEventsId(int eventId);
 
+        @Query("SELECT new com.example.treksathi.record.RatingSummaryRecord(r.events.id, AVG(r.rating), COUNT(r)) " +
+                        "FROM Reviews r " +
+                        "WHERE r.events.id IN :eventIds " +
+                        "GROUP BY r.events.id")
+        List<RatingSummaryRecord> summarizeRatingsByEventIds(@Param("eventIds") Collection<Integer> eventIds);
+
+        @Query("SELECT new com.example.treksathi.record.RatingSummaryRecord(e.organizer.id, AVG(r.rating), COUNT(r)) " +
+                        "FROM Reviews r " +
+                        "JOIN r.events e " +
+                        "WHERE e.organizer.id IN :organizerIds " +
+                        "GROUP BY e.organizer.id")
+        List<RatingSummaryRecord> summarizeRatingsByOrganizerIds(@Param("organizerIds") Collection<Integer> organizerIds);
+
         int countByUserIdAndEventsId(int userId, int eventId);
 
         java.util.List<Reviews> findTop5ByOrderByCreatedAtDesc();
@@ -0,0 +1,81 @@
+package com.example.treksathi.repository;
+
+import com.example.treksathi.model.VectorIndexTask;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface VectorIndexTaskRepository extends JpaRepository<VectorIndexTask, Long> {
+
+    // Creates the event's row, or marks an existing one as requested again and due now.
+    // Joins the caller's transaction, so the row is only written if the change commits.
+    @Transactional
+    @Modifying
+    @Query(value = """
+            INSERT INTO vector_index_outbox (event_id, requested_at, next_attempt_at, attempts, created)
+            VALUES (:eventId, :now, :now, 0, :created)
+            ON CONFLICT (event_id) DO UPDATE SET
+                requested_at    = EXCLUDED.requested_at,
+                next_attempt_at = EXCLUDED.next_attempt_at,
+                attempts        = 0,
+                last_error      = NULL,
+                created         = vector_index_outbox.created OR EXCLUDED.created
+            """, nativeQuery = true)
+    void enqueue(@Param("eventId") int eventId, @Param("created") boolean created,
+                 @Param("now") LocalDateTime now);
+
+    // Same as enqueue for every event with an id in (afterId, throughId], none of them new
+    @Transactional
+    @Modifying
+    @Query(value = """
+            INSERT INTO vector_index_outbox (event_id, requested_at, next_attempt_at, attempts, created)
+            SELECT e.id, :now, :now, 0, FALSE
+            FROM event e
+            WHERE e.id > :afterId AND e.id <= :throughId
+            ON CONFLICT (event_id) DO UPDATE SET
+                requested_at    = EXCLUDED.requested_at,
+                next_attempt_at = EXCLUDED.next_attempt_at,
+                attempts        = 0,
+                last_error      = NULL
+            """, nativeQuery = true)
+    int enqueueRange(@Param("afterId") int afterId, @Param("throughId") int throughId,
+                     @Param("now") LocalDateTime now);
+
+    // Rows that failed maxAttempts times are parked and never due; enqueueing the event again resets them
+    @Query("""
+            SELECT t FROM VectorIndexTask t
+            WHERE t.nextAttemptAt <= :now AND t.attempts < :maxAttempts
+            ORDER BY t.nextAttemptAt, t.id
+            """)
+    List<VectorIndexTask> findDue(@Param("now") LocalDateTime now, @Param("maxAttempts") int maxAttempts,
+                                  Pageable pageable);
+
+    // Only removes the row if the event was not requested again while it was being indexed
+    @Modifying
+    @Query("DELETE FROM VectorIndexTask t WHERE t.id = :id AND t.requestedAt = :requestedAt")
+    int deleteProcessed(@Param("id") long id, @Param("requestedAt") LocalDateTime requestedAt);
+
+    @Modifying
+    @Query("""
+            UPDATE VectorIndexTask t
+            SET t.attempts = t.attempts + 1, t.nextAttemptAt = :nextAttemptAt, t.lastError = :error
+            WHERE t.id = :id AND t.requestedAt = :requestedAt
+            """)
+    int markFailed(@Param("id") long id, @Param("requestedAt") LocalDateTime requestedAt,
+                   @Param("nextAttemptAt") LocalDateTime nextAttemptAt, @Param("error") String error);
+
+    @Query("SELECT MIN(t.requestedAt) FROM VectorIndexTask t WHERE t.attempts < :maxAttempts")
+    LocalDateTime findOldestRequestedAt(@Param("maxAttempts") int maxAttempts);
+
+    long countByAttemptsBetween(int minAttempts, int maxAttempts);
+
+    long countByAttemptsGreaterThanEqual(int attempts);
+}
@@ -6,19 +6,24 @@ import com.example.treksathi.enums.Approval_status;
 import com.example.treksathi.enums.EventStatus;
 import com.example.treksathi.enums.PaymentStatus;
 import com.example.treksathi.enums.Role;
-import com.example.treksathi.model.*;
+import com.example.treksathi.record.RevenueTotalsRecord;
+import com.example.treksathi.record.RevenueMonthRecord;
 import com.example.treksathi.repository.*;
+import com.example.treksathi.util.ReadThroughCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -32,21 +37,42 @@ public class AdminDashboardService {
     private final EventRepository eventRepository;
     private final PaymentRepository paymentRepository;
     private final ReviewRepository reviewRepository;
+    private final RevenueDailyRollupRepository revenueRollupRepository;
+    private final ReadThroughCache<String, AdminDashboardDTO> adminDashboardCache;
+    private final DashboardComposer dashboardComposer;
 
+    private static final List<PaymentStatus> REVENUE_STATUSES = List.of(
+            PaymentStatus.SUCCESS, PaymentStatus.RELEASED, PaymentStatus.COMPLETED);
+    private static final String DASHBOARD_KEY = "dashboard";
+
+    // Cache hits should not open a transaction; each section of a rebuild runs in its own
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public AdminDashboardDTO getDashboardData() {
-        log.info("Generating admin dashboard data");
+        return adminDashboardCache.get(DASHBOARD_KEY, this::buildDashboardData);
+    }
 
-        AdminStatsDTO stats = calculateStats();
-        List<RevenueAnalyticsDTO> revenueChart = buildRevenueChart();
-        List<UserGrowthDTO> userGrowth = buildUserGrowthChart();
-        List<AdminRecentActivityDTO> recentActivities = buildRecentActivities();
+    private AdminDashboardDTO buildDashboardData() {
+        log.info("Generating admin dashboard data");
 
-        return AdminDashboardDTO.builder()
-                .stats(stats)
-                .revenueChart(revenueChart)
-                .userGrowth(userGrowth)
-                .recentActivities(recentActivities)
+        DashboardComposer.Composition composition = dashboardComposer.begin("admin");
+        var stats = composition.fork("stats", this::calculateStats, AdminStatsDTO.builder().build());
+        var revenueChart = composition.fork("revenueChart", this::buildRevenueChart, List.<RevenueAnalyticsDTO>of());
+        var userGrowth = composition.fork("userGrowth", this::buildUserGrowthChart, List.<UserGrowthDTO>of());
+        var recentActivities = composition.fork("recentActivities", this::buildRecentActivities,
+                List.<AdminRecentActivityDTO>of());
+
+        AdminDashboardDTO dashboard = AdminDashboardDTO.builder()
+                .stats(composition.join(stats))
+                .revenueChart(composition.join(revenueChart))
+                .userGrowth(composition.join(userGrowth))
+                .recentActivities(composition.join(recentActivities))
                 .build();
+
+        // Serve the partial result to this request, but let the next one rebuild instead of caching it for a TTL
+        if (composition.isPartial()) {
+            adminDashboardCache.invalidate(DASHBOARD_KEY);
+        }
+        return dashboard;
     }
 
     private AdminStatsDTO calculateStats() {
@@ -58,27 +84,15 @@ public class AdminDashboardService {
         long activeEvents = eventRepository.countByStatus(EventStatus.ACTIVE);
 
         // Revenue calculations
-        List<Payments> allSuccessfulPayments = paymentRepository.findAll().stream()
-                .filter(p -> p.getPaymentStatus() == PaymentStatus.SUCCESS ||
-                        p.getPaymentStatus() == PaymentStatus.RELEASED ||
-                        p.getPaymentStatus() == PaymentStatus.COMPLETED)
-                .collect(Collectors.toList());
-
-        double totalRevenue = allSuccessfulPayments.stream()
-                .mapToDouble(p -> p.getAmount() != null ? p.getAmount() : 0.0)
-                .sum();
-
-        LocalDateTime now = LocalDateTime.now();
-        LocalDateTime firstDayOfMonth = now.withDayOfMonth(1).withHour(0).withMinute(0).withSecond(0).withNano(0);
+        LocalDateTime monthStart = LocalDate.now().withDayOfMonth(1).atStartOfDay();
+        RevenueTotalsRecord revenueTotals = paymentRepository.summarizeRevenue(
+                REVENUE_STATUSES, monthStart, monthStart.minusMonths(1));
 
-        double monthlyRevenue = allSuccessfulPayments.stream()
-                .filter(p -> p.getTransactionDate() != null && p.getTransactionDate().isAfter(firstDayOfMonth))
-                .mapToDouble(p -> p.getAmount() != null ? p.getAmount() : 0.0)
-                .sum();
+        double totalRevenue = revenueTotals.totalRevenue();
+        double monthlyRevenue = revenueTotals.monthRevenue();
 
-        // Growth percentages (simplified comparison with previous 30 days vs current 30
-        // days or similar)
-        double revenueGrowth = calculateRevenueGrowth(allSuccessfulPayments);
+        // Growth percentages (current month vs previous month)
+        double revenueGrowth = calculateRevenueGrowth(revenueTotals);
         double userGrowth = calculateUserGrowth();
         double eventGrowth = calculateEventGrowth();
 
@@ -101,23 +115,18 @@ public class AdminDashboardService {
         List<RevenueAnalyticsDTO> chart = new ArrayList<>();
         LocalDate now = LocalDate.now();
 
+        Map<YearMonth, RevenueMonthRecord> revenueByMonth = revenueRollupRepository
+                .summarizeByMonth(REVENUE_STATUSES, now.minusMonths(5).withDayOfMonth(1)).stream()
+                .collect(Collectors.toMap(m -> YearMonth.of(m.year(), m.month()), m -> m));
+
         for (int i = 5; i >= 0; i--) {
             LocalDate monthDate = now.minusMonths(i);
             String monthLabel = monthDate.format(DateTimeFormatter.ofPattern("MMM"));
 
-            LocalDateTime start = monthDate.withDayOfMonth(1).atStartOfDay();
-            LocalDateTime end = monthDate.withDayOfMonth(monthDate.lengthOfMonth()).atTime(23, 59, 59);
-
-            List<Payments> monthlyPayments = paymentRepository.findAllByTransactionDateBetween(start, end).stream()
-                    .filter(p -> p.getPaymentStatus() == PaymentStatus.SUCCESS ||
-                            p.getPaymentStatus() == PaymentStatus.RELEASED ||
-                            p.getPaymentStatus() == PaymentStatus.COMPLETED)
-                    .collect(Collectors.toList());
+            RevenueMonthRecord month = revenueByMonth.get(YearMonth.from(monthDate));
 
-            double revenue = monthlyPayments.stream()
-                    .mapToDouble(p -> p.getAmount() != null ? p.getAmount() : 0.0).sum();
-            double fees = monthlyPayments.stream()
-                    .mapToDouble(p -> p.getFee() != null ? p.getFee() : p.getAmount() * 0.10).sum();
+            double revenue = month != null ? month.revenue() : 0.0;
+            double fees = month != null ? month.fees() : 0.0;
             double earnings = revenue - fees;
 
             chart.add(new RevenueAnalyticsDTO(monthLabel, revenue, earnings, fees));
@@ -208,19 +217,9 @@ public class AdminDashboardService {
                 .collect(Collectors.toList());
     }
 
-    private double calculateRevenueGrowth(List<Payments> allPayments) {
-        LocalDateTime now = LocalDateTime.now();
-        LocalDateTime monthStart = now.toLocalDate().withDayOfMonth(1).atStartOfDay();
-        LocalDateTime prevMonthStart = monthStart.minusMonths(1);
-
-        double curMonthRev = allPayments.stream()
-                .filter(p -> p.getTransactionDate() != null && p.getTransactionDate().isAfter(monthStart))
-                .mapToDouble(p -> p.getAmount() != null ? p.getAmount() : 0.0).sum();
-
-        double prevMonthRev = allPayments.stream()
-                .filter(p -> p.getTransactionDate() != null && p.getTransactionDate().isAfter(prevMonthStart)
-                        && p.getTransactionDate().isBefore(monthStart))
-                .mapToDouble(p -> p.getAmount() != null ? p.getAmount() : 0.0).sum();
+    private double calculateRevenueGrowth(RevenueTotalsRecord revenueTotals) {
+        double curMonthRev = revenueTotals.monthRevenue();
+        double prevMonthRev = revenueTotals.previousMonthRevenue();
 
         if (prevMonthRev == 0)
             return curMonthRev > 0 ? 100 : 0;
@@ -5,11 +5,13 @@ import com.example.treksathi.dto.event.EventOrganizerDTO;
 import com.example.treksathi.dto.event.EventParticipantDTO;
 import com.example.treksathi.dto.event.EventStatsDTO;
 import com.example.treksathi.enums.EventStatus;
+import com.example.treksathi.event.EventChangedEvent;
 import com.example.treksathi.model.Event;
 import com.example.treksathi.model.EventParticipants;
 import com.example.treksathi.repository.EventRepository;
 import com.example.treksathi.specification.EventSpecification;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -24,6 +26,7 @@ import java.util.stream.Collectors;
 public class AdminEventService {
 
     private final EventRepository eventRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public Page<AdminEventDTO> getAllEvents(int page, int size, String statusStr, String search) {
         Pageable pageable = PageRequest.of(page, size);
@@ -92,6 +95,8 @@ public class AdminEventService {
 
         event.setStatus(newStatus);
         Event updatedEvent = eventRepository.save(event);
+        eventPublisher.publishEvent(new EventChangedEvent(updatedEvent.getId(), updatedEvent.getStatus(),
+                EventChangedEvent.Change.STATUS_CHANGED));
         return mapToAdminEventDTO(updatedEvent);
     }
 
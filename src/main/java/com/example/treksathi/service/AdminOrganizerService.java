@@ -5,6 +5,7 @@ import com.example.treksathi.dto.admin.AdminOrganizerStatsDTO;
 import com.example.treksathi.dto.admin.OrganizerVerificationDetailDTO;
 import com.example.treksathi.dto.admin.OrganizerVerificationListDTO;
 import com.example.treksathi.enums.Approval_status;
+import com.example.treksathi.event.OrganizerApprovalChangedEvent;
 import com.example.treksathi.exception.NotFoundException;
 import com.example.treksathi.model.Organizer;
 import com.example.treksathi.model.User;
@@ -13,6 +14,7 @@ import com.example.treksathi.repository.OrganizerRepository;
 import com.example.treksathi.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -28,6 +30,7 @@ public class AdminOrganizerService implements IAdminOrganizerService {
     private final OrganizerRepository organizerRepository;
     private final UserRepository userRepository;
     private final EventRepository eventRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public List<OrganizerVerificationListDTO> getAllOrganizers(Approval_status status, String search) {
@@ -76,6 +79,7 @@ public class AdminOrganizerService implements IAdminOrganizerService {
         organizer.setVerified_on(LocalDateTime.now());
 
         organizer = organizerRepository.save(organizer);
+        eventPublisher.publishEvent(new OrganizerApprovalChangedEvent(organizer.getId(), organizer.getApprovalStatus()));
 
         log.info("Organizer {} approved by admin {}", organizerId, adminUserId);
 
@@ -96,6 +100,7 @@ public class AdminOrganizerService implements IAdminOrganizerService {
         organizer.setVerified_on(LocalDateTime.now());
 
         organizer = organizerRepository.save(organizer);
+        eventPublisher.publishEvent(new OrganizerApprovalChangedEvent(organizer.getId(), organizer.getApprovalStatus()));
 
         log.info("Organizer {} rejected by admin {} with reason: {}", organizerId, adminUserId, reason);
 
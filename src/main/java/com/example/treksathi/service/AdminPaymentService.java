@@ -1,12 +1,17 @@
 package com.example.treksathi.service;
 
 import com.example.treksathi.dto.payment.AdminPaymentDTO;
+import com.example.treksathi.dto.payment.BulkReleaseResultDTO;
 import com.example.treksathi.dto.payment.OrganizerBalanceDTO;
 import com.example.treksathi.dto.payment.PaymentStatsDTO;
 import com.example.treksathi.enums.PaymentStatus;
 import com.example.treksathi.model.Payments;
 import com.example.treksathi.model.User;
+import com.example.treksathi.record.PaymentReleaseCandidateRecord;
+import com.example.treksathi.record.RevenueStatusTotalsRecord;
+import com.example.treksathi.repository.OrganizerBalanceRepository;
 import com.example.treksathi.repository.PaymentRepository;
+import com.example.treksathi.repository.RevenueDailyRollupRepository;
 import com.example.treksathi.repository.UserRepository;
 import com.example.treksathi.specification.PaymentSpecification;
 import lombok.RequiredArgsConstructor;
@@ -17,11 +22,18 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -31,6 +43,17 @@ public class AdminPaymentService {
 
         private final PaymentRepository paymentRepository;
         private final UserRepository userRepository;
+        private final RevenueDailyRollupRepository revenueRollupRepository;
+        private final OrganizerBalanceRepository organizerBalanceRepository;
+        private final RevenueRollupService revenueRollupService;
+        private final CsvExportService csvExportService;
+        private final TransactionTemplate transactionTemplate;
+
+        private static final int BULK_RELEASE_CHUNK_SIZE = 500;
+        private static final List<PaymentStatus> RELEASABLE_STATUSES = List.of(
+                        PaymentStatus.COMPLETED, PaymentStatus.SUCCESS);
+        private static final String RELEASED = "RELEASED";
+        private static final String SKIPPED = "SKIPPED";
 
         public Page<AdminPaymentDTO> getAllPayments(int page, int size, String status, String method, String search,
                         Integer organizerId,
@@ -48,33 +71,35 @@ public class AdminPaymentService {
         }
 
         public PaymentStatsDTO getPaymentStats() {
-                List<Payments> allPayments = paymentRepository.findAll();
-
-                double totalRevenue = allPayments.stream().mapToDouble(p -> p.getAmount() != null ? p.getAmount() : 0.0)
-                                .sum();
-                long pendingPayments = allPayments.stream().filter(p -> p.getPaymentStatus() == PaymentStatus.PENDING)
-                                .count();
-                long completedPayments = allPayments.stream().filter(
-                                p -> p.getPaymentStatus() == PaymentStatus.COMPLETED
-                                                || p.getPaymentStatus() == PaymentStatus.SUCCESS)
-                                .count();
-                long releasedPayments = allPayments.stream().filter(p -> p.getPaymentStatus() == PaymentStatus.RELEASED)
-                                .count();
-
-                double totalFee = allPayments.stream().mapToDouble(p -> p.getFee() != null ? p.getFee() : 0.0).sum();
-                double netRevenue = allPayments.stream()
-                                .mapToDouble(p -> p.getNetAmount() != null ? p.getNetAmount() : 0.0)
-                                .sum();
-
-                // Calculate today revenue
-                LocalDateTime startOfDay = LocalDate.now().atStartOfDay();
-                double todayRevenue = allPayments.stream()
-                                .filter(p -> p.getTransactionDate() != null
-                                                && p.getTransactionDate().isAfter(startOfDay))
-                                .mapToDouble(p -> p.getAmount() != null ? p.getAmount() : 0.0)
-                                .sum();
-
-                double averagePayment = allPayments.isEmpty() ? 0 : totalRevenue / allPayments.size();
+                List<RevenueStatusTotalsRecord> totalsByStatus = revenueRollupRepository.summarizeByStatus();
+
+                double totalRevenue = 0;
+                double totalFee = 0;
+                double netRevenue = 0;
+                long totalPayments = 0;
+                long pendingPayments = 0;
+                long completedPayments = 0;
+                long releasedPayments = 0;
+
+                for (RevenueStatusTotalsRecord totals : totalsByStatus) {
+                        totalRevenue += totals.amount();
+                        totalFee += totals.fee();
+                        netRevenue += totals.netAmount();
+                        totalPayments += totals.paymentCount();
+
+                        if (totals.status() == PaymentStatus.PENDING) {
+                                pendingPayments += totals.paymentCount();
+                        } else if (totals.status() == PaymentStatus.COMPLETED
+                                        || totals.status() == PaymentStatus.SUCCESS) {
+                                completedPayments += totals.paymentCount();
+                        } else if (totals.status() == PaymentStatus.RELEASED) {
+                                releasedPayments += totals.paymentCount();
+                        }
+                }
+
+                double todayRevenue = revenueRollupRepository.sumAmountByDay(LocalDate.now());
+
+                double averagePayment = totalPayments == 0 ? 0 : totalRevenue / totalPayments;
 
                 return PaymentStatsDTO.builder()
                                 .totalRevenue(totalRevenue)
@@ -89,54 +114,17 @@ public class AdminPaymentService {
         }
 
         public List<OrganizerBalanceDTO> getOrganizerBalances() {
-                List<Payments> allPayments = paymentRepository.findAll();
-
-                // Group by Organizer ID
-                Map<Integer, List<Payments>> paymentsByOrganizer = allPayments.stream()
-                                .filter(p -> p.getEventRegistration() != null &&
-                                                p.getEventRegistration().getEvent() != null &&
-                                                p.getEventRegistration().getEvent().getOrganizer() != null)
-                                .collect(Collectors.groupingBy(
-                                                p -> p.getEventRegistration().getEvent().getOrganizer().getId()));
-
-                return paymentsByOrganizer.entrySet().stream()
-                                .map(entry -> {
-                                        int organizerId = entry.getKey();
-                                        List<Payments> payments = entry.getValue();
-                                        var organizer = payments.get(0).getEventRegistration().getEvent()
-                                                        .getOrganizer();
-
-                                        double pendingAmount = payments.stream()
-                                                        .filter(p -> p.getPaymentStatus() == PaymentStatus.COMPLETED
-                                                                        || p.getPaymentStatus() == PaymentStatus.SUCCESS)
-                                                        .mapToDouble(p -> p.getNetAmount() != null ? p.getNetAmount()
-                                                                        : 0.0)
-                                                        .sum();
-
-                                        double releasedAmount = payments.stream()
-                                                        .filter(p -> p.getPaymentStatus() == PaymentStatus.RELEASED)
-                                                        .mapToDouble(p -> p.getNetAmount() != null ? p.getNetAmount()
-                                                                        : 0.0)
-                                                        .sum();
-
-                                        long pendingPaymentsCount = payments.stream()
-                                                        .filter(p -> p.getPaymentStatus() == PaymentStatus.COMPLETED
-                                                                        || p.getPaymentStatus() == PaymentStatus.SUCCESS)
-                                                        .count();
-
-                                        return OrganizerBalanceDTO.builder()
-                                                        .organizerId(organizerId)
-                                                        .organizerName(organizer.getUser().getName()) // assuming
-                                                                                                      // contact person
-                                                                                                      // name/user name
-                                                        .organization(organizer.getOrganization_name())
-                                                        .pendingAmount(pendingAmount)
-                                                        .releasedAmount(releasedAmount)
-                                                        .totalBalance(pendingAmount + releasedAmount) // Total earnings
-                                                                                                      // so far
-                                                        .pendingPayments(pendingPaymentsCount)
-                                                        .build();
-                                })
+                // One ledger row per organizer, maintained as payments change state
+                return organizerBalanceRepository.findBalances().stream()
+                                .map(balance -> OrganizerBalanceDTO.builder()
+                                                .organizerId(balance.organizerId())
+                                                .organizerName(balance.organizerName())
+                                                .organization(balance.organization())
+                                                .pendingAmount(balance.pendingAmount())
+                                                .releasedAmount(balance.releasedAmount())
+                                                .totalBalance(balance.pendingAmount() + balance.releasedAmount())
+                                                .pendingPayments(balance.pendingCount())
+                                                .build())
                                 .collect(Collectors.toList());
         }
 
@@ -149,6 +137,7 @@ public class AdminPaymentService {
                                 .orElseThrow(() -> new RuntimeException("Admin user not found"));
 
                 if (payment.getPaymentStatus() == PaymentStatus.PENDING) {
+                        RevenueRollupService.Snapshot before = revenueRollupService.snapshot(payment);
                         payment.setPaymentStatus(PaymentStatus.COMPLETED);
                         payment.setVerifiedBy(admin);
                         payment.setVerifiedAt(LocalDateTime.now());
@@ -163,6 +152,7 @@ public class AdminPaymentService {
                         }
 
                         Payments saved = paymentRepository.save(payment);
+                        revenueRollupService.recordTransition(before, saved);
                         return mapToAdminPaymentDTO(saved);
                 } else {
                         throw new RuntimeException("Payment is not in PENDING status");
@@ -180,27 +170,94 @@ public class AdminPaymentService {
                 // Allow release if it's COMPLETED or SUCCESS
                 if (payment.getPaymentStatus() == PaymentStatus.COMPLETED
                                 || payment.getPaymentStatus() == PaymentStatus.SUCCESS) {
+                        RevenueRollupService.Snapshot before = revenueRollupService.snapshot(payment);
                         payment.setPaymentStatus(PaymentStatus.RELEASED);
                         payment.setReleasedBy(admin);
                         payment.setReleasedAt(LocalDateTime.now());
                         payment.setReleaseNotes(notes);
 
                         Payments saved = paymentRepository.save(payment);
+                        revenueRollupService.recordTransition(before, saved);
                         return mapToAdminPaymentDTO(saved);
                 } else {
                         throw new RuntimeException("Payment must be verified (COMPLETED) before release");
                 }
         }
 
-        @Transactional
-        public void bulkRelease(List<Integer> paymentIds, int adminId) {
-                for (Integer id : paymentIds) {
-                        try {
-                                releasePayment(id, adminId, "Bulk Release");
-                        } catch (Exception e) {
-                                log.error("Failed to release payment {}", id, e);
+        /**
+         * Releases payments in chunks, each with one eligibility query and one
+         * guarded UPDATE in its own transaction, so row locks are held briefly.
+         */
+        public BulkReleaseResultDTO bulkRelease(List<Integer> paymentIds, int adminId) {
+                User admin = userRepository.findById(adminId)
+                                .orElseThrow(() -> new RuntimeException("Admin user not found"));
+
+                List<Integer> ids = paymentIds.stream()
+                                .filter(Objects::nonNull)
+                                .distinct()
+                                .collect(Collectors.toList());
+
+                List<BulkReleaseResultDTO.Outcome> outcomes = new ArrayList<>(ids.size());
+                for (int from = 0; from < ids.size(); from += BULK_RELEASE_CHUNK_SIZE) {
+                        List<Integer> chunk = ids.subList(from, Math.min(from + BULK_RELEASE_CHUNK_SIZE, ids.size()));
+                        outcomes.addAll(transactionTemplate.execute(status -> releaseChunk(chunk, admin)));
+                }
+
+                int released = (int) outcomes.stream().filter(o -> RELEASED.equals(o.getOutcome())).count();
+                log.info("Bulk release by admin {}: {} requested, {} released", adminId, ids.size(), released);
+
+                return BulkReleaseResultDTO.builder()
+                                .requested(ids.size())
+                                .released(released)
+                                .skipped(outcomes.size() - released)
+                                .outcomes(outcomes)
+                                .build();
+        }
+
+        private List<BulkReleaseResultDTO.Outcome> releaseChunk(List<Integer> ids, User admin) {
+                Map<Integer, PaymentReleaseCandidateRecord> candidates = paymentRepository.findReleaseCandidates(ids)
+                                .stream()
+                                .collect(Collectors.toMap(PaymentReleaseCandidateRecord::id, c -> c));
+
+                Map<Integer, String> skipped = new HashMap<>();
+                List<Integer> eligible = new ArrayList<>();
+                for (Integer id : ids) {
+                        PaymentReleaseCandidateRecord candidate = candidates.get(id);
+                        if (candidate == null) {
+                                skipped.put(id, "Payment not found");
+                        } else if (!RELEASABLE_STATUSES.contains(candidate.status())) {
+                                skipped.put(id, "Payment must be verified (COMPLETED) before release, status is "
+                                                + candidate.status());
+                        } else {
+                                eligible.add(id);
                         }
                 }
+
+                Set<Integer> released = new HashSet<>();
+                if (!eligible.isEmpty()) {
+                        // Payments whose status changed after the eligibility check are not returned
+                        released.addAll(paymentRepository.releaseAll(eligible,
+                                        RELEASABLE_STATUSES.stream().map(PaymentStatus::name).toList(),
+                                        admin.getId(), LocalDateTime.now(), "Bulk Release"));
+
+                        revenueRollupService.recordBulkTransition(released.stream()
+                                        .map(id -> revenueRollupService.snapshot(candidates.get(id)))
+                                        .collect(Collectors.toList()), PaymentStatus.RELEASED);
+                }
+
+                return ids.stream()
+                                .map(id -> released.contains(id)
+                                                ? BulkReleaseResultDTO.Outcome.builder()
+                                                                .paymentId(id)
+                                                                .outcome(RELEASED)
+                                                                .build()
+                                                : BulkReleaseResultDTO.Outcome.builder()
+                                                                .paymentId(id)
+                                                                .outcome(SKIPPED)
+                                                                .reason(skipped.getOrDefault(id,
+                                                                                "Payment status changed during release"))
+                                                                .build())
+                                .collect(Collectors.toList());
         }
 
         @Transactional
@@ -211,66 +268,41 @@ public class AdminPaymentService {
                 // Ensure only refundable statuses can be refunded (e.g., PENDING or COMPLETED)
                 if (payment.getPaymentStatus() == PaymentStatus.PENDING
                                 || payment.getPaymentStatus() == PaymentStatus.COMPLETED) {
+                        RevenueRollupService.Snapshot before = revenueRollupService.snapshot(payment);
                         payment.setPaymentStatus(PaymentStatus.REFUNDED);
                         // Logic to process actual refund via gateway would go here
                         // For now, just updating DB status
-                        return mapToAdminPaymentDTO(paymentRepository.save(payment));
+                        Payments saved = paymentRepository.save(payment);
+                        revenueRollupService.recordTransition(before, saved);
+                        return mapToAdminPaymentDTO(saved);
                 } else {
                         throw new RuntimeException("Cannot refund payment with status: " + payment.getPaymentStatus());
                 }
         }
 
-        public java.io.ByteArrayInputStream exportPaymentsToCSV() {
-                List<Payments> payments = paymentRepository.findAll();
-
-                try (java.io.ByteArrayOutputStream out = new java.io.ByteArrayOutputStream();
-                                java.io.PrintWriter writer = new java.io.PrintWriter(out)) {
-
-                        // Header
-                        writer.println("Transaction ID, User, Event, Organizer, Amount, Status, Method, Date");
-
-                        for (Payments payment : payments) {
-                                String user = payment.getEventRegistration() != null
-                                                && payment.getEventRegistration().getUser() != null
-                                                                ? payment.getEventRegistration().getUser().getName()
-                                                                : "N/A";
-                                String event = payment.getEventRegistration() != null
-                                                && payment.getEventRegistration().getEvent() != null
-                                                                ? payment.getEventRegistration().getEvent().getTitle()
-                                                                : "N/A";
-                                String organizer = payment.getEventRegistration() != null
-                                                && payment.getEventRegistration().getEvent() != null
-                                                && payment.getEventRegistration().getEvent().getOrganizer() != null
-                                                                ? payment.getEventRegistration().getEvent()
-                                                                                .getOrganizer().getOrganization_name()
-                                                                : "N/A";
-
-                                writer.printf("%s, %s, %s, %s, %.2f, %s, %s, %s\n",
-                                                payment.getTransactionUuid(),
-                                                escapeSpecialCharacters(user),
-                                                escapeSpecialCharacters(event),
-                                                escapeSpecialCharacters(organizer),
-                                                payment.getAmount() != null ? payment.getAmount() : 0.0,
-                                                payment.getPaymentStatus(),
-                                                payment.getMethod(),
-                                                payment.getTransactionDate());
-                        }
-                        writer.flush();
-                        return new java.io.ByteArrayInputStream(out.toByteArray());
-                } catch (Exception e) {
-                        throw new RuntimeException("Failed to export data to CSV: " + e.getMessage());
-                }
-        }
-
-        private String escapeSpecialCharacters(String data) {
-                if (data == null)
-                        return "";
-                String escapedData = data.replaceAll("\\R", " ");
-                if (data.contains(",") || data.contains("\"") || data.contains("'")) {
-                        data = data.replace("\"", "\"\"");
-                        escapedData = "\"" + data + "\"";
-                }
-                return escapedData;
+        public StreamingResponseBody exportPaymentsToCSV(String status, LocalDate startDate, LocalDate endDate) {
+                PaymentStatus paymentStatus = status != null && !status.isBlank() && !"ALL".equalsIgnoreCase(status)
+                                ? PaymentStatus.valueOf(status.toUpperCase())
+                                : null;
+                LocalDateTime fromDate = startDate != null ? startDate.atStartOfDay() : null;
+                LocalDateTime toDate = endDate != null ? endDate.atTime(23, 59, 59) : null;
+
+                return out -> csvExportService.write(
+                                () -> paymentRepository.streamExportRows(paymentStatus, fromDate, toDate),
+                                "Transaction ID, User, Event, Organizer, Amount, Status, Method, Date",
+                                row -> String.format("%s, %s, %s, %s, %.2f, %s, %s, %s",
+                                                row.transactionUuid(),
+                                                CsvExportService.escapeSpecialCharacters(
+                                                                row.userName() != null ? row.userName() : "N/A"),
+                                                CsvExportService.escapeSpecialCharacters(
+                                                                row.eventTitle() != null ? row.eventTitle() : "N/A"),
+                                                CsvExportService.escapeSpecialCharacters(
+                                                                row.organizationName() != null ? row.organizationName() : "N/A"),
+                                                row.amount() != null ? row.amount() : 0.0,
+                                                row.status(),
+                                                row.method(),
+                                                row.transactionDate()),
+                                out);
         }
 
         private AdminPaymentDTO mapToAdminPaymentDTO(Payments payment) {
@@ -0,0 +1,72 @@
+package com.example.treksathi.service;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Writes query results to CSV row by row while the database cursor is open,
+ * so exports run in constant memory regardless of how many rows match.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CsvExportService {
+
+    private static final int FLUSH_INTERVAL = 500;
+
+    private final EntityManager entityManager;
+
+    /**
+     * Writes through a plain Writer rather than a PrintWriter, which would swallow
+     * the IOException of a client that went away; failing straight away means an
+     * aborted download stops reading the cursor instead of draining it.
+     */
+    @Transactional(readOnly = true)
+    public <T> void write(Supplier<Stream<T>> rows, String header, Function<T, String> formatter, OutputStream out)
+            throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(header);
+        writer.write('\n');
+
+        long count = 0;
+        try (Stream<T> stream = rows.get()) {
+            var iterator = stream.iterator();
+            while (iterator.hasNext()) {
+                writer.write(formatter.apply(iterator.next()));
+                writer.write('\n');
+
+                // Push the rows to the client and drop anything attached to the session
+                if (++count % FLUSH_INTERVAL == 0) {
+                    writer.flush();
+                    entityManager.clear();
+                }
+            }
+        }
+        writer.flush();
+        log.info("Exported {} CSV rows", count);
+    }
+
+    public static String escapeSpecialCharacters(String data) {
+        if (data == null)
+            return "";
+        String escapedData = data.replaceAll("\\R", " ");
+        if (data.contains(",") || data.contains("\"") || data.contains("'")) {
+            data = data.replace("\"", "\"\"");
+            escapedData = "\"" + data + "\"";
+        }
+        return escapedData;
+    }
+}
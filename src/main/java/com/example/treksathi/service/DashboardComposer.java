@@ -0,0 +1,97 @@
+package com.example.treksathi.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Builds dashboards out of independent sections that run side by side on
+ * virtual threads. Each section gets its own read-only transaction, so it must
+ * map entities to DTOs before returning. A section that fails or is still
+ * running when the section timeout expires is replaced by its fallback, and the
+ * composition is marked partial.
+ * <p>
+ * Sections do not see the caller's security context or persistence context;
+ * resolve the principal before forking and pass what the sections need.
+ */
+@Service
+@Slf4j
+public class DashboardComposer {
+
+    private final ExecutorService executor;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Duration sectionTimeout;
+
+    public DashboardComposer(@Qualifier("dashboardExecutor") ExecutorService executor,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${dashboard.section-timeout:3s}") Duration sectionTimeout) {
+        this.executor = executor;
+        this.sectionTimeout = sectionTimeout;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        // Also applied as the JDBC query timeout, so an abandoned section gives its connection back
+        this.readOnlyTransaction.setTimeout((int) Math.max(1, sectionTimeout.toSeconds()));
+    }
+
+    public Composition begin(String dashboard) {
+        return new Composition(dashboard, System.nanoTime());
+    }
+
+    public record Section<T>(String name, Future<T> future, T fallback) {
+    }
+
+    public final class Composition {
+
+        private final String dashboard;
+        private final long startedAt;
+        private boolean partial;
+
+        private Composition(String dashboard, long startedAt) {
+            this.dashboard = dashboard;
+            this.startedAt = startedAt;
+        }
+
+        public <T> Section<T> fork(String name, Supplier<T> loader, T fallback) {
+            Future<T> future = executor.submit(() -> readOnlyTransaction.execute(status -> loader.get()));
+            return new Section<>(name, future, fallback);
+        }
+
+        /**
+         * Waits for a section until the timeout measured from {@link #begin} runs
+         * out. Sections run concurrently, so joining them in any order waits at
+         * most one timeout in total.
+         */
+        public <T> T join(Section<T> section) {
+            long remaining = sectionTimeout.toNanos() - (System.nanoTime() - startedAt);
+            try {
+                return section.future().get(Math.max(remaining, 0), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                section.future().cancel(true);
+                log.warn("Dashboard {} section {} timed out after {}, using fallback",
+                        dashboard, section.name(), sectionTimeout);
+            } catch (ExecutionException e) {
+                log.error("Dashboard {} section {} failed, using fallback", dashboard, section.name(), e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                section.future().cancel(true);
+            }
+            partial = true;
+            return section.fallback();
+        }
+
+        public boolean isPartial() {
+            return partial;
+        }
+    }
+}
@@ -14,12 +14,15 @@ import com.example.treksathi.record.OrganizerRecord;
 import com.example.treksathi.repository.EventRepository;
 import com.example.treksathi.repository.EventRegistrationRepository;
 import com.example.treksathi.repository.ReviewRepository;
+import com.example.treksathi.util.SeekCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 
 @Service
 @RequiredArgsConstructor
@@ -46,6 +49,21 @@ public class EventService implements IEventService {
         return PaginatedResponseDTO.of(eventPage);
     }
 
+    // READ - Scroll through events by (date, id) without counting them
+    public PaginatedResponseDTO<EventCardResponse> scrollEvents(String cursor, int size, boolean includeTotal) {
+        SeekCursor after = SeekCursor.decode(cursor);
+        int limit = Math.max(1, size);
+        PageRequest firstRows = PageRequest.of(0, limit + 1);
+
+        List<EventCardResponse> rows = after == null
+                ? eventRepository.findFirstEventCards(EventStatus.ACTIVE, firstRows)
+                : eventRepository.findEventCardsAfter(EventStatus.ACTIVE, after.date(), after.id(), firstRows);
+
+        return PaginatedResponseDTO.ofSlice(rows, limit, after != null,
+                card -> SeekCursor.of(card.date(), card.id()).encode(),
+                includeTotal ? eventRepository.countByStatus(EventStatus.ACTIVE) : null);
+    }
+
     // READ - Get event by ID with organizer details
     public EventResponseRecord getEventById(int id) {
         Event event = eventRepository.findById(id)
@@ -164,4 +182,4 @@ public class EventService implements IEventService {
             return totalReviews;
         }
     }
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -8,8 +8,10 @@ import com.example.treksathi.dto.favourites.FavouritesPageResponse;
 import com.example.treksathi.enums.EventStatus;
 import com.example.treksathi.model.*;
 import com.example.treksathi.repository.*;
+import com.example.treksathi.util.SeekCursor;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -30,6 +32,7 @@ public class FavouriteServiceImpl implements IFavouriteService {
     private final EventRepository eventRepository;
     private final EventRegistrationRepository eventRegistrationRepository;
     private final ReviewRepository reviewsRepository;
+    private final PopularityService popularityService;
 
     @Override
     public FavouriteResponse addToFavourites(String email, AddFavouriteRequest request) {
@@ -47,6 +50,7 @@ public class FavouriteServiceImpl implements IFavouriteService {
                 .build();
 
         favourite = favouriteRepository.save(favourite);
+        popularityService.recordFavouriteAdded(event.getId());
 
         return FavouriteResponse.builder()
                 .id(favourite.getId())
@@ -64,6 +68,7 @@ public class FavouriteServiceImpl implements IFavouriteService {
                 .orElseThrow(() -> new RuntimeException("Favourite not found"));
 
         favouriteRepository.delete(favourite);
+        popularityService.recordFavouriteRemoved(eventId, favourite.getAddedAt());
 
         return FavouriteResponse.builder()
                 .id(favourite.getId())
@@ -103,6 +108,44 @@ public class FavouriteServiceImpl implements IFavouriteService {
         Page<Favourites> favouritesPage = favouriteRepository
                 .findByUserIdOrderByAddedAtDesc(user.getId(), pageable);
 
+        return FavouritesPageResponse.builder()
+                .favourites(toFavouriteDTOs(user, favouritesPage.getContent()))
+                .currentPage(favouritesPage.getNumber())
+                .totalPages(favouritesPage.getTotalPages())
+                .totalItems(favouritesPage.getTotalElements())
+                .hasNext(favouritesPage.hasNext())
+                .hasPrevious(favouritesPage.hasPrevious())
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public FavouritesPageResponse scrollUserFavourites(String email, String cursor, int size, boolean includeTotal) {
+        User user = getUserByEmail(email);
+        SeekCursor after = SeekCursor.decode(cursor);
+        int limit = Math.max(1, size);
+        PageRequest firstRows = PageRequest.of(0, limit + 1);
+
+        // One extra row tells whether another page follows
+        List<Favourites> rows = after == null
+                ? favouriteRepository.findByUserIdOrderByAddedAtDescIdDesc(user.getId(), firstRows)
+                : favouriteRepository.findByUserIdAfter(user.getId(), after.dateTime(), after.id(), firstRows);
+        boolean hasNext = rows.size() > limit;
+        List<Favourites> favourites = hasNext ? rows.subList(0, limit) : rows;
+        Favourites last = hasNext ? favourites.get(favourites.size() - 1) : null;
+        Long total = includeTotal ? favouriteRepository.countByUserId(user.getId()) : null;
+
+        return FavouritesPageResponse.builder()
+                .favourites(toFavouriteDTOs(user, favourites))
+                .totalPages(total != null ? (int) Math.ceil((double) total / limit) : null)
+                .totalItems(total)
+                .hasNext(hasNext)
+                .hasPrevious(after != null)
+                .nextCursor(last != null ? SeekCursor.of(last.getAddedAt(), last.getId()).encode() : null)
+                .build();
+    }
+
+    private List<FavouriteEventDTO> toFavouriteDTOs(User user, List<Favourites> favourites) {
         List<EventRegistration> userRegistrations = eventRegistrationRepository
                 .findByUserId(user.getId()).orElseThrow();
 
@@ -112,7 +155,7 @@ public class FavouriteServiceImpl implements IFavouriteService {
                 .collect(Collectors.toSet());
 
         // Get ratings for events
-        List<Integer> eventIds = favouritesPage.getContent().stream()
+        List<Integer> eventIds = favourites.stream()
                 .map(f -> f.getEvent().getId())
                 .collect(Collectors.toList());
 
@@ -120,7 +163,7 @@ public class FavouriteServiceImpl implements IFavouriteService {
         Map<Integer, Integer> ratingCounts = getRatingCounts(eventIds);
         Map<Integer, Integer> participantCounts = getParticipantCounts(eventIds);
 
-        List<FavouriteEventDTO> favouriteDTOs = favouritesPage.getContent().stream()
+        return favourites.stream()
                 .map(favourite -> mapToFavouriteEventDTO(
                         favourite,
                         registeredEventIds,
@@ -129,15 +172,6 @@ public class FavouriteServiceImpl implements IFavouriteService {
                         participantCounts
                 ))
                 .collect(Collectors.toList());
-
-        return FavouritesPageResponse.builder()
-                .favourites(favouriteDTOs)
-                .currentPage(favouritesPage.getNumber())
-                .totalPages(favouritesPage.getTotalPages())
-                .totalItems(favouritesPage.getTotalElements())
-                .hasNext(favouritesPage.hasNext())
-                .hasPrevious(favouritesPage.hasPrevious())
-                .build();
     }
 
     @Override
@@ -0,0 +1,153 @@
+package com.example.treksathi.service;
+
+import com.example.treksathi.model.Event;
+import com.example.treksathi.model.Place;
+import com.example.treksathi.record.EventLocationRecord;
+import com.example.treksathi.repository.EventRepository;
+import com.example.treksathi.repository.PlaceRepository;
+import com.example.treksathi.util.GeoHash;
+import com.example.treksathi.util.SuggestionIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Resolves free-text locations to coordinates through the place table, which
+ * is seeded from a bundled list of Nepali place names. Events get their
+ * coordinates and geohash when they are created or their location changes;
+ * events from before the gazetteer are backfilled on startup.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class GazetteerService {
+
+    private static final String SEED_FILE = "gazetteer/nepal-places.csv";
+
+    private final PlaceRepository placeRepository;
+    private final EventRepository eventRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    // Longest names first, so "Annapurna Base Camp" wins over "Annapurna"
+    private volatile List<Place> places = List.of();
+    private volatile Map<String, Place> placesByName = Map.of();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (placeRepository.count() == 0) {
+                List<Place> seed = readSeed();
+                placeRepository.saveAll(seed);
+                log.info("Seeded gazetteer with {} places", seed.size());
+            }
+        });
+        load(placeRepository.findAll());
+        transactionTemplate.executeWithoutResult(status -> backfillEvents());
+    }
+
+    /**
+     * Finds the place a location text refers to: the whole text, then each
+     * comma-separated part, then the longest known name it contains.
+     */
+    public Optional<Place> resolve(String text) {
+        String key = key(text);
+        if (key.isEmpty()) {
+            return Optional.empty();
+        }
+        Place exact = placesByName.get(key);
+        if (exact != null) {
+            return Optional.of(exact);
+        }
+        for (String part : text.split("[,/()]")) {
+            Place match = placesByName.get(key(part));
+            if (match != null) {
+                return Optional.of(match);
+            }
+        }
+        String padded = " " + key + " ";
+        return places.stream()
+                .filter(place -> padded.contains(" " + place.getNormalizedName() + " "))
+                .findFirst();
+    }
+
+    /**
+     * Sets the event's coordinates from its location, or clears them when the
+     * location is not in the gazetteer.
+     */
+    public void locate(Event event) {
+        Optional<Place> place = resolve(event.getLocation());
+        event.setLatitude(place.map(Place::getLatitude).orElse(null));
+        event.setLongitude(place.map(Place::getLongitude).orElse(null));
+        event.setGeohash(place.map(p -> GeoHash.encode(p.getLatitude(), p.getLongitude(), GeoHash.STORED_PRECISION))
+                .orElse(null));
+    }
+
+    private void backfillEvents() {
+        int located = 0;
+        for (EventLocationRecord event : eventRepository.findUnlocatedEvents()) {
+            Optional<Place> place = resolve(event.location());
+            if (place.isPresent()) {
+                Place p = place.get();
+                eventRepository.updateCoordinates(event.id(), p.getLatitude(), p.getLongitude(),
+                        GeoHash.encode(p.getLatitude(), p.getLongitude(), GeoHash.STORED_PRECISION));
+                located++;
+            }
+        }
+        if (located > 0) {
+            log.info("Placed {} existing events using the gazetteer", located);
+        }
+    }
+
+    private void load(List<Place> all) {
+        Map<String, Place> byName = new HashMap<>();
+        all.forEach(place -> byName.put(place.getNormalizedName(), place));
+        List<Place> sorted = new ArrayList<>(all);
+        sorted.sort(Comparator.comparingInt((Place place) -> place.getNormalizedName().length()).reversed());
+        placesByName = byName;
+        places = sorted;
+    }
+
+    private List<Place> readSeed() {
+        Map<String, Place> seed = new HashMap<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new ClassPathResource(SEED_FILE).getInputStream(), StandardCharsets.UTF_8))) {
+            reader.readLine(); // header
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] columns = line.split(",");
+                if (columns.length != 3) {
+                    continue;
+                }
+                Place place = new Place();
+                place.setName(columns[0].trim());
+                place.setNormalizedName(key(columns[0]));
+                place.setLatitude(Double.parseDouble(columns[1].trim()));
+                place.setLongitude(Double.parseDouble(columns[2].trim()));
+                seed.putIfAbsent(place.getNormalizedName(), place);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read " + SEED_FILE, e);
+        }
+        return new ArrayList<>(seed.values());
+    }
+
+    // Case, accents and punctuation do not matter when matching names
+    static String key(String text) {
+        return SuggestionIndex.normalize(text).replaceAll("[^\\p{L}\\p{N}]+", " ").trim();
+    }
+}
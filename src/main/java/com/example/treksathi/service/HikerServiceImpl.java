@@ -9,6 +9,7 @@ import com.example.treksathi.model.*;
 import com.example.treksathi.repository.*;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
@@ -28,26 +29,65 @@ public class HikerServiceImpl implements IHikerService {
     private final PaymentRepository paymentsRepository;
     private final ReviewRepository reviewsRepository;
     private final ChatMessageRepository chatMessageRepository;
+    private final DashboardComposer dashboardComposer;
 
+    // The user is resolved once here; every section then runs in its own read-only transaction
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public HikerDashboardDTO getDashboardData(String email) {
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        User user = getUserByEmail(email);
+
+        DashboardComposer.Composition composition = dashboardComposer.begin("hiker");
+        var userInfo = composition.fork("userInfo", () -> buildUserInfo(user), UserInfoDTO.builder()
+                .name(user.getName())
+                .email(user.getEmail())
+                .avatar(user.getProfileImage())
+                .build());
+        var stats = composition.fork("stats", () -> buildStats(user), HikerStatsDTO.builder().build());
+        var upcomingAdventures = composition.fork("upcomingAdventures", () -> buildUpcomingAdventures(user),
+                List.<UpcomingAdventureDTO>of());
+        var recommendedEvents = composition.fork("recommendedEvents", () -> buildRecommendedEvents(user),
+                List.<RecommendedEventDTO>of());
+        var recentActivities = composition.fork("recentActivities", () -> buildRecentActivity(user),
+                List.<RecentActivityDTO>of());
+        var quickActions = composition.fork("quickActions", () -> buildQuickActions(user),
+                List.<QuickActionDTO>of());
 
         return HikerDashboardDTO.builder()
-                .userInfo(buildUserInfo(user))
-                .stats(getStats(email))
-                .upcomingAdventures(getUpcomingAdventures(email))
-                .recommendedEvents(getRecommendedEvents(email))
-                .recentActivities(getRecentActivity(email))
-                .quickActions(buildQuickActions(user))
+                .userInfo(composition.join(userInfo))
+                .stats(composition.join(stats))
+                .upcomingAdventures(composition.join(upcomingAdventures))
+                .recommendedEvents(composition.join(recommendedEvents))
+                .recentActivities(composition.join(recentActivities))
+                .quickActions(composition.join(quickActions))
                 .build();
     }
 
     @Override
     public HikerStatsDTO getStats(String email) {
-        User user = getUserByEmail(email);
+        return buildStats(getUserByEmail(email));
+    }
+
+    @Override
+    public List<UpcomingAdventureDTO> getUpcomingAdventures(String email) {
+        return buildUpcomingAdventures(getUserByEmail(email));
+    }
+
+    @Override
+    public List<RecommendedEventDTO> getRecommendedEvents(String email) {
+        return buildRecommendedEvents(getUserByEmail(email));
+    }
+
+    @Override
+    public List<RecentActivityDTO> getRecentActivity(String email) {
+        return buildRecentActivity(getUserByEmail(email));
+    }
 
+    // ============================================
+    // Dashboard Sections
+    // ============================================
+
+    private HikerStatsDTO buildStats(User user) {
         List<EventRegistration> registrations = eventRegistrationRepository
                 .findByUserIdOrderByRegistrationDateDesc(user.getId());
 
@@ -77,10 +117,7 @@ public class HikerServiceImpl implements IHikerService {
                 .build();
     }
 
-    @Override
-    public List<UpcomingAdventureDTO> getUpcomingAdventures(String email) {
-        User user = getUserByEmail(email);
-
+    private List<UpcomingAdventureDTO> buildUpcomingAdventures(User user) {
         List<EventRegistration> upcomingRegistrations = eventRegistrationRepository
                 .findByUserIdAndEventDateAfterOrderByEventDateAsc(
                         user.getId(),
@@ -93,10 +130,7 @@ public class HikerServiceImpl implements IHikerService {
                 .collect(Collectors.toList());
     }
 
-    @Override
-    public List<RecommendedEventDTO> getRecommendedEvents(String email) {
-        User user = getUserByEmail(email);
-
+    private List<RecommendedEventDTO> buildRecommendedEvents(User user) {
         List<EventRegistration> userRegistrations = eventRegistrationRepository
                 .findByUserId(user.getId()).orElseThrow();
 
@@ -127,9 +161,7 @@ public class HikerServiceImpl implements IHikerService {
                 .collect(Collectors.toList());
     }
 
-    @Override
-    public List<RecentActivityDTO> getRecentActivity(String email) {
-        User user = getUserByEmail(email);
+    private List<RecentActivityDTO> buildRecentActivity(User user) {
         List<RecentActivityDTO> activities = new ArrayList<>();
 
         // Recent Registrations
@@ -0,0 +1,145 @@
+package com.example.treksathi.service;
+
+import com.example.treksathi.record.OrganizerBalanceTotalsRecord;
+import com.example.treksathi.repository.OrganizerBalanceRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the organizer_balance ledger in step with payment status changes and
+ * periodically checks it against the raw payments.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OrganizerBalanceService {
+
+    private static final double AMOUNT_TOLERANCE = 0.005;
+
+    private final OrganizerBalanceRepository balanceRepository;
+
+    /**
+     * Moves net amounts between the pending, released and refunded totals, and
+     * counts every payment whatever its status. {@code before} is null for
+     * newly created payments; a snapshot may carry the summed values of
+     * {@code payments} payments.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void applyTransition(RevenueRollupService.Snapshot before, RevenueRollupService.Snapshot after,
+            long payments) {
+        if (before == null) {
+            apply(totalsOf(after, payments, 1));
+        } else if (before.organizerId() != after.organizerId()) {
+            apply(totalsOf(before, payments, -1));
+            apply(totalsOf(after, payments, 1));
+        } else {
+            apply(plus(totalsOf(before, payments, -1), totalsOf(after, payments, 1)));
+        }
+    }
+
+    /**
+     * Compares every ledger row with totals recomputed from payments and
+     * repairs the rows that drifted. Returns the number of repaired organizers.
+     */
+    @Scheduled(cron = "${payments.balance.reconcile-cron:0 30 3 * * *}")
+    @Transactional
+    public int reconcile() {
+        Map<Integer, OrganizerBalanceTotalsRecord> expected = balanceRepository.computeTotalsFromPayments().stream()
+                .collect(Collectors.toMap(OrganizerBalanceTotalsRecord::organizerId, Function.identity()));
+        Map<Integer, OrganizerBalanceTotalsRecord> actual = balanceRepository.findAllTotals().stream()
+                .collect(Collectors.toMap(OrganizerBalanceTotalsRecord::organizerId, Function.identity()));
+
+        Set<Integer> organizerIds = new HashSet<>(expected.keySet());
+        organizerIds.addAll(actual.keySet());
+
+        int repaired = 0;
+        for (Integer organizerId : organizerIds) {
+            OrganizerBalanceTotalsRecord want = expected.get(organizerId);
+            OrganizerBalanceTotalsRecord have = actual.get(organizerId);
+            if (matches(want, have)) {
+                continue;
+            }
+            log.warn("Organizer balance drift for organizer {}: ledger={}, payments={}", organizerId, have, want);
+            balanceRepository.recomputeFromPayments(organizerId);
+            repaired++;
+        }
+
+        log.info("Reconciled organizer balances: {} organizers checked, {} repaired", organizerIds.size(), repaired);
+        return repaired;
+    }
+
+    // Rows written before payments were counted carry a zero count until reconciled
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillIfEmpty() {
+        if (balanceRepository.count() == 0 || balanceRepository.existsByPaymentCount(0)) {
+            log.info("Organizer balance ledger is empty or incomplete, backfilling from payments");
+            reconcile();
+        }
+    }
+
+    private void apply(OrganizerBalanceTotalsRecord delta) {
+        if (isZero(delta)) {
+            return;
+        }
+        balanceRepository.applyDelta(delta.organizerId(),
+                delta.pendingAmount(), delta.pendingCount(),
+                delta.releasedAmount(), delta.releasedCount(),
+                delta.refundedAmount(), delta.refundedCount(),
+                delta.paymentCount());
+    }
+
+    private static OrganizerBalanceTotalsRecord totalsOf(RevenueRollupService.Snapshot s, long payments, int sign) {
+        double amount = sign * s.netAmount();
+        long count = sign * payments;
+        return switch (s.status()) {
+            case SUCCESS, COMPLETED -> new OrganizerBalanceTotalsRecord(s.organizerId(), amount, count, 0, 0, 0, 0, count);
+            case RELEASED -> new OrganizerBalanceTotalsRecord(s.organizerId(), 0, 0, amount, count, 0, 0, count);
+            case REFUNDED -> new OrganizerBalanceTotalsRecord(s.organizerId(), 0, 0, 0, 0, amount, count, count);
+            default -> new OrganizerBalanceTotalsRecord(s.organizerId(), 0, 0, 0, 0, 0, 0, count);
+        };
+    }
+
+    private static OrganizerBalanceTotalsRecord plus(OrganizerBalanceTotalsRecord a, OrganizerBalanceTotalsRecord b) {
+        return new OrganizerBalanceTotalsRecord(a.organizerId(),
+                a.pendingAmount() + b.pendingAmount(), a.pendingCount() + b.pendingCount(),
+                a.releasedAmount() + b.releasedAmount(), a.releasedCount() + b.releasedCount(),
+                a.refundedAmount() + b.refundedAmount(), a.refundedCount() + b.refundedCount(),
+                a.paymentCount() + b.paymentCount());
+    }
+
+    private static boolean isZero(OrganizerBalanceTotalsRecord t) {
+        return t.pendingCount() == 0 && t.releasedCount() == 0 && t.refundedCount() == 0 && t.paymentCount() == 0
+                && Math.abs(t.pendingAmount()) < AMOUNT_TOLERANCE
+                && Math.abs(t.releasedAmount()) < AMOUNT_TOLERANCE
+                && Math.abs(t.refundedAmount()) < AMOUNT_TOLERANCE;
+    }
+
+    // A missing row on either side is the same as an all-zero row
+    private static boolean matches(OrganizerBalanceTotalsRecord want, OrganizerBalanceTotalsRecord have) {
+        if (want == null || have == null) {
+            return isZero(want != null ? want : have);
+        }
+        return isZero(plus(want, negate(have)));
+    }
+
+    private static OrganizerBalanceTotalsRecord negate(OrganizerBalanceTotalsRecord t) {
+        return new OrganizerBalanceTotalsRecord(t.organizerId(),
+                -t.pendingAmount(), -t.pendingCount(),
+                -t.releasedAmount(), -t.releasedCount(),
+                -t.refundedAmount(), -t.refundedCount(),
+                -t.paymentCount());
+    }
+}
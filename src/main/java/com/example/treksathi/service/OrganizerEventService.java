@@ -6,6 +6,7 @@ import com.example.treksathi.dto.events.*;
 import com.example.treksathi.enums.DifficultyLevel;
 import com.example.treksathi.enums.EventStatus;
 import com.example.treksathi.enums.NotificationType;
+import com.example.treksathi.event.EventChangedEvent;
 import com.example.treksathi.exception.*;
 import com.example.treksathi.mapper.EventResponseMapper;
 import com.example.treksathi.model.Event;
@@ -18,6 +19,7 @@ import com.example.treksathi.repository.EventRepository;
 import com.example.treksathi.repository.OrganizerRepository;
 import com.example.treksathi.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -38,8 +40,9 @@ public class OrganizerEventService implements IOrganizerEventService {
     private final OrganizerRepository organizerRepository;
     private final EventResponseMapper eventResponseMapper;
     private final IEmailSendService emailSendService;
-    private final VectorService vectorService;
     private final NotificationService notificationService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final GazetteerService gazetteerService;
     private final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
     @Transactional
@@ -54,13 +57,15 @@ public class OrganizerEventService implements IOrganizerEventService {
 
         // Map DTO to Entity
         mapDtoToEntity(eventCreateDTO, event);
+        gazetteerService.locate(event);
 
         event.setStatus(EventStatus.ACTIVE);
         event.setCreatedAt(LocalDateTime.now());
         event.setUpdatedAt(LocalDateTime.now());
 
         Event savedEvent = eventRepository.save(event);
-        vectorService.addToVectorStore(savedEvent);
+        eventPublisher.publishEvent(new EventChangedEvent(savedEvent.getId(), savedEvent.getStatus(),
+                EventChangedEvent.Change.CREATED));
         notificationService.createAndSendNotification(
                 savedEvent.getOrganizer().getUser().getId(),
                 new CreateNotificationRequest(
@@ -149,8 +154,9 @@ public class OrganizerEventService implements IOrganizerEventService {
         Event event = eventRepository.findById(id)
                 .orElseThrow(() -> new EventNotFoundException("Event not found with id: " + id));
         event.setStatus(EventStatus.DELETED);
-        vectorService.deleteFromVectorStore(event.getId());
         eventRepository.save(event);
+        eventPublisher.publishEvent(new EventChangedEvent(event.getId(), event.getStatus(),
+                EventChangedEvent.Change.STATUS_CHANGED));
     }
 
     //     UPDATE - Update an existing event
@@ -161,16 +167,17 @@ public class OrganizerEventService implements IOrganizerEventService {
                 .orElseThrow(() -> new EventNotFoundException("Event not found with id: " + id));
         User user = getAuthenticatedOrganizer();
         Organizer authenticatedOrganizer = organizerRepository.findByUser(user);
-        vectorService.deleteFromVectorStore(event.getId());
         if (event.getOrganizer().getId() != authenticatedOrganizer.getId()) {
             throw new UnauthorizedException("You are not authorized to update this event");
         }
 
         mapDtoToEntity(eventCreateDTO, event);
+        gazetteerService.locate(event);
         event.setUpdatedAt(LocalDateTime.now());
 
         Event updatedEvent = eventRepository.save(event);
-        vectorService.addToVectorStore(updatedEvent);
+        eventPublisher.publishEvent(new EventChangedEvent(updatedEvent.getId(), updatedEvent.getStatus(),
+                EventChangedEvent.Change.UPDATED));
         notificationService.createAndSendNotification(
                 event.getOrganizer().getUser().getId(),
                 new CreateNotificationRequest(
@@ -206,14 +213,14 @@ public class OrganizerEventService implements IOrganizerEventService {
     public EventResponseDTO updateEventStatus(int id, String status) {
         Event event = eventRepository.findById(id)
                 .orElseThrow(() -> new EventNotFoundException("Event not found with id: " + id));
-        vectorService.deleteFromVectorStore(event.getId());
         try {
             EventStatus eventStatus = EventStatus.valueOf(status.toUpperCase());
             event.setStatus(eventStatus);
             event.setUpdatedAt(LocalDateTime.now());
 
             Event updatedEvent = eventRepository.save(event);
-            vectorService.addToVectorStore(updatedEvent);
+            eventPublisher.publishEvent(new EventChangedEvent(updatedEvent.getId(), updatedEvent.getStatus(),
+                    EventChangedEvent.Change.STATUS_CHANGED));
             return mapEntityToDto(updatedEvent);
         } catch (IllegalArgumentException e) {
             throw new InvalidCredentialsException("Invalid status: " + status + ". Valid statuses are: PENDING, APPROVED, REJECTED, CANCELLED, COMPLETED");
@@ -276,6 +283,8 @@ public class OrganizerEventService implements IOrganizerEventService {
         }
 
         eventRepository.delete(event);
+        eventPublisher.publishEvent(new EventChangedEvent(event.getId(), event.getStatus(),
+                EventChangedEvent.Change.DELETED));
     }
 
     private User getAuthenticatedOrganizer() {
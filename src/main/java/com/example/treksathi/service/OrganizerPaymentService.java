@@ -2,6 +2,7 @@ package com.example.treksathi.service;
 
 import com.example.treksathi.Interfaces.IOrganizerPaymentService;
 import com.example.treksathi.dto.organizer.*;
+import com.example.treksathi.dto.pagination.CursorPageDTO;
 import com.example.treksathi.enums.EventStatus;
 import com.example.treksathi.enums.PaymentMethod;
 import com.example.treksathi.enums.PaymentStatus;
@@ -12,18 +13,25 @@ import com.example.treksathi.model.Organizer;
 import com.example.treksathi.model.Payments;
 import com.example.treksathi.repository.EventRepository;
 import com.example.treksathi.repository.OrganizerRepository;
+import com.example.treksathi.record.EventMonthCountRecord;
+import com.example.treksathi.record.RevenueMonthRecord;
 import com.example.treksathi.repository.PaymentRepository;
+import com.example.treksathi.repository.RevenueDailyRollupRepository;
+import com.example.treksathi.util.SeekCursor;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.criteria.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 @Service
@@ -36,9 +44,21 @@ public class OrganizerPaymentService implements IOrganizerPaymentService {
     private final EventRepository eventRepository;
     private final OrganizerRepository organizerRepository;
     private final EntityManager entityManager;
+    private final RevenueDailyRollupRepository revenueRollupRepository;
+    private final CsvExportService csvExportService;
+
+    private final Map<String, CachedCount> paymentCounts = new ConcurrentHashMap<>();
 
     private static final double PLATFORM_FEE_PERCENTAGE = 10.0;
+    private static final long COUNT_CACHE_TTL_MS = 60_000;
+    private static final int COUNT_CACHE_MAX_ENTRIES = 1_000;
+    private static final int RECENT_PAYMENTS_LIMIT = 5;
     private static final String CURRENCY = "$";
+    private static final List<PaymentStatus> REVENUE_STATUSES = List.of(
+            PaymentStatus.SUCCESS, PaymentStatus.RELEASED, PaymentStatus.COMPLETED);
+
+    private record CachedCount(long value, long expiresAt) {
+    }
 
     @Override
     public PaymentDashboardDTO getPaymentDashboard(Integer userId, PaymentFilterDTO filters) {
@@ -51,30 +71,23 @@ public class OrganizerPaymentService implements IOrganizerPaymentService {
 
         log.info("Building dashboard for organizer: {}, filters: {}", userId, filters);
 
-        // Get all payments for this organizer with filters (unpaginated for
-        // summary/charts)
+        // One ordered scan of the filtered payments (registration, event and participants
+        // fetched with it) feeds the summary, the per-event breakdown and the recent list
         List<Payments> allPayments = getFilteredPaymentsList(organizerEntityId, filters);
 
         log.info("Found {} filtered payments", allPayments.size());
 
-        // Build summary
-        PaymentSummaryDTO summary = buildPaymentSummary(allPayments, filters);
+        DashboardAccumulator accumulator = new DashboardAccumulator();
+        allPayments.forEach(accumulator::add);
 
-        // Build event payments
-        List<EventPaymentDTO> eventPayments = buildEventPayments(userId, filters);
-
-        // Build participant payments (Recent 5 only for dashboard)
-        List<ParticipantPaymentDTO> recentPayments = buildParticipantPayments(allPayments).stream()
-                .sorted((a, b) -> b.getPaymentDate().compareTo(a.getPaymentDate()))
-                .limit(5)
-                .collect(Collectors.toList());
+        List<ParticipantPaymentDTO> recentPayments = accumulator.recentPayments();
 
         // Build revenue chart (last 6 months)
         List<MonthlyRevenueDTO> revenueChart = buildRevenueChart(organizerEntityId, filters);
 
         return PaymentDashboardDTO.builder()
-                .summary(summary)
-                .events(eventPayments)
+                .summary(accumulator.summary())
+                .events(accumulator.eventPayments())
                 .participantPayments(recentPayments) // Renaming/Using recentPayments for dashboard view
                 .recentPayments(recentPayments)
                 .revenueChart(revenueChart)
@@ -100,56 +113,38 @@ public class OrganizerPaymentService implements IOrganizerPaymentService {
     }
 
     @Override
-    public java.io.ByteArrayInputStream exportPaymentsToCSV(Integer userId) {
+    public StreamingResponseBody exportPaymentsToCSV(Integer userId, PaymentFilterDTO filters) {
         Organizer organizer = organizerRepository.findByUserId(userId)
                 .orElseThrow(() -> new NotFoundException("Organizer not found with id: " + userId));
-        Integer organizerEntityId = organizer.getId();
-
-        // Get all payments for export
-        List<Payments> payments = getFilteredPaymentsList(organizerEntityId, new PaymentFilterDTO()); // No filters or
-                                                                                                      // default ?
-
-        try (java.io.ByteArrayOutputStream out = new java.io.ByteArrayOutputStream();
-                java.io.PrintWriter writer = new java.io.PrintWriter(out)) {
-
-            // Header
-            writer.println("Transaction ID, Event, Participant, Email, Amount, Status, Method, Date");
-
-            for (Payments payment : payments) {
-                String eventTitle = payment.getEventRegistration().getEvent().getTitle();
-                String participant = payment.getEventRegistration().getContactName() != null
-                        ? payment.getEventRegistration().getContactName()
-                        : payment.getEventRegistration().getUser().getName();
-                String email = payment.getEventRegistration().getEmail() != null
-                        ? payment.getEventRegistration().getEmail()
-                        : payment.getEventRegistration().getUser().getEmail();
-
-                writer.printf("%s, %s, %s, %s, %.2f, %s, %s, %s\n",
-                        payment.getTransactionUuid(),
-                        escapeSpecialCharacters(eventTitle),
-                        escapeSpecialCharacters(participant),
-                        escapeSpecialCharacters(email),
-                        payment.getAmount() != null ? payment.getAmount() : 0.0,
-                        mapPaymentStatusToString(payment.getPaymentStatus()),
-                        mapPaymentMethodToString(payment.getMethod()),
-                        payment.getTransactionDate());
-            }
-            writer.flush();
-            return new java.io.ByteArrayInputStream(out.toByteArray());
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to export data to CSV: " + e.getMessage());
-        }
-    }
-
-    private String escapeSpecialCharacters(String data) {
-        if (data == null)
-            return "";
-        String escapedData = data.replaceAll("\\R", " ");
-        if (data.contains(",") || data.contains("\"") || data.contains("'")) {
-            data = data.replace("\"", "\"\"");
-            escapedData = "\"" + data + "\"";
-        }
-        return escapedData;
+        int organizerEntityId = organizer.getId();
+
+        PaymentStatus status = filters != null && filters.getStatus() != null && !"ALL".equals(filters.getStatus())
+                ? mapStatusToEnum(filters.getStatus())
+                : null;
+        PaymentFilterDTO.DateRange dateRange = filters != null ? filters.getDateRange() : null;
+        LocalDateTime fromDate = dateRange != null && dateRange.getFrom() != null
+                ? dateRange.getFrom().atStartOfDay()
+                : null;
+        LocalDateTime toDate = dateRange != null && dateRange.getTo() != null
+                ? dateRange.getTo().atTime(23, 59, 59)
+                : null;
+
+        // Rows are read and written after the controller returns, inside the exporter's own transaction
+        return out -> csvExportService.write(
+                () -> paymentRepository.streamExportRowsByOrganizerId(organizerEntityId, status, fromDate, toDate),
+                "Transaction ID, Event, Participant, Email, Amount, Status, Method, Date",
+                row -> String.format("%s, %s, %s, %s, %.2f, %s, %s, %s",
+                        row.transactionUuid(),
+                        CsvExportService.escapeSpecialCharacters(row.eventTitle()),
+                        CsvExportService.escapeSpecialCharacters(
+                                row.contactName() != null ? row.contactName() : row.userName()),
+                        CsvExportService.escapeSpecialCharacters(
+                                row.contactEmail() != null ? row.contactEmail() : row.userEmail()),
+                        row.amount() != null ? row.amount() : 0.0,
+                        mapPaymentStatusToString(row.status()),
+                        mapPaymentMethodToString(row.method()),
+                        row.transactionDate()),
+                out);
     }
 
     private ParticipantPaymentDTO mapToParticipantPaymentDTO(Payments payment) {
@@ -179,36 +174,102 @@ public class OrganizerPaymentService implements IOrganizerPaymentService {
 
     private org.springframework.data.domain.Page<Payments> getFilteredPaymentsPage(Integer organizerId,
             PaymentFilterDTO filters, org.springframework.data.domain.Pageable pageable) {
+        // Paginate over IDs only; fetch-joining the participant collection would make
+        // Hibernate load every matching row and slice the page in memory
+        List<Object[]> keys = selectPaymentKeys(organizerId, filters, null, (int) pageable.getOffset(),
+                pageable.getPageSize());
+        List<Payments> result = fetchPaymentsInOrder(keys);
+
+        return new org.springframework.data.domain.PageImpl<>(result, pageable, countPayments(organizerId, filters));
+    }
+
+    @Override
+    public CursorPageDTO<ParticipantPaymentDTO> getPaymentsByCursor(Integer userId, PaymentFilterDTO filters,
+            String cursor, int size, boolean includeCount) {
+        Organizer organizer = organizerRepository.findByUserId(userId)
+                .orElseThrow(() -> new NotFoundException("Organizer not found with id: " + userId));
+        Integer organizerEntityId = organizer.getId();
+
+        // One extra key tells us whether another page exists without a count query
+        List<Object[]> keys = selectPaymentKeys(organizerEntityId, filters, SeekCursor.decode(cursor), 0, size + 1);
+        boolean hasNext = keys.size() > size;
+        if (hasNext) {
+            keys = keys.subList(0, size);
+        }
+
+        List<ParticipantPaymentDTO> data = fetchPaymentsInOrder(keys).stream()
+                .map(this::mapToParticipantPaymentDTO)
+                .collect(Collectors.toList());
+        Object[] last = hasNext ? keys.get(keys.size() - 1) : null;
+        String nextCursor = last != null ? SeekCursor.of((LocalDateTime) last[1], (Integer) last[0]).encode() : null;
+        Long total = includeCount ? countPayments(organizerEntityId, filters) : null;
+
+        return new CursorPageDTO<>(data, nextCursor, hasNext, size, total);
+    }
+
+    /**
+     * Returns [id, transactionDate] pairs of one page, newest first. When a cursor
+     * is given the page starts strictly after it, so the cost does not grow with depth.
+     */
+    private List<Object[]> selectPaymentKeys(Integer organizerId, PaymentFilterDTO filters, SeekCursor after,
+            int offset, int limit) {
         CriteriaBuilder cb = entityManager.getCriteriaBuilder();
-        CriteriaQuery<Payments> cq = cb.createQuery(Payments.class);
+        CriteriaQuery<Object[]> cq = cb.createQuery(Object[].class);
         Root<Payments> payment = cq.from(Payments.class);
 
-        // Important: fetch relations to avoid N+1
-        Fetch<Payments, EventRegistration> regFetch = payment.fetch("eventRegistration", JoinType.INNER);
-        regFetch.fetch("event", JoinType.INNER);
-        regFetch.fetch("user", JoinType.LEFT);
-        regFetch.fetch("eventParticipants", JoinType.LEFT);
-
-        // Predicates
         List<Predicate> predicates = buildPredicates(cb, payment, organizerId, filters);
+        if (after != null) {
+            Path<LocalDateTime> date = payment.get("transactionDate");
+            Path<Integer> id = payment.get("id");
+            LocalDateTime afterDate = after.dateTime();
+            predicates.add(cb.or(
+                    cb.lessThan(date, afterDate),
+                    cb.and(cb.equal(date, afterDate), cb.lessThan(id, after.id()))));
+        }
 
-        cq.where(predicates.toArray(new Predicate[0]));
-        cq.orderBy(cb.desc(payment.get("transactionDate")));
+        cq.multiselect(payment.get("id"), payment.get("transactionDate"))
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.desc(payment.get("transactionDate")), cb.desc(payment.get("id")));
+
+        return entityManager.createQuery(cq)
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultList();
+    }
 
-        // Count query
+    private List<Payments> fetchPaymentsInOrder(List<Object[]> keys) {
+        if (keys.isEmpty()) {
+            return List.of();
+        }
+        List<Integer> ids = keys.stream().map(key -> (Integer) key[0]).collect(Collectors.toList());
+        Map<Integer, Payments> byId = paymentRepository.findWithRegistrationByIdIn(ids).stream()
+                .collect(Collectors.toMap(Payments::getId, p -> p, (a, b) -> a));
+
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    private long countPayments(Integer organizerId, PaymentFilterDTO filters) {
+        String key = organizerId + ":" + filters;
+        CachedCount cached = paymentCounts.get(key);
+        if (cached != null && cached.expiresAt() > System.currentTimeMillis()) {
+            return cached.value();
+        }
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
         CriteriaQuery<Long> countQuery = cb.createQuery(Long.class);
         Root<Payments> countRoot = countQuery.from(Payments.class);
-        List<Predicate> countPredicates = buildPredicates(cb, countRoot, organizerId, filters); // Rebuild predicates
-                                                                                                // for count root
+        List<Predicate> countPredicates = buildPredicates(cb, countRoot, organizerId, filters);
         countQuery.select(cb.count(countRoot)).where(countPredicates.toArray(new Predicate[0]));
-        Long count = entityManager.createQuery(countQuery).getSingleResult();
+        long count = entityManager.createQuery(countQuery).getSingleResult();
 
-        List<Payments> result = entityManager.createQuery(cq)
-                .setFirstResult((int) pageable.getOffset())
-                .setMaxResults(pageable.getPageSize())
-                .getResultList();
-
-        return new org.springframework.data.domain.PageImpl<>(result, pageable, count);
+        if (paymentCounts.size() >= COUNT_CACHE_MAX_ENTRIES) {
+            paymentCounts.clear();
+        }
+        paymentCounts.put(key, new CachedCount(count, System.currentTimeMillis() + COUNT_CACHE_TTL_MS));
+        return count;
     }
 
     private List<Payments> getFilteredPaymentsList(Integer organizerId, PaymentFilterDTO filters) {
@@ -300,188 +361,118 @@ public class OrganizerPaymentService implements IOrganizerPaymentService {
         return predicates;
     }
 
-    private PaymentSummaryDTO buildPaymentSummary(List<Payments> payments, PaymentFilterDTO filters) {
-        double totalIncome = payments.stream()
-                .filter(isRevenueStatus())
-                .mapToDouble(Payments::getAmount)
-                .sum();
-
-        long completedPayments = payments.stream()
-                .filter(isRevenueStatus())
-                .count();
-
-        long pendingPayments = payments.stream()
-                .filter(p -> p.getPaymentStatus() == PaymentStatus.PENDING)
-                .count();
-
-        long refundedPayments = payments.stream()
-                .filter(p -> p.getPaymentStatus() == PaymentStatus.DECLINE ||
-                        p.getPaymentStatus() == PaymentStatus.CANCEL ||
-                        p.getPaymentStatus() == PaymentStatus.REFUNDED ||
-                        p.getPaymentStatus() == PaymentStatus.FAILED)
-                .count();
-
-        // Calculate monthly growth
-        double monthlyGrowth = calculateMonthlyGrowth(payments);
-
-        // Calculate total participants
-        int totalParticipants = payments.stream()
-                .map(p -> p.getEventRegistration().getEventParticipants())
-                .filter(Objects::nonNull)
-                .mapToInt(List::size)
-                .sum();
-
-        // Calculate average payment
-        double averagePayment = completedPayments > 0 ? totalIncome / completedPayments : 0.0;
-
-        // Calculate platform fee from verified payments or estimate
-        // If we have fee saved, sum it up, otherwise estimate
-        // Ideally we should sum p.getFee() if available
-        double totalPlatformFee = payments.stream()
-                .filter(isRevenueStatus())
-                .mapToDouble(p -> p.getFee() != null ? p.getFee() : p.getAmount() * 0.10)
-                .sum();
-
-        return PaymentSummaryDTO.builder()
-                .totalIncome(totalIncome)
-                .completedPayments((int) completedPayments)
-                .pendingPayments((int) pendingPayments)
-                .refundedPayments((int) refundedPayments)
-                .monthlyGrowth(monthlyGrowth)
-                .currency(CURRENCY)
-                .totalParticipants(totalParticipants)
-                .averagePayment(averagePayment)
-                .platformFee((int) totalPlatformFee) // DTO expects int? PlatformFee usually percentage or total? DTO
-                                                     // says int.. likely percentage.
-                // Wait, frontend shows percentage usually. Checking previous code:
-                // .platformFee((int) PLATFORM_FEE_PERCENTAGE)
-                // If it expects percentage, we keep it as constant.
-                .platformFee((int) PLATFORM_FEE_PERCENTAGE)
-                .build();
-    }
+    /**
+     * Folds the filtered payments into every dashboard section in one pass. The
+     * payments arrive newest first, so the first five seen are the recent list.
+     */
+    private class DashboardAccumulator {
+
+        private final YearMonth currentMonth = YearMonth.now();
+        private final YearMonth previousMonth = currentMonth.minusMonths(1);
+
+        private double totalIncome;
+        private double currentMonthRevenue;
+        private double previousMonthRevenue;
+        private int completedPayments;
+        private int pendingPayments;
+        private int refundedPayments;
+        private int totalParticipants;
+
+        private final Map<Integer, EventTotals> events = new LinkedHashMap<>();
+        private final List<ParticipantPaymentDTO> recentPayments = new ArrayList<>(RECENT_PAYMENTS_LIMIT);
+
+        private class EventTotals {
+            private final Event event;
+            private int participants;
+            private int paidRegistrations;
+            private double revenue;
+
+            private EventTotals(Event event) {
+                this.event = event;
+            }
+        }
 
-    // Helper to identify revenue generating statuses
-    private java.util.function.Predicate<Payments> isRevenueStatus() {
-        return p -> p.getPaymentStatus() == PaymentStatus.SUCCESS ||
-                p.getPaymentStatus() == PaymentStatus.RELEASED ||
-                p.getPaymentStatus() == PaymentStatus.COMPLETED;
-    }
+        void add(Payments payment) {
+            EventRegistration registration = payment.getEventRegistration();
+            PaymentStatus status = payment.getPaymentStatus();
+            double amount = payment.getAmount() != null ? payment.getAmount() : 0.0;
+            int participants = registration.getEventParticipants() != null
+                    ? registration.getEventParticipants().size()
+                    : 0;
+
+            Event event = registration.getEvent();
+            EventTotals eventTotals = events.computeIfAbsent(event.getId(), id -> new EventTotals(event));
+            eventTotals.participants += participants;
+            totalParticipants += participants;
+
+            if (REVENUE_STATUSES.contains(status)) {
+                totalIncome += amount;
+                completedPayments++;
+                eventTotals.paidRegistrations++;
+                eventTotals.revenue += amount;
+
+                YearMonth month = YearMonth.from(payment.getTransactionDate());
+                if (month.equals(currentMonth)) {
+                    currentMonthRevenue += amount;
+                } else if (month.equals(previousMonth)) {
+                    previousMonthRevenue += amount;
+                }
+            } else if (status == PaymentStatus.PENDING) {
+                pendingPayments++;
+            } else if (status == PaymentStatus.DECLINE || status == PaymentStatus.CANCEL
+                    || status == PaymentStatus.REFUNDED || status == PaymentStatus.FAILED) {
+                refundedPayments++;
+            }
 
-    private double calculateMonthlyGrowth(List<Payments> payments) {
-        LocalDate now = LocalDate.now();
-        LocalDate lastMonth = now.minusMonths(1);
-
-        double currentMonthRevenue = payments.stream()
-                .filter(isRevenueStatus())
-                .filter(p -> {
-                    LocalDate paymentDate = p.getTransactionDate().toLocalDate();
-                    return paymentDate.getMonth() == now.getMonth() &&
-                            paymentDate.getYear() == now.getYear();
-                })
-                .mapToDouble(Payments::getAmount)
-                .sum();
-
-        double lastMonthRevenue = payments.stream()
-                .filter(isRevenueStatus())
-                .filter(p -> {
-                    LocalDate paymentDate = p.getTransactionDate().toLocalDate();
-                    return paymentDate.getMonth() == lastMonth.getMonth() &&
-                            paymentDate.getYear() == lastMonth.getYear();
-                })
-                .mapToDouble(Payments::getAmount)
-                .sum();
-
-        if (lastMonthRevenue == 0) {
-            return currentMonthRevenue > 0 ? 100.0 : 0.0;
+            if (recentPayments.size() < RECENT_PAYMENTS_LIMIT) {
+                recentPayments.add(mapToParticipantPaymentDTO(payment));
+            }
         }
 
-        return ((currentMonthRevenue - lastMonthRevenue) / lastMonthRevenue) * 100.0;
-    }
+        PaymentSummaryDTO summary() {
+            double monthlyGrowth;
+            if (previousMonthRevenue == 0) {
+                monthlyGrowth = currentMonthRevenue > 0 ? 100.0 : 0.0;
+            } else {
+                monthlyGrowth = ((currentMonthRevenue - previousMonthRevenue) / previousMonthRevenue) * 100.0;
+            }
 
-    private List<EventPaymentDTO> buildEventPayments(Integer userId, PaymentFilterDTO filters) {
-        Organizer organizer = organizerRepository.findByUserId(userId)
-                .orElseThrow(() -> new NotFoundException("Organizer not found"));
-
-        List<Event> events = eventRepository.findByOrganizer(organizer);
-
-        return events.stream()
-                .map(event -> {
-                    List<EventRegistration> registrations = event.getEventRegistration();
-                    if (registrations == null) {
-                        registrations = Collections.emptyList();
-                    }
-
-                    // FIXED: Filter by event date OR registration date if date range is provided
-                    List<EventRegistration> filteredRegistrations = registrations;
-                    if (filters != null && filters.getDateRange() != null) {
-                        LocalDate from = filters.getDateRange().getFrom();
-                        LocalDate to = filters.getDateRange().getTo();
-                        LocalDate eventDate = event.getDate();
-
-                        // Check if event date is in range
-                        boolean eventInRange = true;
-                        if (from != null && eventDate.isBefore(from)) {
-                            eventInRange = false;
-                        }
-                        if (to != null && eventDate.isAfter(to)) {
-                            eventInRange = false;
-                        }
-
-                        if (!eventInRange) {
-                            // If event is not in range, filter registrations by registration date
-                            filteredRegistrations = registrations.stream()
-                                    .filter(reg -> {
-                                        LocalDate regDate = reg.getRegistrationDate().toLocalDate();
-                                        if (from != null && regDate.isBefore(from))
-                                            return false;
-                                        if (to != null && regDate.isAfter(to))
-                                            return false;
-                                        return true;
-                                    })
-                                    .collect(Collectors.toList());
-                        }
-                    }
-
-                    int totalParticipants = filteredRegistrations.stream()
-                            .mapToInt(reg -> reg.getEventParticipants() != null ? reg.getEventParticipants().size() : 0)
-                            .sum();
-
-                    long paidParticipants = filteredRegistrations.stream()
-                            .filter(reg -> reg.getPayments() != null &&
-                                    (reg.getPayments().getPaymentStatus() == PaymentStatus.SUCCESS ||
-                                            reg.getPayments().getPaymentStatus() == PaymentStatus.RELEASED ||
-                                            reg.getPayments().getPaymentStatus() == PaymentStatus.COMPLETED))
-                            .count();
-
-                    double totalRevenue = filteredRegistrations.stream()
-                            .filter(reg -> reg.getPayments() != null &&
-                                    (reg.getPayments().getPaymentStatus() == PaymentStatus.SUCCESS ||
-                                            reg.getPayments().getPaymentStatus() == PaymentStatus.RELEASED ||
-                                            reg.getPayments().getPaymentStatus() == PaymentStatus.COMPLETED))
-                            .mapToDouble(reg -> reg.getPayments().getAmount())
-                            .sum();
-
-                    double averagePaymentPerPerson = paidParticipants > 0 ? totalRevenue / paidParticipants : 0.0;
-
-                    double organizerShare = totalRevenue * (1 - PLATFORM_FEE_PERCENTAGE / 100.0);
-
-                    String status = determineEventStatus(event);
-
-                    return EventPaymentDTO.builder()
-                            .id(event.getId())
-                            .eventId(event.getId())
-                            .eventTitle(event.getTitle())
-                            .eventDate(event.getDate())
-                            .totalParticipants(totalParticipants)
-                            .paidParticipants((int) paidParticipants)
-                            .totalRevenue(totalRevenue)
-                            .averagePaymentPerPerson(averagePaymentPerPerson)
-                            .organizerShare(organizerShare)
-                            .status(status)
-                            .build();
-                })
-                .filter(eventPayment -> eventPayment.getTotalParticipants() > 0)
-                .collect(Collectors.toList());
+            return PaymentSummaryDTO.builder()
+                    .totalIncome(totalIncome)
+                    .completedPayments(completedPayments)
+                    .pendingPayments(pendingPayments)
+                    .refundedPayments(refundedPayments)
+                    .monthlyGrowth(monthlyGrowth)
+                    .currency(CURRENCY)
+                    .totalParticipants(totalParticipants)
+                    .averagePayment(completedPayments > 0 ? totalIncome / completedPayments : 0.0)
+                    .platformFee((int) PLATFORM_FEE_PERCENTAGE)
+                    .build();
+        }
+
+        List<EventPaymentDTO> eventPayments() {
+            return events.values().stream()
+                    .filter(totals -> totals.participants > 0)
+                    .map(totals -> EventPaymentDTO.builder()
+                            .id(totals.event.getId())
+                            .eventId(totals.event.getId())
+                            .eventTitle(totals.event.getTitle())
+                            .eventDate(totals.event.getDate())
+                            .totalParticipants(totals.participants)
+                            .paidParticipants(totals.paidRegistrations)
+                            .totalRevenue(totals.revenue)
+                            .averagePaymentPerPerson(totals.paidRegistrations > 0
+                                    ? totals.revenue / totals.paidRegistrations
+                                    : 0.0)
+                            .organizerShare(totals.revenue * (1 - PLATFORM_FEE_PERCENTAGE / 100.0))
+                            .status(determineEventStatus(totals.event))
+                            .build())
+                    .collect(Collectors.toList());
+        }
+
+        List<ParticipantPaymentDTO> recentPayments() {
+            return recentPayments;
+        }
     }
 
     private String determineEventStatus(Event event) {
@@ -496,102 +487,38 @@ public class OrganizerPaymentService implements IOrganizerPaymentService {
         }
     }
 
-    private List<ParticipantPaymentDTO> buildParticipantPayments(List<Payments> payments) {
-        return payments.stream()
-                .map(payment -> {
-                    EventRegistration reg = payment.getEventRegistration();
-                    Event event = reg.getEvent();
-
-                    int numberOfParticipants = reg.getEventParticipants() != null ? reg.getEventParticipants().size()
-                            : 0;
-
-                    String status = mapPaymentStatusToString(payment.getPaymentStatus());
-                    String paymentMethod = mapPaymentMethodToString(payment.getMethod());
-
-                    return ParticipantPaymentDTO.builder()
-                            .id(payment.getId())
-                            .participantName(
-                                    reg.getContactName() != null ? reg.getContactName() : reg.getUser().getName())
-                            .participantEmail(reg.getEmail() != null ? reg.getEmail() : reg.getUser().getEmail())
-                            .eventId(event.getId())
-                            .eventTitle(event.getTitle())
-                            .numberOfParticipants(numberOfParticipants)
-                            .paymentDate(payment.getTransactionDate())
-                            .amount(payment.getAmount())
-                            .status(status)
-                            .paymentMethod(paymentMethod)
-                            .transactionId(payment.getTransactionUuid())
-                            .receiptUrl(null)
-                            .build();
-                })
-                .collect(Collectors.toList());
-    }
-
     private List<MonthlyRevenueDTO> buildRevenueChart(Integer organizerId, PaymentFilterDTO filters) {
-        // Get all payments for the organizer (without date filter for chart)
-        List<Payments> allPayments = paymentRepository.findByOrganizerId(organizerId);
-
-        // Filter only successful payments
-        // Filter only successful/released payments
-        allPayments = allPayments.stream()
-                .filter(p -> p.getPaymentStatus() == PaymentStatus.SUCCESS ||
-                        p.getPaymentStatus() == PaymentStatus.RELEASED ||
-                        p.getPaymentStatus() == PaymentStatus.COMPLETED)
-                .collect(Collectors.toList());
+        // Successful/released payments per month, read from the daily rollup (one extra month for growth)
+        LocalDate now = LocalDate.now();
+        Map<YearMonth, RevenueMonthRecord> revenueByMonth = revenueRollupRepository
+                .summarizeByMonthForOrganizer(organizerId, REVENUE_STATUSES, now.minusMonths(6).withDayOfMonth(1))
+                .stream()
+                .collect(Collectors.toMap(m -> YearMonth.of(m.year(), m.month()), m -> m));
 
-        Organizer organizer = organizerRepository.findById(organizerId)
-                .orElseThrow(() -> new NotFoundException("Organizer not found"));
-        List<Event> events = eventRepository.findByOrganizer(organizer);
+        Map<YearMonth, Long> eventsByMonth = eventRepository
+                .countByMonthForOrganizer(organizerId, now.minusMonths(5).withDayOfMonth(1))
+                .stream()
+                .collect(Collectors.toMap(m -> YearMonth.of(m.year(), m.month()), EventMonthCountRecord::events));
 
         // Group by month for last 6 months
-        LocalDate now = LocalDate.now();
         List<MonthlyRevenueDTO> monthlyRevenues = new ArrayList<>();
 
         for (int i = 5; i >= 0; i--) {
             LocalDate monthDate = now.minusMonths(i);
-            LocalDate previousMonthDate = monthDate.minusMonths(1);
+            RevenueMonthRecord month = revenueByMonth.get(YearMonth.from(monthDate));
+            RevenueMonthRecord previousMonth = revenueByMonth.get(YearMonth.from(monthDate.minusMonths(1)));
 
             String monthLabel = monthDate.format(DateTimeFormatter.ofPattern("MMM yyyy"));
 
-            double revenue = allPayments.stream()
-                    .filter(p -> {
-                        LocalDate paymentDate = p.getTransactionDate().toLocalDate();
-                        return paymentDate.getMonth() == monthDate.getMonth() &&
-                                paymentDate.getYear() == monthDate.getYear();
-                    })
-                    .mapToDouble(Payments::getAmount)
-                    .sum();
-
-            double previousRevenue = allPayments.stream()
-                    .filter(p -> {
-                        LocalDate paymentDate = p.getTransactionDate().toLocalDate();
-                        return paymentDate.getMonth() == previousMonthDate.getMonth() &&
-                                paymentDate.getYear() == previousMonthDate.getYear();
-                    })
-                    .mapToDouble(Payments::getAmount)
-                    .sum();
+            double revenue = month != null ? month.revenue() : 0.0;
+            double previousRevenue = previousMonth != null ? previousMonth.revenue() : 0.0;
 
             double growth = previousRevenue > 0 ? ((revenue - previousRevenue) / previousRevenue) * 100.0
                     : (revenue > 0 ? 100.0 : 0.0);
 
-            int eventCount = (int) events.stream()
-                    .filter(e -> {
-                        LocalDate eventDate = e.getDate();
-                        return eventDate.getMonth() == monthDate.getMonth() &&
-                                eventDate.getYear() == monthDate.getYear();
-                    })
-                    .count();
-
-            int participants = allPayments.stream()
-                    .filter(p -> {
-                        LocalDate paymentDate = p.getTransactionDate().toLocalDate();
-                        return paymentDate.getMonth() == monthDate.getMonth() &&
-                                paymentDate.getYear() == monthDate.getYear();
-                    })
-                    .mapToInt(p -> p.getEventRegistration().getEventParticipants() != null
-                            ? p.getEventRegistration().getEventParticipants().size()
-                            : 0)
-                    .sum();
+            int eventCount = eventsByMonth.getOrDefault(YearMonth.from(monthDate), 0L).intValue();
+
+            int participants = month != null ? (int) month.participants() : 0;
 
             monthlyRevenues.add(MonthlyRevenueDTO.builder()
                     .month(monthLabel)
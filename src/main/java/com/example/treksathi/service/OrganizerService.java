@@ -4,6 +4,7 @@ import java.util.List;
 
 import com.example.treksathi.model.*;
 import com.example.treksathi.repository.*;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -22,6 +23,8 @@ import com.example.treksathi.enums.AuthProvidertype;
 import com.example.treksathi.enums.EventStatus;
 import com.example.treksathi.enums.PaymentStatus;
 import com.example.treksathi.enums.Role;
+import com.example.treksathi.event.OrganizerApprovalChangedEvent;
+import com.example.treksathi.event.UserRegisteredEvent;
 import com.example.treksathi.exception.InternalServerErrorException;
 import com.example.treksathi.exception.NotFoundException;
 import com.example.treksathi.exception.UserAlreadyExistException;
@@ -43,6 +46,8 @@ public class OrganizerService implements IOrganizerService {
     private final PaymentRepository paymentRepository;
     private final NotificationRecipientRepository notificationRecipientRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DashboardComposer dashboardComposer;
 
     @Transactional
     public Organizer registerOrganizer(OrganizerRegistrationDTO dto){
@@ -74,6 +79,8 @@ public class OrganizerService implements IOrganizerService {
             organizer.setDocument_url(dto.getDocumentUrl());
             organizer.setApprovalStatus(Approval_status.SUCCESS);
             organizer = organizerRepository.save(organizer);
+            eventPublisher.publishEvent(new UserRegisteredEvent(user.getId(), user.getRole()));
+            eventPublisher.publishEvent(new OrganizerApprovalChangedEvent(organizer.getId(), organizer.getApprovalStatus()));
             try{
                 userServicesl.sendRegistrationOTP(user);
             }catch (Exception e){
@@ -181,13 +188,32 @@ public class OrganizerService implements IOrganizerService {
         Organizer organizer = organizerRepository.findByUserId(userId)
                 .orElseThrow(() -> new NotFoundException("Organizer not found for user id: " + userId));
 
+        // The organizer row was found by user id, so the user exists; sections only need the two ids
         int organizerId = organizer.getId();
 
-        // Get the user for notifications
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("User not found"));
+        DashboardComposer.Composition composition = dashboardComposer.begin("organizer");
+        var stats = composition.fork("stats", () -> buildDashboardStats(organizerId),
+                new OrganizerDashboardDTO.DashboardStats());
+        var upcomingEvents = composition.fork("upcomingEvents", () -> buildUpcomingEvents(organizerId),
+                List.<OrganizerDashboardDTO.UpcomingEventDTO>of());
+        var recentRegistrations = composition.fork("recentRegistrations",
+                () -> buildRecentRegistrations(organizerId), List.<OrganizerDashboardDTO.RecentRegistrationDTO>of());
+        var reviews = composition.fork("reviews", () -> buildRecentReviews(organizerId),
+                List.<OrganizerDashboardDTO.ReviewDTO>of());
+        var notifications = composition.fork("notifications", () -> buildNotifications(userId),
+                List.<OrganizerDashboardDTO.NotificationDTO>of());
 
-        // Calculate stats
+        OrganizerDashboardDTO dashboardDTO = new OrganizerDashboardDTO();
+        dashboardDTO.setStats(composition.join(stats));
+        dashboardDTO.setUpcomingEvents(composition.join(upcomingEvents));
+        dashboardDTO.setRecentRegistrations(composition.join(recentRegistrations));
+        dashboardDTO.setReviews(composition.join(reviews));
+        dashboardDTO.setNotifications(composition.join(notifications));
+
+        return dashboardDTO;
+    }
+
+    private OrganizerDashboardDTO.DashboardStats buildDashboardStats(int organizerId) {
         OrganizerDashboardDTO.DashboardStats stats = new OrganizerDashboardDTO.DashboardStats();
         stats.setTotalEvents(eventRepository.countByOrganizerId(organizerId));
         stats.setTotalParticipants(eventRegistrationRepository.sumParticipantsByOrganizerId(organizerId));
@@ -199,47 +225,39 @@ public class OrganizerService implements IOrganizerService {
         // Calculate total earnings from successful payments
         Double totalEarnings = paymentRepository.sumTotalEarningsByOrganizerId(organizerId, PaymentStatus.SUCCESS);
         stats.setTotalEarnings(totalEarnings != null ? totalEarnings : 0.0);
+        return stats;
+    }
 
-        // Get upcoming events (limit to 3)
-        List<Event> upcomingEventsList = eventRepository.findUpcomingEventsByOrganizerId(organizerId,
-                EventStatus.ACTIVE);
-        List<OrganizerDashboardDTO.UpcomingEventDTO> upcomingEvents = upcomingEventsList.stream()
+    // Get upcoming events (limit to 3)
+    private List<OrganizerDashboardDTO.UpcomingEventDTO> buildUpcomingEvents(int organizerId) {
+        return eventRepository.findUpcomingEventsByOrganizerId(organizerId, EventStatus.ACTIVE).stream()
                 .limit(3)
                 .map(this::mapToUpcomingEventDTO)
                 .toList();
+    }
 
-        // Get recent registrations (limit to 5)
-        List<EventRegistration> recentRegistrationsList = eventRegistrationRepository
-                .findRecentRegistrationsByOrganizerId(organizerId);
-        List<OrganizerDashboardDTO.RecentRegistrationDTO> recentRegistrations = recentRegistrationsList.stream()
+    // Get recent registrations (limit to 5)
+    private List<OrganizerDashboardDTO.RecentRegistrationDTO> buildRecentRegistrations(int organizerId) {
+        return eventRegistrationRepository.findRecentRegistrationsByOrganizerId(organizerId).stream()
                 .limit(5)
                 .map(this::mapToRecentRegistrationDTO)
                 .toList();
+    }
 
-        // Get recent reviews (limit to 2)
-        List<Reviews> recentReviewsList = reviewRepository.findRecentReviewsByOrganizerId(organizerId);
-        List<OrganizerDashboardDTO.ReviewDTO> reviews = recentReviewsList.stream()
+    // Get recent reviews (limit to 2)
+    private List<OrganizerDashboardDTO.ReviewDTO> buildRecentReviews(int organizerId) {
+        return reviewRepository.findRecentReviewsByOrganizerId(organizerId).stream()
                 .limit(2)
                 .map(this::mapToReviewDTO)
                 .toList();
+    }
 
-        // Get notifications for the organizer's user (FIXED)
+    // Get notifications for the organizer's user
+    private List<OrganizerDashboardDTO.NotificationDTO> buildNotifications(int userId) {
         Pageable limit = PageRequest.of(0, 3);
-        List<NotificationRecipient> notificationsList = notificationRecipientRepository
-                .findTop3ByUserIdOrderByCreatedAtDesc(userId, limit);
-
-        List<OrganizerDashboardDTO.NotificationDTO> notifications = notificationsList.stream()
+        return notificationRecipientRepository.findTop3ByUserIdOrderByCreatedAtDesc(userId, limit).stream()
                 .map(recipient -> mapToNotificationDTO(recipient.getNotification(), recipient.isRead()))
                 .toList();
-
-        OrganizerDashboardDTO dashboardDTO = new OrganizerDashboardDTO();
-        dashboardDTO.setStats(stats);
-        dashboardDTO.setUpcomingEvents(upcomingEvents);
-        dashboardDTO.setRecentRegistrations(recentRegistrations);
-        dashboardDTO.setReviews(reviews);
-        dashboardDTO.setNotifications(notifications);
-
-        return dashboardDTO;
     }
 
     private OrganizerDashboardDTO.UpcomingEventDTO mapToUpcomingEventDTO(Event event) {
@@ -9,6 +9,7 @@ import com.example.treksathi.dto.payments.StripePaymentResponse;
 import com.example.treksathi.enums.EventRegistrationStatus;
 import com.example.treksathi.enums.PaymentMethod;
 import com.example.treksathi.enums.PaymentStatus;
+import com.example.treksathi.event.RegistrationChangedEvent;
 import com.example.treksathi.exception.EventNotFoundException;
 import com.example.treksathi.exception.NotFoundException;
 import com.example.treksathi.model.*;
@@ -19,6 +20,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -47,6 +49,9 @@ public class PaymentGatewayService implements IPaymentGatewayService {
     private final PaymentRepository paymentsRepository;
     private final EventParticipantsRepository eventParticipantsRepository;
     private final IEmailSendService emailSendService;
+    private final RevenueRollupService revenueRollupService;
+    private final PopularityService popularityService;
+    private final ApplicationEventPublisher eventPublisher;
     @Lazy
     private final IStripePaymentService stripePaymentService;
     private final RestTemplate restTemplate;
@@ -109,6 +114,7 @@ public class PaymentGatewayService implements IPaymentGatewayService {
         // Save EventRegistration first to get the ID
         eventRegistration = eventRegistrationRepository.save(eventRegistration);
         log.info("Created EventRegistration with ID: {}", eventRegistration.getId());
+        eventPublisher.publishEvent(new RegistrationChangedEvent(event.getId(), eventRegistration.getStatus()));
 
         // Create and save Payments
         Payments payment = new Payments();
@@ -139,6 +145,7 @@ public class PaymentGatewayService implements IPaymentGatewayService {
                 eventRegistration.getId());
 
         eventRegistration.setEventParticipants(participants);
+        revenueRollupService.recordCreated(savedPayment);
         return eventRegistration;
     }
 
@@ -192,6 +199,14 @@ public class PaymentGatewayService implements IPaymentGatewayService {
 
             EventRegistration registration = payment.getEventRegistration();
 
+            // The success callback is a GET that a refresh replays; only the first one confirms the booking
+            if (payment.getPaymentStatus() == PaymentStatus.SUCCESS) {
+                log.info("Payment already processed for transaction: {}", transactionUuid);
+                return registration;
+            }
+
+            RevenueRollupService.Snapshot before = revenueRollupService.snapshot(payment);
+
             payment.setTransactionReference(transactionCode);
             payment.setPaymentStatus(PaymentStatus.SUCCESS);
 
@@ -204,9 +219,13 @@ public class PaymentGatewayService implements IPaymentGatewayService {
             payment.setNetAmount(netAmount);
 
             paymentsRepository.save(payment);
+            revenueRollupService.recordTransition(before, payment);
 
             registration.setStatus(EventRegistrationStatus.SUCCESS);
             eventRegistrationRepository.save(registration);
+            eventPublisher.publishEvent(new RegistrationChangedEvent(registration.getEvent().getId(),
+                    registration.getStatus()));
+            popularityService.recordRegistrationConfirmed(registration.getEvent().getId());
 
             // send email to the user
             emailSendService.sendBookingConfirmationEmail(registration);
@@ -0,0 +1,113 @@
+package com.example.treksathi.service;
+
+import com.example.treksathi.repository.EventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Keeps Event.popularityScore, an exponentially decaying sum of engagement:
+ * confirmed registrations, favourites and review stars. Each signal is added
+ * with a single UPDATE in the caller's transaction, a scheduled job ages every
+ * score by the configured half-life, and {@link #rebuild()} recomputes the
+ * scores from the raw rows. Popularity sorting and trending lists then read
+ * the indexed column instead of aggregating at query time.
+ */
+@Service
+@Slf4j
+public class PopularityService {
+
+    static final double REGISTRATION_WEIGHT = 3.0;
+    static final double FAVOURITE_WEIGHT = 1.0;
+    static final double REVIEW_WEIGHT_PER_STAR = 0.5;
+
+    // Scores below this are cleared so they drop out of the decay job
+    private static final double SCORE_FLOOR = 0.01;
+
+    private final EventRepository eventRepository;
+    private final Duration halfLife;
+    private final double decayFactor;
+
+    public PopularityService(EventRepository eventRepository,
+                             @Value("${popularity.half-life:P14D}") Duration halfLife,
+                             @Value("${popularity.decay-interval:PT1H}") Duration decayInterval) {
+        this.eventRepository = eventRepository;
+        this.halfLife = halfLife;
+        this.decayFactor = Math.pow(0.5, (double) decayInterval.toMillis() / halfLife.toMillis());
+    }
+
+    @Transactional
+    public void recordRegistrationConfirmed(int eventId) {
+        eventRepository.addPopularity(eventId, REGISTRATION_WEIGHT);
+    }
+
+    @Transactional
+    public void recordFavouriteAdded(int eventId) {
+        eventRepository.addPopularity(eventId, FAVOURITE_WEIGHT);
+    }
+
+    /**
+     * Takes back what the favourite still contributes, which has decayed since
+     * it was added.
+     */
+    @Transactional
+    public void recordFavouriteRemoved(int eventId, LocalDateTime addedAt) {
+        eventRepository.addPopularity(eventId, -FAVOURITE_WEIGHT * decayedSince(addedAt));
+    }
+
+    /**
+     * A review counts from when it was first written, as in {@link #rebuild()},
+     * so a changed rating only adjusts its decayed contribution.
+     *
+     * @param previousRating the rating being replaced, or 0 for a new review
+     * @param createdAt      when the review was first written
+     */
+    @Transactional
+    public void recordReview(int eventId, int previousRating, int rating, LocalDateTime createdAt) {
+        if (rating != previousRating) {
+            eventRepository.addPopularity(eventId,
+                    (rating - previousRating) * REVIEW_WEIGHT_PER_STAR * decayedSince(createdAt));
+        }
+    }
+
+    @Scheduled(initialDelayString = "${popularity.decay-interval:PT1H}",
+            fixedDelayString = "${popularity.decay-interval:PT1H}")
+    @Transactional
+    public void decay() {
+        int events = eventRepository.decayPopularity(decayFactor, SCORE_FLOOR);
+        log.debug("Decayed popularity of {} events by {}", events, decayFactor);
+    }
+
+    @Transactional
+    public int rebuild() {
+        int events = eventRepository.rebuildPopularity(halfLife.toSeconds(),
+                REGISTRATION_WEIGHT, FAVOURITE_WEIGHT, REVIEW_WEIGHT_PER_STAR);
+        log.info("Rebuilt popularity scores of {} events", events);
+        return events;
+    }
+
+    // What a signal added at that time is worth now; an unknown time counts as now, as in the rebuild
+    private double decayedSince(LocalDateTime happenedAt) {
+        if (happenedAt == null) {
+            return 1.0;
+        }
+        long age = Math.max(0, Duration.between(happenedAt, LocalDateTime.now()).toMillis());
+        return Math.pow(0.5, (double) age / halfLife.toMillis());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillIfEmpty() {
+        if (!eventRepository.existsByPopularityScoreGreaterThan(0)) {
+            log.info("No popularity scores yet, backfilling from registrations, favourites and reviews");
+            rebuild();
+        }
+    }
+}
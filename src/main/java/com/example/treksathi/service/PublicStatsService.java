@@ -6,8 +6,10 @@ import com.example.treksathi.enums.EventStatus;
 import com.example.treksathi.repository.EventRepository;
 import com.example.treksathi.repository.OrganizerRepository;
 import com.example.treksathi.repository.UserRepository;
+import com.example.treksathi.util.ReadThroughCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
@@ -18,8 +20,17 @@ public class PublicStatsService {
     private final EventRepository eventRepository;
     private final UserRepository userRepository;
     private final OrganizerRepository organizerRepository;
+    private final ReadThroughCache<String, PlatformStatsDTO> publicStatsCache;
 
+    private static final String STATS_KEY = "platform";
+
+    // Served to every anonymous landing page visitor, so hits skip the transaction entirely
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public PlatformStatsDTO getPlatformStats() {
+        return publicStatsCache.get(STATS_KEY, this::loadPlatformStats);
+    }
+
+    private PlatformStatsDTO loadPlatformStats() {
         long totalTrails = eventRepository.countByStatus(EventStatus.ACTIVE);
         long communityMembers = userRepository.count();
         long verifiedOrganizers = organizerRepository.countByApprovalStatus(Approval_status.SUCCESS);
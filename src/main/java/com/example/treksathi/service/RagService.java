@@ -2,21 +2,35 @@ package com.example.treksathi.service;
 
 import com.example.treksathi.dto.ChatBot.ChatbotResponseDTO;
 import com.example.treksathi.dto.ChatBot.EventCardDTO;
+import com.example.treksathi.enums.DifficultyLevel;
 import com.example.treksathi.enums.EventStatus;
 import com.example.treksathi.model.Event;
 import com.example.treksathi.repository.EventRepository;
+import com.example.treksathi.util.SemanticCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.ai.chat.client.ChatClient;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.document.Document;
 import org.springframework.ai.vectorstore.SearchRequest;
 import org.springframework.ai.vectorstore.VectorStore;
-import org.springframework.ai.chat.client.advisor.QuestionAnswerAdvisor;
+import org.springframework.ai.vectorstore.filter.Filter;
+import org.springframework.ai.vectorstore.filter.FilterExpressionBuilder;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -24,85 +38,67 @@ import java.util.stream.Collectors;
 @Slf4j
 public class RagService {
 
-    private final ChatClient.Builder chatClientBuilder;
-    private final VectorStore vectorStore;
-    private final EventRepository eventRepository;
-
-
-    public ChatbotResponseDTO askWithEventCards(String question) {
-        log.info("Processing chatbot question: {}", question);
+    private static final int MAX_EVENT_CARDS = 6;
 
-        try {
-            // Step 1: Search for relevant events in vector store
-            SearchRequest searchRequest = SearchRequest.query(question)
-                    .withTopK(10)  // Get more results for filtering
-                    .withSimilarityThreshold(0.60);  // Lower threshold for better recall
-
-            List<Document> relevantDocs = vectorStore.similaritySearch(searchRequest);
-            log.debug("Found {} relevant documents from vector store", relevantDocs.size());
-
-            // Step 2: Extract event IDs from metadata and filter active events
-            List<Integer> eventIds = relevantDocs.stream()
-                    .map(doc -> {
-                        Object eventIdObj = doc.getMetadata().get("eventId");
-                        Object isActiveObj = doc.getMetadata().get("isActive");
-
-                        if (eventIdObj != null) {
-                            try {
-                                int eventId = Integer.parseInt(eventIdObj.toString());
-                                boolean isActive = Boolean.parseBoolean(isActiveObj != null ? isActiveObj.toString() : "false");
-
-                                // Only include active events
-                                return isActive ? eventId : null;
-                            } catch (NumberFormatException e) {
-                                log.warn("Failed to parse event ID: {}", eventIdObj);
-                                return null;
-                            }
-                        }
-                        return null;
-                    })
-                    .filter(id -> id != null)
-                    .distinct()
-                    .limit(6)  // Limit to 6 events for display
-                    .collect(Collectors.toList());
+    private record Retrieval(List<Document> documents, int eventsFound, List<EventCardDTO> eventCards) {
+    }
 
-            log.debug("Extracted {} event IDs: {}", eventIds.size(), eventIds);
+    /**
+     * Structured conditions on top of the question. Always limited to active,
+     * upcoming events; its string form scopes the answer cache.
+     */
+    private record EventFilter(LocalDate from, LocalDate to, DifficultyLevel difficulty) {
 
-            // Step 3: Generate AI response with enhanced context
-            QuestionAnswerAdvisor qaAdvisor = new QuestionAnswerAdvisor(vectorStore, searchRequest);
+        static final EventFilter NONE = new EventFilter(null, null, null);
 
-            String systemPrompt = buildSystemPrompt(eventIds.size());
+        Filter.Expression toExpression() {
+            FilterExpressionBuilder b = new FilterExpressionBuilder();
+            LocalDate today = LocalDate.now();
+            LocalDate earliest = from != null && from.isAfter(today) ? from : today;
 
-            String aiResponse = chatClientBuilder.build()
-                    .prompt()
-                    .system(systemPrompt)
-                    .user(question)
-                    .advisors(qaAdvisor)
-                    .call()
-                    .content();
+            FilterExpressionBuilder.Op filter = b.and(
+                    b.eq(VectorService.IS_ACTIVE, true),
+                    b.gte(VectorService.START_DATE, earliest.toEpochDay()));
+            if (to != null) {
+                filter = b.and(filter, b.lte(VectorService.START_DATE, to.toEpochDay()));
+            }
+            if (difficulty != null) {
+                filter = b.and(filter, b.eq(VectorService.DIFFICULTY, difficulty.name()));
+            }
+            return filter.build();
+        }
+    }
 
-            log.debug("AI Response generated: {}", aiResponse.substring(0, Math.min(100, aiResponse.length())));
+    private final ChatClient.Builder chatClientBuilder;
+    private final VectorStore vectorStore;
+    private final EventRepository eventRepository;
+    private final SemanticCache<ChatbotResponseDTO> chatAnswerCache;
 
-            // Step 4: Fetch full event details for cards
-            List<EventCardDTO> eventCards = new ArrayList<>();
-            if (!eventIds.isEmpty()) {
-                List<Event> events = eventRepository.findAllById(eventIds);
+    public ChatbotResponseDTO askWithEventCards(String question) {
+        return askWithEventCards(question, EventFilter.NONE);
+    }
 
-                // Filter out past or cancelled events
-                eventCards = events.stream()
-                        .filter(event -> event.getStatus() == EventStatus.ACTIVE)
-                        .filter(event -> event.getDate().isAfter(LocalDate.now()) ||
-                                event.getDate().isEqual(LocalDate.now()))
-                        .map(this::mapEventToCardDTO)
-                        .collect(Collectors.toList());
+    private ChatbotResponseDTO askWithEventCards(String question, EventFilter filter) {
+        log.info("Processing chatbot question: {} ({})", question, filter);
 
-                log.info("Returning {} event cards", eventCards.size());
+        try {
+            // Near-duplicate questions reuse an earlier answer, with its cards checked against current events
+            SemanticCache.Hit<ChatbotResponseDTO> hit = chatAnswerCache.find(filter.toString(), question);
+            if (hit != null) {
+                ChatbotResponseDTO cached = revalidate(hit.value());
+                if (cached != null) {
+                    log.debug("Answered from cache, similarity {}", hit.similarity());
+                    return cached;
+                }
             }
 
-            // Step 5: Determine response type
-            ChatbotResponseDTO.ResponseType responseType = determineResponseType(eventCards.size());
-
-            return new ChatbotResponseDTO(aiResponse, eventCards, responseType);
+            long generation = chatAnswerCache.generation();
+            ChatbotResponseDTO response = generateAnswer(question, filter);
+            Set<Integer> cardIds = response.getEvents().stream()
+                    .map(EventCardDTO::getId)
+                    .collect(Collectors.toSet());
+            chatAnswerCache.put(filter.toString(), question, response, cardIds, generation);
+            return response;
 
         } catch (Exception e) {
             log.error("Error processing chatbot question", e);
@@ -114,6 +110,139 @@ public class RagService {
         }
     }
 
+    private ChatbotResponseDTO generateAnswer(String question, EventFilter filter) {
+        Retrieval retrieval = retrieve(question, filter);
+
+        // Step 4: Generate AI response with enhanced context
+        String aiResponse = chatClientBuilder.build()
+                .prompt()
+                .system(buildSystemPrompt(retrieval.eventsFound()))
+                .user(withContext(question, retrieval.documents()))
+                .call()
+                .content();
+
+        log.debug("AI Response generated: {}", aiResponse.substring(0, Math.min(100, aiResponse.length())));
+
+        // Step 5: Determine response type
+        ChatbotResponseDTO.ResponseType responseType = determineResponseType(retrieval.eventCards().size());
+
+        return new ChatbotResponseDTO(aiResponse, retrieval.eventCards(), responseType);
+    }
+
+    /**
+     * Streaming variant of {@link #askWithEventCards}. Emits a "cards" event
+     * (message left empty) as soon as retrieval finishes, one "token" event per
+     * chunk the model produces, and a final "done" event. Retrieval blocks, so
+     * it runs on the bounded elastic scheduler; the model stream is cancelled
+     * when the client disconnects. Failures end the stream with an "error" event.
+     */
+    public Flux<ServerSentEvent<Object>> streamWithEventCards(String question) {
+        log.info("Streaming chatbot question: {}", question);
+
+        return Mono.fromCallable(() -> streamAnswer(question))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMapMany(Function.identity())
+                .onErrorResume(e -> {
+                    log.error("Error streaming chatbot answer", e);
+                    return Flux.just(sse("error",
+                            "I apologize, but I encountered an error while searching for events. Please try again."));
+                });
+    }
+
+    private Flux<ServerSentEvent<Object>> streamAnswer(String question) {
+        SemanticCache.Hit<ChatbotResponseDTO> hit = chatAnswerCache.find(EventFilter.NONE.toString(), question);
+        if (hit != null) {
+            ChatbotResponseDTO cached = revalidate(hit.value());
+            if (cached != null) {
+                return Flux.just(
+                        sse("cards", new ChatbotResponseDTO(null, cached.getEvents(), cached.getType())),
+                        sse("token", cached.getMessage()),
+                        sse("done", ""));
+            }
+        }
+
+        long generation = chatAnswerCache.generation();
+        Retrieval retrieval = retrieve(question, EventFilter.NONE);
+        ChatbotResponseDTO.ResponseType responseType = determineResponseType(retrieval.eventCards().size());
+        StringBuilder answer = new StringBuilder();
+
+        Flux<ServerSentEvent<Object>> tokens = chatClientBuilder.build()
+                .prompt()
+                .system(buildSystemPrompt(retrieval.eventsFound()))
+                .user(withContext(question, retrieval.documents()))
+                .stream()
+                .content()
+                .doOnNext(answer::append)
+                .map(token -> sse("token", token));
+
+        // Only a completed answer is cached; a cancelled stream never reaches this
+        Mono<ServerSentEvent<Object>> done = Mono.fromCallable(() -> {
+            Set<Integer> cardIds = retrieval.eventCards().stream()
+                    .map(EventCardDTO::getId)
+                    .collect(Collectors.toSet());
+            chatAnswerCache.put(EventFilter.NONE.toString(), question,
+                    new ChatbotResponseDTO(answer.toString(), retrieval.eventCards(), responseType),
+                    cardIds, generation);
+            return sse("done", "");
+        }).subscribeOn(Schedulers.boundedElastic());
+
+        return Flux.concat(
+                Mono.just(sse("cards", new ChatbotResponseDTO(null, retrieval.eventCards(), responseType))),
+                tokens,
+                done);
+    }
+
+    /**
+     * Vector search plus card loading, shared by the blocking and streaming
+     * answers. The same documents feed the cards and the prompt context.
+     */
+    private Retrieval retrieve(String question, EventFilter filter) {
+        // Step 1: Search for relevant events in vector store; Qdrant applies the filter, so every hit is eligible
+        SearchRequest searchRequest = SearchRequest.query(question)
+                .withTopK(MAX_EVENT_CARDS)
+                .withSimilarityThreshold(0.60)  // Lower threshold for better recall
+                .withFilterExpression(filter.toExpression());
+
+        List<Document> relevantDocs = vectorStore.similaritySearch(searchRequest);
+        log.debug("Found {} relevant documents from vector store", relevantDocs.size());
+
+        // Step 2: Extract event IDs from metadata
+        List<Integer> eventIds = relevantDocs.stream()
+                .map(doc -> {
+                    Object eventIdObj = doc.getMetadata().get(VectorService.EVENT_ID);
+                    if (eventIdObj != null) {
+                        try {
+                            return Integer.parseInt(eventIdObj.toString());
+                        } catch (NumberFormatException e) {
+                            log.warn("Failed to parse event ID: {}", eventIdObj);
+                            return null;
+                        }
+                    }
+                    return null;
+                })
+                .filter(id -> id != null)
+                .distinct()
+                .collect(Collectors.toList());
+
+        log.debug("Extracted {} event IDs: {}", eventIds.size(), eventIds);
+
+        // Step 3: Fetch full event details for cards
+        List<EventCardDTO> eventCards = new ArrayList<>();
+        if (!eventIds.isEmpty()) {
+            List<Event> events = eventRepository.findAllById(eventIds);
+
+            // The index follows the database asynchronously, so re-check status and date
+            eventCards = events.stream()
+                    .filter(this::isUpcomingActive)
+                    .map(this::mapEventToCardDTO)
+                    .collect(Collectors.toList());
+
+            log.info("Returning {} event cards", eventCards.size());
+        }
+
+        return new Retrieval(relevantDocs, eventIds.size(), eventCards);
+    }
+
     /**
      * Search events by specific filters (location, difficulty, date range)
      */
@@ -122,20 +251,22 @@ public class RagService {
         log.info("Searching events with filters - Location: {}, Difficulty: {}, Date: {} to {}",
                 location, difficulty, startDate, endDate);
 
-        // Build search query from filters
-        StringBuilder queryBuilder = new StringBuilder("Find treks");
+        // Difficulty and dates become payload filters; only the free-text location is left to semantic search
+        DifficultyLevel difficultyLevel = null;
+        if (difficulty != null && !difficulty.isBlank()) {
+            try {
+                difficultyLevel = DifficultyLevel.valueOf(difficulty.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown difficulty: " + difficulty);
+            }
+        }
 
+        StringBuilder queryBuilder = new StringBuilder("Find treks");
         if (location != null && !location.isEmpty()) {
             queryBuilder.append(" in ").append(location);
         }
-        if (difficulty != null && !difficulty.isEmpty()) {
-            queryBuilder.append(" with ").append(difficulty).append(" difficulty");
-        }
-        if (startDate != null) {
-            queryBuilder.append(" starting from ").append(startDate);
-        }
 
-        return askWithEventCards(queryBuilder.toString());
+        return askWithEventCards(queryBuilder.toString(), new EventFilter(startDate, endDate, difficultyLevel));
     }
 
     /**
@@ -144,16 +275,18 @@ public class RagService {
     public ChatbotResponseDTO getTrendingEvents(int limit) {
         log.info("Fetching trending events, limit: {}", limit);
 
-        String question = "Show me popular and trending treks and events";
+        // Ranked by the precomputed popularity score; no model call needed
+        List<EventCardDTO> eventCards = eventRepository
+                .findTrendingEvents(EventStatus.ACTIVE, LocalDate.now(), PageRequest.of(0, Math.max(1, limit)))
+                .stream()
+                .map(this::mapEventToCardDTO)
+                .collect(Collectors.toList());
 
-        ChatbotResponseDTO response = askWithEventCards(question);
+        String message = eventCards.isEmpty()
+                ? "Sorry, there are no upcoming treks or events right now."
+                : "Here are the most popular upcoming treks and events right now.";
 
-        // Limit the results
-        if (response.getEvents().size() > limit) {
-            response.setEvents(response.getEvents().subList(0, limit));
-        }
-
-        return response;
+        return new ChatbotResponseDTO(message, eventCards, determineResponseType(eventCards.size()));
     }
 
     /**
@@ -162,7 +295,7 @@ public class RagService {
     public String askQuestion(String question) {
         log.info("Processing simple question: {}", question);
 
-        QuestionAnswerAdvisor qaAdvisor = new QuestionAnswerAdvisor(vectorStore);
+        List<Document> relevantDocs = vectorStore.similaritySearch(SearchRequest.query(question));
 
         return chatClientBuilder.build()
                 .prompt()
@@ -173,8 +306,7 @@ public class RagService {
                         "Sorry, I don't have information about that trek/event."
                         Keep answers concise, friendly and informative.
                         """)
-                .user(question)
-                .advisors(qaAdvisor)
+                .user(withContext(question, relevantDocs))
                 .call()
                 .content();
     }
@@ -233,6 +365,66 @@ public class RagService {
         }
     }
 
+    /**
+     * Append retrieved documents to the question, in the shape the question-answer
+     * advisor used. Plain concatenation rather than a prompt template, so braces in
+     * event descriptions are not taken for template variables.
+     */
+    private String withContext(String question, List<Document> documents) {
+        String context = documents.stream()
+                .map(Document::getContent)
+                .collect(Collectors.joining(System.lineSeparator()));
+
+        return question + """
+
+
+                Context information is below, surrounded by ---------------------
+
+                ---------------------
+                """ + context + """
+
+                ---------------------
+
+                Given the context and provided history information and not prior knowledge,
+                reply to the user comment. If the answer is not in the context, inform
+                the user that you can't answer the question.
+                """;
+    }
+
+    /**
+     * Rebuild a cached answer's cards from the current events. Returns null when
+     * any card is no longer active or upcoming, since the cached text may then
+     * describe a trek that is not shown.
+     */
+    private ChatbotResponseDTO revalidate(ChatbotResponseDTO cached) {
+        if (cached.getEvents().isEmpty()) {
+            return new ChatbotResponseDTO(cached.getMessage(), new ArrayList<>(), cached.getType());
+        }
+
+        List<Integer> ids = cached.getEvents().stream().map(EventCardDTO::getId).toList();
+        Map<Integer, Event> current = eventRepository.findAllById(ids).stream()
+                .filter(this::isUpcomingActive)
+                .collect(Collectors.toMap(Event::getId, Function.identity()));
+        List<EventCardDTO> eventCards = ids.stream()
+                .map(current::get)
+                .filter(Objects::nonNull)
+                .map(this::mapEventToCardDTO)
+                .collect(Collectors.toList());
+
+        if (eventCards.size() != ids.size()) {
+            return null;
+        }
+        return new ChatbotResponseDTO(cached.getMessage(), eventCards, cached.getType());
+    }
+
+    private static ServerSentEvent<Object> sse(String name, Object data) {
+        return ServerSentEvent.builder(data).event(name).build();
+    }
+
+    private boolean isUpcomingActive(Event event) {
+        return event.getStatus() == EventStatus.ACTIVE && !event.getDate().isBefore(LocalDate.now());
+    }
+
     /**
      * Determine response type based on events found
      */
@@ -278,4 +470,4 @@ public class RagService {
             default -> difficulty;
         };
     }
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -0,0 +1,176 @@
+package com.example.treksathi.service;
+
+import com.example.treksathi.enums.PaymentMethod;
+import com.example.treksathi.enums.PaymentStatus;
+import com.example.treksathi.event.PaymentStatusChangedEvent;
+import com.example.treksathi.model.EventRegistration;
+import com.example.treksathi.model.Payments;
+import com.example.treksathi.record.PaymentReleaseCandidateRecord;
+import com.example.treksathi.repository.RevenueDailyRollupRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps the revenue_daily_rollup table and the organizer balance ledger in step
+ * with the payments table. Every payment creation or status change moves the
+ * payment between buckets inside the caller's transaction, so the charts and
+ * payout totals never see a half-applied change.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RevenueRollupService {
+
+    private final RevenueDailyRollupRepository rollupRepository;
+    private final OrganizerBalanceService organizerBalanceService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Bucket values of a payment captured before it is mutated.
+     */
+    public record Snapshot(LocalDate day, int organizerId, PaymentMethod method, PaymentStatus status,
+                           long participants, double amount, double fee, double estimatedFee, double netAmount) {
+    }
+
+    public Snapshot snapshot(Payments payment) {
+        EventRegistration registration = payment.getEventRegistration();
+        double amount = payment.getAmount() != null ? payment.getAmount() : 0.0;
+
+        return new Snapshot(
+                payment.getTransactionDate() != null ? payment.getTransactionDate().toLocalDate() : LocalDate.now(),
+                registration.getEvent().getOrganizer().getId(),
+                payment.getMethod() != null ? payment.getMethod() : PaymentMethod.CARD,
+                payment.getPaymentStatus() != null ? payment.getPaymentStatus() : PaymentStatus.PENDING,
+                registration.getEventParticipants() != null ? registration.getEventParticipants().size() : 0,
+                amount,
+                payment.getFee() != null ? payment.getFee() : 0.0,
+                payment.getFee() != null ? payment.getFee() : amount * 0.10,
+                payment.getNetAmount() != null ? payment.getNetAmount() : 0.0);
+    }
+
+    public Snapshot snapshot(PaymentReleaseCandidateRecord payment) {
+        double amount = payment.amount() != null ? payment.amount() : 0.0;
+
+        return new Snapshot(
+                payment.transactionDate() != null ? payment.transactionDate().toLocalDate() : LocalDate.now(),
+                payment.organizerId(),
+                payment.method() != null ? payment.method() : PaymentMethod.CARD,
+                payment.status() != null ? payment.status() : PaymentStatus.PENDING,
+                payment.participants(),
+                amount,
+                payment.fee() != null ? payment.fee() : 0.0,
+                payment.fee() != null ? payment.fee() : amount * 0.10,
+                payment.netAmount() != null ? payment.netAmount() : 0.0);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCreated(Payments payment) {
+        Snapshot created = snapshot(payment);
+        apply(created, 1, 1);
+        organizerBalanceService.applyTransition(null, created, 1);
+        eventPublisher.publishEvent(new PaymentStatusChangedEvent(created.organizerId(), created.status()));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordTransition(Snapshot before, Payments payment) {
+        Snapshot after = snapshot(payment);
+        if (after.equals(before)) {
+            return;
+        }
+        apply(before, 1, -1);
+        apply(after, 1, 1);
+        organizerBalanceService.applyTransition(before, after, 1);
+        eventPublisher.publishEvent(new PaymentStatusChangedEvent(after.organizerId(), after.status()));
+    }
+
+    /**
+     * Moves many payments to the same new status with one delta per bucket
+     * instead of one per payment.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordBulkTransition(List<Snapshot> before, PaymentStatus status) {
+        Map<Snapshot, Snapshot> bucketTotals = new HashMap<>();
+        Map<Snapshot, Long> bucketCounts = new HashMap<>();
+        Map<Snapshot, Snapshot> organizerTotals = new HashMap<>();
+        Map<Snapshot, Long> organizerCounts = new HashMap<>();
+
+        for (Snapshot s : before) {
+            Snapshot key = new Snapshot(s.day(), s.organizerId(), s.method(), s.status(), 0, 0, 0, 0, 0);
+            bucketTotals.merge(key, s, RevenueRollupService::sum);
+            bucketCounts.merge(key, 1L, Long::sum);
+            // The balance ledger only distinguishes organizer and status
+            Snapshot organizerKey = new Snapshot(null, s.organizerId(), null, s.status(), 0, 0, 0, 0, 0);
+            organizerTotals.merge(organizerKey, s, RevenueRollupService::sum);
+            organizerCounts.merge(organizerKey, 1L, Long::sum);
+        }
+
+        bucketTotals.forEach((key, total) -> {
+            long payments = bucketCounts.get(key);
+            apply(total, payments, -1);
+            apply(withStatus(total, status), payments, 1);
+        });
+        organizerTotals.forEach((key, total) -> organizerBalanceService.applyTransition(
+                total, withStatus(total, status), organizerCounts.get(key)));
+        before.stream()
+                .map(Snapshot::organizerId)
+                .distinct()
+                .forEach(organizerId -> eventPublisher.publishEvent(new PaymentStatusChangedEvent(organizerId, status)));
+    }
+
+    /**
+     * Recomputes the whole rollup from raw payments in a single transaction.
+     */
+    @Transactional
+    public int rebuild() {
+        rollupRepository.deleteAllRows();
+        int buckets = rollupRepository.rebuildFromPayments();
+        log.info("Rebuilt revenue daily rollup with {} buckets", buckets);
+        return buckets;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillIfEmpty() {
+        if (rollupRepository.count() == 0) {
+            log.info("Revenue daily rollup is empty, backfilling from payments");
+            rebuild();
+        }
+    }
+
+    private static Snapshot sum(Snapshot a, Snapshot b) {
+        return new Snapshot(a.day(), a.organizerId(), a.method(), a.status(),
+                a.participants() + b.participants(), a.amount() + b.amount(), a.fee() + b.fee(),
+                a.estimatedFee() + b.estimatedFee(), a.netAmount() + b.netAmount());
+    }
+
+    private static Snapshot withStatus(Snapshot s, PaymentStatus status) {
+        return new Snapshot(s.day(), s.organizerId(), s.method(), status,
+                s.participants(), s.amount(), s.fee(), s.estimatedFee(), s.netAmount());
+    }
+
+    // A snapshot may stand for several payments of the same bucket; their values are already summed
+    private void apply(Snapshot s, long payments, int sign) {
+        rollupRepository.applyDelta(
+                s.day(),
+                s.organizerId(),
+                s.method().name(),
+                s.status().name(),
+                sign * payments,
+                sign * s.participants(),
+                sign * s.amount(),
+                sign * s.fee(),
+                sign * s.estimatedFee(),
+                sign * s.netAmount());
+    }
+}
@@ -0,0 +1,166 @@
+package com.example.treksathi.service;
+
+import com.example.treksathi.dto.search.FacetBucketDTO;
+import com.example.treksathi.dto.search.SearchFacetsDTO;
+import com.example.treksathi.enums.DifficultyLevel;
+import com.example.treksathi.model.Event;
+import com.example.treksathi.specification.EventSearchSpecification;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Counts the events matching a search per difficulty level, price range,
+ * duration range and location. All facets come from one grouped statement over
+ * the search filters built by {@link EventSearchSpecification}: one row per
+ * case-folded location with a conditional count per facet bucket, summed up here.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SearchFacetService {
+
+    private static final int TOP_LOCATIONS = 10;
+
+    // Lower bound inclusive, upper bound exclusive; prices in NPR
+    private static final List<Range> PRICE_RANGES = List.of(
+            new Range("0-5000", null, 5_000.0),
+            new Range("5000-15000", 5_000.0, 15_000.0),
+            new Range("15000-30000", 15_000.0, 30_000.0),
+            new Range("30000-60000", 30_000.0, 60_000.0),
+            new Range("60000+", 60_000.0, null));
+
+    // Whole days, both bounds inclusive, so they can be passed back as minDuration/maxDuration
+    private static final List<Range> DURATION_RANGES = List.of(
+            new Range("1-3", null, 3.0),
+            new Range("4-7", 4.0, 7.0),
+            new Range("8-14", 8.0, 14.0),
+            new Range("15+", 15.0, null));
+
+    private final EntityManager entityManager;
+
+    private record Range(String value, Double min, Double max) {
+    }
+
+    public SearchFacetsDTO computeFacets(Specification<Event> filters) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Event> root = query.from(Event.class);
+
+        Expression<String> location = root.get("location");
+        // Case- and space-insensitive groups, shown under one of their spellings, as for popular locations
+        Expression<String> locationKey = cb.lower(cb.trim(location));
+        Expression<Double> price = root.get("price");
+        Expression<Integer> duration = root.get("durationDays");
+
+        List<Selection<?>> selections = new ArrayList<>();
+        selections.add(cb.least(location));
+        selections.add(cb.count(root));
+        for (DifficultyLevel level : DifficultyLevel.values()) {
+            selections.add(countWhere(cb, cb.equal(root.get("difficultyLevel"), level)));
+        }
+        for (Range range : PRICE_RANGES) {
+            selections.add(countWhere(cb, priceBetween(cb, price, range)));
+        }
+        for (Range range : DURATION_RANGES) {
+            selections.add(countWhere(cb, durationBetween(cb, duration, range)));
+        }
+
+        query.multiselect(selections)
+                .where(filters.toPredicate(root, query, cb))
+                .groupBy(locationKey);
+        List<Tuple> rows = entityManager.createQuery(query).getResultList();
+
+        int offset = 2;
+        List<FacetBucketDTO> difficultyLevels = new ArrayList<>();
+        for (DifficultyLevel level : DifficultyLevel.values()) {
+            difficultyLevels.add(bucket(level.name(), null, null, sum(rows, offset++)));
+        }
+        List<FacetBucketDTO> priceRanges = new ArrayList<>();
+        for (Range range : PRICE_RANGES) {
+            priceRanges.add(bucket(range.value(), range.min(), range.max(), sum(rows, offset++)));
+        }
+        List<FacetBucketDTO> durations = new ArrayList<>();
+        for (Range range : DURATION_RANGES) {
+            durations.add(bucket(range.value(), range.min(), range.max(), sum(rows, offset++)));
+        }
+        List<FacetBucketDTO> locations = rows.stream()
+                .filter(row -> row.get(0) != null && !row.get(0, String.class).isBlank())
+                .sorted(Comparator.comparing((Tuple row) -> -count(row, 1))
+                        .thenComparing(row -> row.get(0, String.class)))
+                .limit(TOP_LOCATIONS)
+                .map(row -> bucket(row.get(0, String.class), null, null, count(row, 1)))
+                .toList();
+
+        log.debug("Computed search facets over {} location groups", rows.size());
+        return SearchFacetsDTO.builder()
+                .difficultyLevels(difficultyLevels)
+                .priceRanges(priceRanges)
+                .durations(durations)
+                .locations(locations)
+                .build();
+    }
+
+    // SUM(CASE WHEN ... THEN 1 ELSE 0 END), the portable form of COUNT(*) FILTER (WHERE ...)
+    private static Expression<Long> countWhere(CriteriaBuilder cb, Predicate predicate) {
+        return cb.sum(cb.<Long>selectCase()
+                .when(predicate, cb.literal(1L))
+                .otherwise(cb.literal(0L)));
+    }
+
+    private static Predicate priceBetween(CriteriaBuilder cb, Expression<Double> price, Range range) {
+        return bounded(cb, range,
+                min -> cb.greaterThanOrEqualTo(price, cb.literal(min)),
+                max -> cb.lessThan(price, cb.literal(max)));
+    }
+
+    private static Predicate durationBetween(CriteriaBuilder cb, Expression<Integer> duration, Range range) {
+        return bounded(cb, range,
+                min -> cb.greaterThanOrEqualTo(duration, cb.literal(min.intValue())),
+                max -> cb.lessThanOrEqualTo(duration, cb.literal(max.intValue())));
+    }
+
+    private static Predicate bounded(CriteriaBuilder cb, Range range,
+                                     Function<Double, Predicate> lower, Function<Double, Predicate> upper) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (range.min() != null) {
+            predicates.add(lower.apply(range.min()));
+        }
+        if (range.max() != null) {
+            predicates.add(upper.apply(range.max()));
+        }
+        return cb.and(predicates.toArray(new Predicate[0]));
+    }
+
+    private static long sum(List<Tuple> rows, int index) {
+        return rows.stream().mapToLong(row -> count(row, index)).sum();
+    }
+
+    private static long count(Tuple row, int index) {
+        Number value = (Number) row.get(index);
+        return value != null ? value.longValue() : 0L;
+    }
+
+    private static FacetBucketDTO bucket(String value, Double min, Double max, long count) {
+        return FacetBucketDTO.builder()
+                .value(value)
+                .min(min)
+                .max(max)
+                .count(count)
+                .build();
+    }
+}
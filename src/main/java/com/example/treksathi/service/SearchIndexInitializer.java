@@ -0,0 +1,45 @@
+package com.example.treksathi.service;
+
+import com.example.treksathi.repository.EventRepository;
+import com.example.treksathi.repository.OrganizerRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Creates the PostgreSQL-specific search column and indexes that Hibernate's
+ * schema update cannot express. Runs once the schema is in place; every statement is
+ * idempotent and runs in its own transaction, so one failure (for example a
+ * role that may not create extensions) does not keep the others from applying.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SearchIndexInitializer {
+
+    private final EventRepository eventRepository;
+    private final OrganizerRepository organizerRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void createSearchIndexes() {
+        apply("event full-text column", eventRepository::createSearchVectorColumn);
+        apply("event full-text index", eventRepository::createSearchVectorIndex);
+        apply("pg_trgm extension", eventRepository::createTrigramExtension);
+        apply("event title trigram index", eventRepository::createTitleTrigramIndex);
+        apply("event location trigram index", eventRepository::createLocationTrigramIndex);
+        apply("organizer name trigram index", organizerRepository::createOrganizationNameTrigramIndex);
+    }
+
+    private void apply(String name, Runnable statement) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> statement.run());
+            log.info("Search index ready: {}", name);
+        } catch (RuntimeException e) {
+            log.warn("Could not create {}: {}", name, e.getMessage());
+        }
+    }
+}
@@ -2,25 +2,41 @@ package com.example.treksathi.service;
 
 import com.example.treksathi.Interfaces.ISearchService;
 import com.example.treksathi.dto.search.*;
-import com.example.treksathi.enums.EventStatus;
 import com.example.treksathi.model.Event;
 import com.example.treksathi.model.Organizer;
+import com.example.treksathi.model.Place;
+import com.example.treksathi.record.IdCountRecord;
+import com.example.treksathi.record.PopularLocationRecord;
+import com.example.treksathi.record.RatingSummaryRecord;
 import com.example.treksathi.repository.EventRepository;
 import com.example.treksathi.repository.OrganizerRepository;
 import com.example.treksathi.repository.EventRegistrationRepository;
 import com.example.treksathi.repository.ReviewRepository;
 import com.example.treksathi.specification.EventSearchSpecification;
+import com.example.treksathi.util.ByteBudgetCache;
+import com.example.treksathi.util.GeoHash;
+import com.example.treksathi.util.ReadThroughCache;
+import com.example.treksathi.util.SeekCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -33,11 +49,46 @@ public class SearchServiceImpl implements ISearchService {
     private final OrganizerRepository organizerRepository;
     private final EventRegistrationRepository eventRegistrationRepository;
     private final ReviewRepository reviewsRepository;
-
+    private final SuggestionIndexService suggestionIndexService;
+    private final SearchFacetService searchFacetService;
+    private final GazetteerService gazetteerService;
+    private final ReadThroughCache<String, List<String>> popularLocationsCache;
+    private final ByteBudgetCache<SearchCacheKey, SearchResponse> searchResultCache;
+    private final TransactionTemplate transactionTemplate;
+
+    private static final int EVENT_SUGGESTIONS = 5;
+    private static final int ORGANIZER_SUGGESTIONS = 3;
+    private static final int LOCATION_SUGGESTIONS = 3;
+    private static final int DEFAULT_POPULAR_LOCATIONS = 10;
+    private static final int MAX_POPULAR_LOCATIONS = 50;
+    private static final int POPULAR_LOCATIONS_RECENT_DAYS = 30;
+    private static final String POPULAR_LOCATIONS_KEY = "popular-locations";
+    private static final double DEFAULT_RADIUS_KM = 25;
+    private static final double MAX_RADIUS_KM = 300;
+
+    // Cache hits skip the data and count queries and never open a transaction
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public SearchResponse searchEvents(SearchCriteria criteria) {
+        return searchResultCache.get(SearchCacheKey.of(criteria),
+                () -> transactionTemplate.execute(status -> loadSearchPage(criteria)));
+    }
+
+    private SearchResponse loadSearchPage(SearchCriteria criteria) {
         log.info("Searching events with criteria: {}", criteria);
 
+        Place near = resolveNear(criteria);
+        Specification<Event> filters = EventSearchSpecification.searchEvents(criteria);
+        if (near != null) {
+            boolean byDistance = "distance".equalsIgnoreCase(criteria.getSortBy()) && !criteria.isScrollMode();
+            filters = filters.and(EventSearchSpecification.within(
+                    near.getLatitude(), near.getLongitude(), radiusKm(criteria), byDistance));
+        }
+
+        if (criteria.isScrollMode()) {
+            return loadScrollPage(criteria, filters, near);
+        }
+
         // Build sorting
         Sort sort = buildSort(criteria);
         Pageable pageable = PageRequest.of(
@@ -47,15 +98,10 @@ public class SearchServiceImpl implements ISearchService {
         );
 
         // Execute search with specifications
-        Page<Event> eventPage = eventRepository.findAll(
-                EventSearchSpecification.searchEvents(criteria),
-                pageable
-        );
+        Page<Event> eventPage = eventRepository.findAll(filters, pageable);
 
         // Map to DTO
-        List<SearchResultDTO> results = eventPage.getContent().stream()
-                .map(this::mapToSearchResultDTO)
-                .collect(Collectors.toList());
+        List<SearchResultDTO> results = enrichResults(eventPage.getContent(), near);
 
         return SearchResponse.builder()
                 .results(results)
@@ -65,99 +111,79 @@ public class SearchServiceImpl implements ISearchService {
                 .pageSize(eventPage.getSize())
                 .hasNext(eventPage.hasNext())
                 .hasPrevious(eventPage.hasPrevious())
+                .facets(Boolean.TRUE.equals(criteria.getIncludeFacets())
+                        ? searchFacetService.computeFacets(filters)
+                        : null)
                 .build();
     }
 
-    @Override
-    public List<QuickSearchSuggestion> getQuickSuggestions(String query) {
-        List<QuickSearchSuggestion> suggestions = new ArrayList<>();
+    // Seeks past the cursor by (date, id) and reads one extra row instead of counting
+    private SearchResponse loadScrollPage(SearchCriteria criteria, Specification<Event> filters, Place near) {
+        SeekCursor after = SeekCursor.decode(criteria.getCursor());
+        int limit = Math.max(1, criteria.getSize() != null ? criteria.getSize() : 10);
+        boolean descending = "DESC".equalsIgnoreCase(criteria.getSortDirection());
+        Sort.Direction direction = descending ? Sort.Direction.DESC : Sort.Direction.ASC;
 
-        if (query == null || query.trim().isEmpty()) {
-            return suggestions;
+        Specification<Event> specification = filters;
+        if (after != null) {
+            specification = specification.and(EventSearchSpecification.seekPast(after.date(), after.id(), descending));
         }
+        List<Event> rows = eventRepository.findBy(specification,
+                query -> query.sortBy(Sort.by(direction, "date", "id")).limit(limit + 1).all());
 
-        String searchPattern = "%" + query.toLowerCase() + "%";
-
-        // Search events
-        List<Event> events = eventRepository.findAll(
-                (root, criteriaQuery, criteriaBuilder) -> {
-                    return criteriaBuilder.and(
-                            criteriaBuilder.equal(root.get("status"), EventStatus.ACTIVE),
-                            criteriaBuilder.like(
-                                    criteriaBuilder.lower(root.get("title")),
-                                    searchPattern
-                            )
-                    );
-                },
-                PageRequest.of(0, 5)
-        ).getContent();
+        boolean hasNext = rows.size() > limit;
+        List<Event> events = hasNext ? rows.subList(0, limit) : rows;
+        Event last = hasNext ? events.get(events.size() - 1) : null;
+        Long total = Boolean.TRUE.equals(criteria.getIncludeTotal())
+                ? eventRepository.count(filters)
+                : null;
 
-        events.forEach(event -> suggestions.add(
-                QuickSearchSuggestion.builder()
-                        .type("EVENT")
-                        .text(event.getTitle())
-                        .value(String.valueOf(event.getId()))
-                        .icon("calendar")
-                        .build()
-        ));
+        return SearchResponse.builder()
+                .results(enrichResults(events, near))
+                .totalPages(total != null ? (int) Math.ceil((double) total / limit) : null)
+                .totalElements(total)
+                .pageSize(limit)
+                .hasNext(hasNext)
+                .hasPrevious(after != null)
+                .nextCursor(last != null ? SeekCursor.of(last.getDate(), last.getId()).encode() : null)
+                .facets(Boolean.TRUE.equals(criteria.getIncludeFacets())
+                        ? searchFacetService.computeFacets(filters)
+                        : null)
+                .build();
+    }
 
-        // Search organizers
-        List<Organizer> organizers = organizerRepository.findAll(
-                (root, criteriaQuery, criteriaBuilder) -> {
-                    return criteriaBuilder.like(
-                            criteriaBuilder.lower(root.get("organization_name")),
-                            searchPattern
-                    );
-                },
-                PageRequest.of(0, 3)
-        ).getContent();
+    @Override
+    public List<QuickSearchSuggestion> getQuickSuggestions(String query) {
+        if (query == null || query.trim().isEmpty()) {
+            return new ArrayList<>();
+        }
 
-        organizers.forEach(org -> suggestions.add(
-                QuickSearchSuggestion.builder()
-                        .type("ORGANIZER")
-                        .text(org.getOrganization_name())
-                        .value(String.valueOf(org.getId()))
-                        .icon("user")
-                        .build()
-        ));
-
-        // Search locations
-        List<String> locations = eventRepository.findAll(
-                        (root, criteriaQuery, criteriaBuilder) -> {
-                            return criteriaBuilder.and(
-                                    criteriaBuilder.equal(root.get("status"), EventStatus.ACTIVE),
-                                    criteriaBuilder.like(
-                                            criteriaBuilder.lower(root.get("location")),
-                                            searchPattern
-                                    )
-                            );
-                        }
-                ).stream()
-                .map(Event::getLocation)
-                .distinct()
-                .limit(3)
+        String text = query.trim();
+        return suggestionIndexService.suggest(text, EVENT_SUGGESTIONS, ORGANIZER_SUGGESTIONS, LOCATION_SUGGESTIONS)
+                .orElseGet(() -> eventRepository.findSuggestions(text, EVENT_SUGGESTIONS, ORGANIZER_SUGGESTIONS,
+                        LOCATION_SUGGESTIONS))
+                .stream()
+                .map(suggestion -> QuickSearchSuggestion.builder()
+                        .type(suggestion.type())
+                        .text(suggestion.text())
+                        .value(suggestion.value())
+                        .icon(suggestionIcon(suggestion.type()))
+                        .build())
                 .collect(Collectors.toList());
-
-        locations.forEach(location -> suggestions.add(
-                QuickSearchSuggestion.builder()
-                        .type("LOCATION")
-                        .text(location)
-                        .value(location)
-                        .icon("map-pin")
-                        .build()
-        ));
-
-        return suggestions;
     }
 
+    // The longest list is cached once and sliced per request, so any limit is a cache hit
     @Override
-    public List<String> getPopularLocations() {
-        return eventRepository.findAll().stream()
-                .filter(e -> e.getStatus() == EventStatus.ACTIVE)
-                .map(Event::getLocation)
-                .distinct()
-                .limit(10)
-                .collect(Collectors.toList());
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<String> getPopularLocations(Integer limit) {
+        int size = limit != null ? Math.max(1, Math.min(limit, MAX_POPULAR_LOCATIONS)) : DEFAULT_POPULAR_LOCATIONS;
+        List<String> locations = popularLocationsCache.get(POPULAR_LOCATIONS_KEY, () -> eventRepository
+                .findPopularLocations(LocalDateTime.now().minusDays(POPULAR_LOCATIONS_RECENT_DAYS),
+                        PageRequest.of(0, MAX_POPULAR_LOCATIONS))
+                .stream()
+                .map(PopularLocationRecord::location)
+                .toList());
+        return new ArrayList<>(locations.subList(0, Math.min(size, locations.size())));
     }
 
     @Override
@@ -174,9 +200,7 @@ public class SearchServiceImpl implements ISearchService {
                 PageRequest.of(0, 10)
         ).getContent();
 
-        return organizers.stream()
-                .map(this::mapToOrganizerSearchDTO)
-                .collect(Collectors.toList());
+        return new ArrayList<>(enrichOrganizers(organizers).values());
     }
 
     // Helper methods
@@ -185,25 +209,100 @@ public class SearchServiceImpl implements ISearchService {
                 ? Sort.Direction.DESC
                 : Sort.Direction.ASC;
 
+        // Ranking needs the query; the specification orders by ts_rank itself
+        if ("relevance".equalsIgnoreCase(criteria.getSortBy())
+                && criteria.getQuery() != null && !criteria.getQuery().trim().isEmpty()) {
+            return Sort.unsorted();
+        }
+
+        // Likewise the radius specification orders by distance
+        if ("distance".equalsIgnoreCase(criteria.getSortBy())
+                && criteria.getNear() != null && !criteria.getNear().isBlank()) {
+            return Sort.unsorted();
+        }
+
         String sortField = switch (criteria.getSortBy().toLowerCase()) {
             case "price" -> "price";
             case "title" -> "title";
-            case "popularity" -> "maxParticipants"; // Could be based on registrations
+            case "popularity" -> "popularityScore";
             default -> "date";
         };
 
         return Sort.by(direction, sortField);
     }
 
-    private SearchResultDTO mapToSearchResultDTO(Event event) {
-        int currentParticipants = eventRegistrationRepository
-                .countByEventId(event.getId());
+    private Place resolveNear(SearchCriteria criteria) {
+        if (criteria.getNear() == null || criteria.getNear().isBlank()) {
+            return null;
+        }
+        return gazetteerService.resolve(criteria.getNear())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Unknown place: " + criteria.getNear()));
+    }
+
+    private static double radiusKm(SearchCriteria criteria) {
+        if (criteria.getRadiusKm() == null || criteria.getRadiusKm() <= 0) {
+            return DEFAULT_RADIUS_KM;
+        }
+        return Math.min(criteria.getRadiusKm(), MAX_RADIUS_KM);
+    }
 
-        Double avgRating = reviewsRepository
-                .findAverageRatingByEventId(event.getId());
+    private static String suggestionIcon(String type) {
+        return switch (type) {
+            case "EVENT" -> "calendar";
+            case "ORGANIZER" -> "user";
+            default -> "map-pin";
+        };
+    }
+
+    // Enrichment runs one grouped query per metric for the whole page, so a page costs the same whatever its size
+    private List<SearchResultDTO> enrichResults(List<Event> events, Place near) {
+        if (events.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<Integer> eventIds = events.stream().map(Event::getId).toList();
+        Map<Integer, Long> registrations = toCountMap(eventRegistrationRepository.countByEventIds(eventIds));
+        Map<Integer, RatingSummaryRecord> ratings = toRatingMap(reviewsRepository.summarizeRatingsByEventIds(eventIds));
+        Map<Integer, OrganizerSearchDTO> organizers = enrichOrganizers(
+                events.stream().map(Event::getOrganizer).toList());
+
+        return events.stream()
+                .map(event -> mapToSearchResultDTO(event, registrations, ratings, organizers, near))
+                .collect(Collectors.toList());
+    }
+
+    private Map<Integer, OrganizerSearchDTO> enrichOrganizers(Collection<Organizer> organizers) {
+        Map<Integer, Organizer> distinct = new LinkedHashMap<>();
+        organizers.forEach(organizer -> distinct.putIfAbsent(organizer.getId(), organizer));
+        if (distinct.isEmpty()) {
+            return new LinkedHashMap<>();
+        }
+
+        Map<Integer, Long> eventCounts = toCountMap(eventRepository.countByOrganizerIds(distinct.keySet()));
+        Map<Integer, RatingSummaryRecord> ratings = toRatingMap(
+                reviewsRepository.summarizeRatingsByOrganizerIds(distinct.keySet()));
+
+        Map<Integer, OrganizerSearchDTO> dtos = new LinkedHashMap<>();
+        distinct.forEach((id, organizer) -> dtos.put(id, mapToOrganizerSearchDTO(organizer, eventCounts, ratings)));
+        return dtos;
+    }
+
+    private static Map<Integer, Long> toCountMap(List<IdCountRecord> counts) {
+        return counts.stream().collect(Collectors.toMap(IdCountRecord::id, IdCountRecord::count));
+    }
+
+    private static Map<Integer, RatingSummaryRecord> toRatingMap(List<RatingSummaryRecord> ratings) {
+        return ratings.stream().collect(Collectors.toMap(RatingSummaryRecord::id, rating -> rating));
+    }
 
-        int reviewCount = reviewsRepository
-                .countByEventsId(event.getId());
+    private SearchResultDTO mapToSearchResultDTO(Event event, Map<Integer, Long> registrations,
+                                                 Map<Integer, RatingSummaryRecord> ratings,
+                                                 Map<Integer, OrganizerSearchDTO> organizers, Place near) {
+        RatingSummaryRecord rating = ratings.get(event.getId());
+        Double distanceKm = near != null && event.getLatitude() != null && event.getLongitude() != null
+                ? GeoHash.distanceKm(near.getLatitude(), near.getLongitude(), event.getLatitude(), event.getLongitude())
+                : null;
 
         return SearchResultDTO.builder()
                 .id(event.getId())
@@ -215,25 +314,26 @@ public class SearchServiceImpl implements ISearchService {
                 .difficultyLevel(event.getDifficultyLevel().name())
                 .price(event.getPrice())
                 .maxParticipants(event.getMaxParticipants())
-                .currentParticipants(currentParticipants)
+                .currentParticipants(registrations.getOrDefault(event.getId(), 0L).intValue())
                 .bannerImageUrl(event.getBannerImageUrl())
                 .status(event.getStatus().name())
-                .organizer(mapToOrganizerSearchDTO(event.getOrganizer()))
-                .averageRating(avgRating != null ? avgRating : 0.0)
-                .reviewCount(reviewCount)
+                .organizer(organizers.get(event.getOrganizer().getId()))
+                .averageRating(rating != null ? rating.averageRating() : 0.0)
+                .reviewCount(rating != null ? (int) rating.reviewCount() : 0)
+                .distanceKm(distanceKm)
                 .build();
     }
 
-    private OrganizerSearchDTO mapToOrganizerSearchDTO(Organizer organizer) {
-        int totalEvents = eventRepository.countByOrganizerId(organizer.getId());
-        Double avgRating = reviewsRepository.findAverageRatingByOrganizerId(organizer.getId());
+    private OrganizerSearchDTO mapToOrganizerSearchDTO(Organizer organizer, Map<Integer, Long> eventCounts,
+                                                       Map<Integer, RatingSummaryRecord> ratings) {
+        RatingSummaryRecord rating = ratings.get(organizer.getId());
 
         return OrganizerSearchDTO.builder()
                 .id(organizer.getId())
                 .name(organizer.getContact_person())
                 .organizationName(organizer.getOrganization_name())
-                .rating(avgRating != null ? avgRating : 0.0)
-                .totalEvents(totalEvents)
+                .rating(rating != null ? rating.averageRating() : 0.0)
+                .totalEvents(eventCounts.getOrDefault(organizer.getId(), 0L).intValue())
                 .build();
     }
 }
@@ -0,0 +1,67 @@
+package com.example.treksathi.service;
+
+import com.example.treksathi.dto.PlatformStatsDTO;
+import com.example.treksathi.dto.admin.dashboard.AdminDashboardDTO;
+import com.example.treksathi.dto.search.SearchCacheKey;
+import com.example.treksathi.dto.search.SearchResponse;
+import com.example.treksathi.event.EventChangedEvent;
+import com.example.treksathi.event.OrganizerApprovalChangedEvent;
+import com.example.treksathi.event.PaymentStatusChangedEvent;
+import com.example.treksathi.event.RegistrationChangedEvent;
+import com.example.treksathi.event.UserRegisteredEvent;
+import com.example.treksathi.util.ByteBudgetCache;
+import com.example.treksathi.util.ReadThroughCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+/**
+ * Drops the cached admin dashboard, public stats, popular locations, search
+ * result pages once a change that affects them has committed. Chatbot answers
+ * are dropped by {@link VectorIndexingService} once the change is indexed.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StatsCacheInvalidator {
+
+    private final ReadThroughCache<String, AdminDashboardDTO> adminDashboardCache;
+    private final ReadThroughCache<String, PlatformStatsDTO> publicStatsCache;
+    private final ReadThroughCache<String, List<String>> popularLocationsCache;
+    private final ByteBudgetCache<SearchCacheKey, SearchResponse> searchResultCache;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserRegistered(UserRegisteredEvent event) {
+        adminDashboardCache.invalidateAll();
+        publicStatsCache.invalidateAll();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrganizerApprovalChanged(OrganizerApprovalChangedEvent event) {
+        adminDashboardCache.invalidateAll();
+        publicStatsCache.invalidateAll();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChanged(EventChangedEvent event) {
+        adminDashboardCache.invalidateAll();
+        publicStatsCache.invalidateAll();
+        popularLocationsCache.invalidateAll();
+        searchResultCache.invalidateAll();
+    }
+
+    // Registrations only move the popular locations ranking
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRegistrationChanged(RegistrationChangedEvent event) {
+        popularLocationsCache.invalidateAll();
+    }
+
+    // Payments only feed the admin revenue figures
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPaymentStatusChanged(PaymentStatusChangedEvent event) {
+        adminDashboardCache.invalidateAll();
+    }
+}
@@ -7,6 +7,7 @@ import com.example.treksathi.dto.payments.StripePaymentResponse;
 import com.example.treksathi.enums.EventRegistrationStatus;
 import com.example.treksathi.enums.NotificationType;
 import com.example.treksathi.enums.PaymentStatus;
+import com.example.treksathi.event.RegistrationChangedEvent;
 import com.example.treksathi.exception.EventNotFoundException;
 import com.example.treksathi.exception.NotFoundException;
 import com.example.treksathi.model.*;
@@ -18,6 +19,7 @@ import com.stripe.param.checkout.SessionCreateParams;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -45,6 +47,9 @@ public class StripePaymentService implements IStripePaymentService {
         private final EventParticipantsRepository eventParticipantsRepository;
         private final NotificationService notificationService;
         private final IEmailSendService emailSendService;
+        private final RevenueRollupService revenueRollupService;
+        private final PopularityService popularityService;
+        private final ApplicationEventPublisher eventPublisher;
 
         @Override
         @Transactional
@@ -143,6 +148,7 @@ public class StripePaymentService implements IStripePaymentService {
                 // Save EventRegistration first to get the ID
                 eventRegistration = eventRegistrationRepository.save(eventRegistration);
                 log.info("Created EventRegistration with ID: {}", eventRegistration.getId());
+                eventPublisher.publishEvent(new RegistrationChangedEvent(event.getId(), eventRegistration.getStatus()));
 
                 // Create and save Payments
                 Payments payment = new Payments();
@@ -172,6 +178,7 @@ public class StripePaymentService implements IStripePaymentService {
                                 eventRegistration.getId());
 
                 eventRegistration.setEventParticipants(participants);
+                revenueRollupService.recordCreated(savedPayment);
                 return eventRegistration;
         }
 
@@ -209,6 +216,7 @@ public class StripePaymentService implements IStripePaymentService {
                         }
 
                         // 5. Update payment status
+                        RevenueRollupService.Snapshot before = revenueRollupService.snapshot(payment);
                         payment.setPaymentStatus(PaymentStatus.SUCCESS);
                         payment.setTransactionReference(session.getPaymentIntent());
 
@@ -221,11 +229,15 @@ public class StripePaymentService implements IStripePaymentService {
                         payment.setNetAmount(netAmount);
 
                         paymentRepository.save(payment);
+                        revenueRollupService.recordTransition(before, payment);
 
                         // 6. Update registration status
                         EventRegistration registration = payment.getEventRegistration();
                         registration.setStatus(EventRegistrationStatus.SUCCESS);
                         eventRegistrationRepository.save(registration);
+                        eventPublisher.publishEvent(new RegistrationChangedEvent(registration.getEvent().getId(),
+                                        registration.getStatus()));
+                        popularityService.recordRegistrationConfirmed(registration.getEvent().getId());
 
                         notificationService.createAndSendNotification(
                                         registration.getUser().getId(),
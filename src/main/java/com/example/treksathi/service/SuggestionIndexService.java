@@ -0,0 +1,336 @@
+package com.example.treksathi.service;
+
+import com.example.treksathi.dto.search.SuggestionIndexStatusDTO;
+import com.example.treksathi.event.EventChangedEvent;
+import com.example.treksathi.event.OrganizerApprovalChangedEvent;
+import com.example.treksathi.record.EventSuggestionSourceRecord;
+import com.example.treksathi.record.OrganizerSuggestionSourceRecord;
+import com.example.treksathi.record.SearchSuggestionRecord;
+import com.example.treksathi.repository.EventRepository;
+import com.example.treksathi.repository.OrganizerRepository;
+import com.example.treksathi.util.SuggestionIndex;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Owns the in-memory typeahead index over active event titles, their
+ * locations and approved organizer names. The index is built at startup,
+ * patched after every committed event or organizer approval change, and
+ * compared against the database on a schedule; drift triggers a rebuild.
+ * <p>
+ * Writes (rebuilds and patches) are serialized and read their source rows
+ * while holding the lock, so a patch can never be overwritten by an older
+ * rebuild. Lookups never block.
+ */
+@Service
+@Slf4j
+public class SuggestionIndexService {
+
+    public static final String EVENT = "EVENT";
+    public static final String ORGANIZER = "ORGANIZER";
+    public static final String LOCATION = "LOCATION";
+
+    private record Candidate(String type, String id, String text, String value, long weight) {
+    }
+
+    private record Sources(List<EventSuggestionSourceRecord> events,
+                           List<OrganizerSuggestionSourceRecord> organizers) {
+    }
+
+    private final EventRepository eventRepository;
+    private final OrganizerRepository organizerRepository;
+    private final TransactionTemplate readTransaction;
+    private final long maxBytes;
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private volatile SuggestionIndex index;
+    private volatile LocalDateTime builtAt;
+    // Guarded by writeLock: which location each indexed event contributes, and events per location
+    private Map<Integer, String> eventLocations = new HashMap<>();
+    private Map<String, Integer> locationCounts = new HashMap<>();
+
+    public SuggestionIndexService(EventRepository eventRepository,
+                                  OrganizerRepository organizerRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${search.suggestions.max-bytes:8MB}") DataSize maxBytes,
+                                  MeterRegistry meterRegistry) {
+        this.eventRepository = eventRepository;
+        this.organizerRepository = organizerRepository;
+        this.maxBytes = maxBytes.toBytes();
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        // Patches run after the publishing transaction committed
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        Gauge.builder("search.suggestions.entries", this, s -> s.index != null ? s.index.size() : 0)
+                .register(meterRegistry);
+        Gauge.builder("search.suggestions.bytes", this, s -> s.index != null ? s.index.estimatedBytes() : 0)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Suggestions from memory, or empty when the index cannot answer (not built
+     * yet, or trimmed by the memory budget and short of results) and the
+     * caller should ask the database.
+     */
+    public Optional<List<SearchSuggestionRecord>> suggest(String query, int eventLimit, int organizerLimit,
+                                                          int locationLimit) {
+        SuggestionIndex current = index;
+        if (current == null) {
+            return Optional.empty();
+        }
+
+        LinkedHashMap<String, Integer> limits = new LinkedHashMap<>();
+        limits.put(EVENT, eventLimit);
+        limits.put(ORGANIZER, organizerLimit);
+        limits.put(LOCATION, locationLimit);
+        List<SearchSuggestionRecord> results = current.search(query, limits);
+
+        if (!current.isComplete() && results.size() < eventLimit + organizerLimit + locationLimit) {
+            return Optional.empty();
+        }
+        return Optional.of(results);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            log.error("Could not build the suggestion index, typeahead falls back to the database", e);
+        }
+    }
+
+    public SuggestionIndexStatusDTO rebuild() {
+        writeLock.lock();
+        try {
+            Sources sources = loadSources();
+            Map<Integer, String> locations = new HashMap<>();
+            Map<String, Integer> counts = new HashMap<>();
+            SuggestionIndex fresh = new SuggestionIndex(maxBytes);
+
+            for (EventSuggestionSourceRecord event : sources.events()) {
+                if (StringUtils.hasText(event.location())) {
+                    locations.put(event.id(), event.location().trim());
+                    counts.merge(SuggestionIndex.normalize(event.location()), 1, Integer::sum);
+                }
+            }
+            // Heaviest entries first, so a tight budget only drops the long tail
+            candidates(sources).stream()
+                    .sorted(Comparator.comparingLong(Candidate::weight).reversed())
+                    .forEach(c -> fresh.put(c.type(), c.id(), c.text(), c.value(), c.weight()));
+
+            index = fresh;
+            eventLocations = locations;
+            locationCounts = counts;
+            builtAt = LocalDateTime.now();
+
+            if (!fresh.isComplete()) {
+                log.warn("Suggestion index hit its {} byte budget; some entries are only served by the database",
+                        maxBytes);
+            }
+            log.info("Built suggestion index with {} entries, ~{} bytes", fresh.size(), fresh.estimatedBytes());
+            return status(fresh);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public SuggestionIndexStatusDTO status() {
+        return status(index);
+    }
+
+    /**
+     * Compares indexed texts with what a rebuild would produce now. Weights
+     * are ignored; they drift with every registration and are refreshed by
+     * rebuilds.
+     */
+    public SuggestionIndexStatusDTO checkConsistency() {
+        writeLock.lock();
+        try {
+            SuggestionIndex current = index;
+            if (current == null) {
+                return status(null);
+            }
+
+            Map<String, String> expected = new HashMap<>();
+            candidates(loadSources()).forEach(c -> expected.putIfAbsent(SuggestionIndex.key(c.type(), c.id()), c.text()));
+            Map<String, String> actual = current.texts();
+
+            int missing = 0;
+            int stale = 0;
+            for (Map.Entry<String, String> entry : expected.entrySet()) {
+                String indexed = actual.get(entry.getKey());
+                if (indexed == null) {
+                    missing++;
+                } else if (!SuggestionIndex.normalize(indexed).equals(SuggestionIndex.normalize(entry.getValue()))) {
+                    stale++;
+                }
+            }
+            int extra = (int) actual.keySet().stream().filter(key -> !expected.containsKey(key)).count();
+
+            SuggestionIndexStatusDTO status = status(current);
+            status.setMissing(missing);
+            status.setStale(stale);
+            status.setExtra(extra);
+            // Entries left out by the memory budget are expected to be missing
+            status.setConsistent(stale == 0 && extra == 0 && (missing == 0 || !current.isComplete()));
+            return status;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Scheduled(initialDelayString = "${search.suggestions.check-interval:PT15M}",
+            fixedDelayString = "${search.suggestions.check-interval:PT15M}")
+    public void verifyAndRepair() {
+        SuggestionIndexStatusDTO status = checkConsistency();
+        if (Boolean.FALSE.equals(status.getConsistent())) {
+            log.warn("Suggestion index drifted from the database (missing {}, stale {}, extra {}), rebuilding",
+                    status.getMissing(), status.getStale(), status.getExtra());
+            rebuild();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChanged(EventChangedEvent event) {
+        writeLock.lock();
+        try {
+            SuggestionIndex current = index;
+            if (current == null) {
+                return;
+            }
+            Optional<EventSuggestionSourceRecord> source = readTransaction.execute(
+                    status -> eventRepository.findSuggestionSource(event.eventId()));
+            applyEvent(current, event.eventId(), source != null ? source.orElse(null) : null);
+        } catch (RuntimeException e) {
+            log.warn("Could not update suggestion index for event {}: {}", event.eventId(), e.getMessage());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrganizerApprovalChanged(OrganizerApprovalChangedEvent event) {
+        writeLock.lock();
+        try {
+            SuggestionIndex current = index;
+            if (current == null) {
+                return;
+            }
+            Optional<OrganizerSuggestionSourceRecord> source = readTransaction.execute(
+                    status -> organizerRepository.findSuggestionSource(event.organizerId()));
+            String id = String.valueOf(event.organizerId());
+            if (source != null && source.isPresent()) {
+                current.put(ORGANIZER, id, source.get().organizationName(), id, source.get().activeEvents());
+            } else {
+                current.remove(ORGANIZER, id);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not update suggestion index for organizer {}: {}", event.organizerId(), e.getMessage());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // Caller holds writeLock; source is null when the event is no longer active
+    private void applyEvent(SuggestionIndex current, int eventId, EventSuggestionSourceRecord source) {
+        String id = String.valueOf(eventId);
+        if (source != null) {
+            current.put(EVENT, id, source.title(), id, source.registrations());
+        } else {
+            current.remove(EVENT, id);
+        }
+
+        String oldLocation = eventLocations.remove(eventId);
+        String newLocation = source != null && StringUtils.hasText(source.location())
+                ? source.location().trim()
+                : null;
+        if (newLocation != null) {
+            eventLocations.put(eventId, newLocation);
+        }
+        adjustLocation(current, oldLocation, -1);
+        adjustLocation(current, newLocation, 1);
+    }
+
+    private void adjustLocation(SuggestionIndex current, String location, int delta) {
+        if (location == null) {
+            return;
+        }
+        String id = SuggestionIndex.normalize(location);
+        int count = locationCounts.merge(id, delta, Integer::sum);
+        if (count <= 0) {
+            locationCounts.remove(id);
+            current.remove(LOCATION, id);
+        } else {
+            String text = Optional.ofNullable(current.text(LOCATION, id)).orElse(location);
+            current.put(LOCATION, id, text, text, count);
+        }
+    }
+
+    private Sources loadSources() {
+        return readTransaction.execute(status -> new Sources(
+                eventRepository.findSuggestionSources(),
+                organizerRepository.findSuggestionSources()));
+    }
+
+    private static List<Candidate> candidates(Sources sources) {
+        List<Candidate> candidates = new ArrayList<>();
+        Map<String, String> locationTexts = new HashMap<>();
+        Map<String, Long> locationCounts = new HashMap<>();
+
+        for (EventSuggestionSourceRecord event : sources.events()) {
+            String id = String.valueOf(event.id());
+            candidates.add(new Candidate(EVENT, id, event.title(), id, event.registrations()));
+            if (StringUtils.hasText(event.location())) {
+                String location = SuggestionIndex.normalize(event.location());
+                locationTexts.putIfAbsent(location, event.location().trim());
+                locationCounts.merge(location, 1L, Long::sum);
+            }
+        }
+        locationTexts.forEach((id, text) -> candidates.add(
+                new Candidate(LOCATION, id, text, text, locationCounts.get(id))));
+        for (OrganizerSuggestionSourceRecord organizer : sources.organizers()) {
+            String id = String.valueOf(organizer.id());
+            candidates.add(new Candidate(ORGANIZER, id, organizer.organizationName(), id, organizer.activeEvents()));
+        }
+        return candidates;
+    }
+
+    private SuggestionIndexStatusDTO status(SuggestionIndex current) {
+        if (current == null) {
+            return SuggestionIndexStatusDTO.builder().ready(false).maxBytes(maxBytes).build();
+        }
+        return SuggestionIndexStatusDTO.builder()
+                .ready(true)
+                .complete(current.isComplete())
+                .entries(current.size())
+                .tokens(current.tokenCount())
+                .estimatedBytes(current.estimatedBytes())
+                .maxBytes(current.maxBytes())
+                .builtAt(builtAt)
+                .build();
+    }
+}
@@ -12,6 +12,7 @@ import com.example.treksathi.enums.AccountStatus;
 import com.example.treksathi.enums.Approval_status;
 import com.example.treksathi.enums.AuthProvidertype;
 import com.example.treksathi.enums.Role;
+import com.example.treksathi.event.UserRegisteredEvent;
 import com.example.treksathi.exception.InvalidCredentialsException;
 import com.example.treksathi.exception.OTPNotFoundException;
 import com.example.treksathi.exception.UnauthorizedException;
@@ -26,6 +27,7 @@ import com.example.treksathi.repository.UserRepository;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -65,6 +67,7 @@ public class UserServices implements IUserServices {
     private final IOTPUtil otpUtil;
     private final IRefreshTokenService refreshTokenService;
     private final InMemoryTokenBlacklist inMemoryTokenBlacklist;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public User signup(UserCreateDTO request) {
@@ -83,6 +86,7 @@ public class UserServices implements IUserServices {
             user.setPassword(hashedPassword);
             user.setRole(Role.HIKER); // default if invalid
             user = userRepository.save(user);
+            eventPublisher.publishEvent(new UserRegisteredEvent(user.getId(), user.getRole()));
             try {
                 sendRegistrationOTP(user);
             } catch (Exception e) {
@@ -378,6 +382,7 @@ public class UserServices implements IUserServices {
             newUser.setRole(Role.HIKER); // Default role
             newUser.setStatus(AccountStatus.ACTIVE); // OAuth users are automatically active
             user = userRepository.save(newUser);
+            eventPublisher.publishEvent(new UserRegisteredEvent(user.getId(), user.getRole()));
             log.info("New OAuth2 user created: {} via {}", email, providertype);
         } else if (user == null && emailUser != null) {
             // Link OAuth provider to existing user
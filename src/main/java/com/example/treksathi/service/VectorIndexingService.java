@@ -0,0 +1,351 @@
+package com.example.treksathi.service;
+
+import com.example.treksathi.dto.ChatBot.ChatbotResponseDTO;
+import com.example.treksathi.dto.search.VectorIndexStatusDTO;
+import com.example.treksathi.enums.EventStatus;
+import com.example.treksathi.event.EventChangedEvent;
+import com.example.treksathi.model.Event;
+import com.example.treksathi.model.VectorIndexTask;
+import com.example.treksathi.repository.EventRepository;
+import com.example.treksathi.repository.VectorIndexTaskRepository;
+import com.example.treksathi.util.InMemoryVectorStore;
+import com.example.treksathi.util.SemanticCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.qdrant.client.QdrantClient;
+import io.qdrant.client.grpc.Collections.PayloadSchemaInfo;
+import io.qdrant.client.grpc.Collections.PayloadSchemaType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the vector store in step with the events through an outbox. Every
+ * {@link EventChangedEvent} queues the event inside the writer's transaction;
+ * a scheduled worker takes due
+ * rows in batches, sends every upsert of a batch as one multi-document add
+ * (one embedding call and one upsert) and every removal as one delete. When
+ * that fails the batch's events are retried one at a time, so only the ones
+ * that fail on their own back off, exponentially. A row that fails
+ * {@code vector-index.retry.max-attempts} times is parked: it stays in the
+ * outbox, reported by {@link #status()}, until the event changes again or is
+ * reindexed. Cached chatbot answers that depend on
+ * a batch are dropped once the batch is in the store. {@link #reindexAll}
+ * queues every event, so a full rebuild is the same pipeline and survives
+ * restarts.
+ * <p>
+ * On startup the payload fields that retrieval filters on get Qdrant payload
+ * indexes. Creating them means the collection predates the typed payload, so
+ * every event is queued for reindexing as well. The in-process store is
+ * reindexed on every start: its snapshot only dates from the last clean
+ * shutdown, so it serves searches while the changes since then catch up.
+ * <p>
+ * The worker assumes a single application instance.
+ */
+@Service
+@Slf4j
+public class VectorIndexingService {
+
+    private static final int REINDEX_PAGE_SIZE = 500;
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private static final Map<String, PayloadSchemaType> PAYLOAD_INDEXES = Map.of(
+            VectorService.EVENT_ID, PayloadSchemaType.Integer,
+            VectorService.IS_ACTIVE, PayloadSchemaType.Bool,
+            VectorService.START_DATE, PayloadSchemaType.Integer,
+            VectorService.DIFFICULTY, PayloadSchemaType.Keyword,
+            VectorService.PRICE, PayloadSchemaType.Float);
+
+    private final VectorIndexTaskRepository taskRepository;
+    private final EventRepository eventRepository;
+    private final VectorService vectorService;
+    private final VectorStore vectorStore;
+    private final QdrantClient qdrantClient;
+    private final TransactionTemplate transactionTemplate;
+    private final SemanticCache<ChatbotResponseDTO> chatAnswerCache;
+    private final String collectionName;
+    private final int batchSize;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final int maxAttempts;
+
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong parked = new AtomicLong();
+    private final AtomicLong lagSeconds = new AtomicLong();
+    private final Counter upserted;
+    private final Counter deleted;
+    private final Counter failures;
+
+    public VectorIndexingService(VectorIndexTaskRepository taskRepository,
+                                 EventRepository eventRepository,
+                                 VectorService vectorService,
+                                 VectorStore vectorStore,
+                                 QdrantClient qdrantClient,
+                                 TransactionTemplate transactionTemplate,
+                                 SemanticCache<ChatbotResponseDTO> chatAnswerCache,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${spring.ai.vectorstore.qdrant.collection-name:vector_store}") String collectionName,
+                                 @Value("${vector-index.batch-size:32}") int batchSize,
+                                 @Value("${vector-index.retry.initial-backoff:PT10S}") Duration initialBackoff,
+                                 @Value("${vector-index.retry.max-backoff:PT30M}") Duration maxBackoff,
+                                 @Value("${vector-index.retry.max-attempts:10}") int maxAttempts) {
+        this.taskRepository = taskRepository;
+        this.eventRepository = eventRepository;
+        this.vectorService = vectorService;
+        this.vectorStore = vectorStore;
+        this.qdrantClient = qdrantClient;
+        this.transactionTemplate = transactionTemplate;
+        this.chatAnswerCache = chatAnswerCache;
+        this.collectionName = collectionName;
+        this.batchSize = batchSize;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.maxAttempts = maxAttempts;
+        this.upserted = Counter.builder("vector.index.documents").tag("operation", "upsert").register(meterRegistry);
+        this.deleted = Counter.builder("vector.index.documents").tag("operation", "delete").register(meterRegistry);
+        this.failures = Counter.builder("vector.index.failures").register(meterRegistry);
+        Gauge.builder("vector.index.pending", pending, AtomicLong::get).register(meterRegistry);
+        Gauge.builder("vector.index.parked", parked, AtomicLong::get).register(meterRegistry);
+        Gauge.builder("vector.index.lag.seconds", lagSeconds, AtomicLong::get).register(meterRegistry);
+    }
+
+    /**
+     * Records that the event's document must be rebuilt or removed. Joins the
+     * caller's transaction, so the work is only queued if the change commits.
+     */
+    public void enqueue(int eventId, boolean created) {
+        taskRepository.enqueue(eventId, created, LocalDateTime.now());
+    }
+
+    // Before commit, so the outbox row is written in the same transaction as the change.
+    // The repository's transactional enqueue covers the no-transaction fallback.
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onEventChanged(EventChangedEvent event) {
+        enqueue(event.eventId(), event.change() == EventChangedEvent.Change.CREATED);
+    }
+
+    /**
+     * Queues every event with an id above {@code afterEventId}, one page per
+     * transaction. Queuing is idempotent, so an interrupted run can simply be
+     * started again, or resumed from the last event id it reported.
+     */
+    public VectorIndexStatusDTO reindexAll(int afterEventId) {
+        int enqueued = 0;
+        int lastEventId = afterEventId;
+        while (true) {
+            List<Integer> ids = eventRepository.findIdsAfter(lastEventId, PageRequest.of(0, REINDEX_PAGE_SIZE));
+            if (ids.isEmpty()) {
+                break;
+            }
+            int from = lastEventId;
+            int through = ids.get(ids.size() - 1);
+            transactionTemplate.executeWithoutResult(status ->
+                    taskRepository.enqueueRange(from, through, LocalDateTime.now()));
+            enqueued += ids.size();
+            lastEventId = through;
+        }
+        log.info("Queued {} events for vector reindexing", enqueued);
+
+        VectorIndexStatusDTO status = status();
+        status.setEnqueued(enqueued);
+        status.setLastEventId(lastEventId);
+        return status;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void prepareVectorStore() {
+        if (vectorStore instanceof InMemoryVectorStore local) {
+            log.info("In-process vector store starts with {} documents, reindexing events", local.size());
+            reindexAll(0);
+            return;
+        }
+        try {
+            Map<String, PayloadSchemaInfo> existing = qdrantClient.getCollectionInfoAsync(collectionName).get()
+                    .getPayloadSchemaMap();
+            boolean created = false;
+            for (Map.Entry<String, PayloadSchemaType> index : PAYLOAD_INDEXES.entrySet()) {
+                if (!existing.containsKey(index.getKey())) {
+                    qdrantClient.createPayloadIndexAsync(collectionName, index.getKey(), index.getValue(),
+                            null, true, null, null).get();
+                    created = true;
+                }
+            }
+            if (created) {
+                log.info("Created payload indexes on {}, reindexing events with typed payloads", collectionName);
+                reindexAll(0);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            log.warn("Could not check payload indexes on {}: {}", collectionName, e.getMessage());
+        }
+    }
+
+    @Scheduled(initialDelayString = "${vector-index.poll-interval:PT5S}",
+            fixedDelayString = "${vector-index.poll-interval:PT5S}")
+    public void drain() {
+        try {
+            while (processBatch() == batchSize) {
+                // Keep going while full batches are due
+            }
+        } finally {
+            refreshLag();
+        }
+    }
+
+    public VectorIndexStatusDTO status() {
+        refreshLag();
+        return VectorIndexStatusDTO.builder()
+                .pending(pending.get())
+                .failing(taskRepository.countByAttemptsBetween(1, maxAttempts - 1))
+                .parked(parked.get())
+                .oldestRequestedAt(taskRepository.findOldestRequestedAt(maxAttempts))
+                .lagSeconds(lagSeconds.get())
+                .build();
+    }
+
+    private int processBatch() {
+        List<VectorIndexTask> tasks = taskRepository.findDue(LocalDateTime.now(), maxAttempts,
+                PageRequest.of(0, batchSize));
+        if (tasks.isEmpty()) {
+            return 0;
+        }
+
+        Map<VectorIndexTask, Document> upserts = new LinkedHashMap<>();
+        Map<VectorIndexTask, String> deletes = new LinkedHashMap<>();
+        // Documents read the events' element collections, so build them inside the transaction
+        transactionTemplate.executeWithoutResult(status -> {
+            Map<Integer, Event> events = eventRepository.findAllById(
+                            tasks.stream().map(VectorIndexTask::getEventId).toList()).stream()
+                    .collect(Collectors.toMap(Event::getId, Function.identity()));
+            for (VectorIndexTask task : tasks) {
+                Event event = events.get(task.getEventId());
+                if (event == null || event.getStatus() == EventStatus.DELETED) {
+                    deletes.put(task, vectorService.documentId(task.getEventId()));
+                } else {
+                    upserts.put(task, vectorService.toDocument(event));
+                }
+            }
+        });
+
+        try {
+            write(List.copyOf(upserts.values()), List.copyOf(deletes.values()));
+        } catch (RuntimeException e) {
+            if (tasks.size() == 1) {
+                markFailed(tasks.get(0), e);
+                return 0;
+            }
+            // One bad document fails the whole add, so find it rather than back off the whole batch
+            log.warn("Vector indexing of {} events failed, retrying them one at a time: {}",
+                    tasks.size(), e.getMessage());
+            List<VectorIndexTask> indexed = new ArrayList<>();
+            for (VectorIndexTask task : tasks) {
+                try {
+                    write(upserts.containsKey(task) ? List.of(upserts.get(task)) : List.of(),
+                            deletes.containsKey(task) ? List.of(deletes.get(task)) : List.of());
+                    indexed.add(task);
+                } catch (RuntimeException single) {
+                    markFailed(task, single);
+                }
+            }
+            if (!indexed.isEmpty()) {
+                markProcessed(indexed, (int) indexed.stream().filter(upserts::containsKey).count(),
+                        (int) indexed.stream().filter(deletes::containsKey).count());
+            }
+            // Stop draining; a store that is down would fail every batch this way
+            return 0;
+        }
+
+        markProcessed(tasks, upserts.size(), deletes.size());
+        return tasks.size();
+    }
+
+    private void write(List<Document> upserts, List<String> deletes) {
+        if (!upserts.isEmpty()) {
+            vectorStore.add(upserts);
+        }
+        if (!deletes.isEmpty()) {
+            vectorStore.delete(deletes);
+        }
+    }
+
+    private void markProcessed(List<VectorIndexTask> tasks, int upsertCount, int deleteCount) {
+        transactionTemplate.executeWithoutResult(status -> tasks.forEach(task ->
+                taskRepository.deleteProcessed(task.getId(), task.getRequestedAt())));
+        invalidateAnswers(tasks, upsertCount > 0);
+        upserted.increment(upsertCount);
+        deleted.increment(deleteCount);
+        log.debug("Indexed {} and removed {} event documents", upsertCount, deleteCount);
+    }
+
+    private void markFailed(VectorIndexTask task, RuntimeException e) {
+        failures.increment();
+        int attempts = task.getAttempts() + 1;
+        if (attempts >= maxAttempts) {
+            log.error("Vector indexing of event {} failed {} times, parking it until the event changes: {}",
+                    task.getEventId(), attempts, e.getMessage());
+        } else {
+            log.warn("Vector indexing of event {} failed, will retry: {}", task.getEventId(), e.getMessage());
+        }
+        LocalDateTime nextAttemptAt = LocalDateTime.now().plus(backoff(task.getAttempts()));
+        transactionTemplate.executeWithoutResult(status -> taskRepository.markFailed(task.getId(),
+                task.getRequestedAt(), nextAttemptAt, truncate(e.getMessage())));
+    }
+
+    // Answers are only stale once retrieval can see the change, so this runs after the store write
+    private void invalidateAnswers(List<VectorIndexTask> tasks, boolean upserted) {
+        // A new event may answer questions that previously cited other events or none
+        if (tasks.stream().anyMatch(VectorIndexTask::isCreated)) {
+            chatAnswerCache.invalidateAll();
+            return;
+        }
+        tasks.forEach(task -> chatAnswerCache.invalidateTag(task.getEventId()));
+        // A changed event may now answer questions that found nothing
+        if (upserted) {
+            chatAnswerCache.invalidateUntagged();
+        }
+    }
+
+    private Duration backoff(int attempts) {
+        Duration delay = initialBackoff.multipliedBy(1L << Math.min(attempts, 20));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    // Parked rows are left out of the lag, which would otherwise only ever grow while they stay
+    private void refreshLag() {
+        long total = taskRepository.count();
+        long parkedRows = taskRepository.countByAttemptsGreaterThanEqual(maxAttempts);
+        pending.set(total - parkedRows);
+        parked.set(parkedRows);
+        LocalDateTime oldest = taskRepository.findOldestRequestedAt(maxAttempts);
+        lagSeconds.set(oldest != null ? Math.max(0, Duration.between(oldest, LocalDateTime.now()).toSeconds()) : 0);
+    }
+
+    private static String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+    }
+}
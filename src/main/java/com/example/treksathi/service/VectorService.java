@@ -21,10 +21,30 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class VectorService {
 
+    // Typed payload fields that retrieval filters on; each has a Qdrant payload index
+    public static final String EVENT_ID = "eventId";
+    public static final String IS_ACTIVE = "isActive";
+    public static final String START_DATE = "startDate";
+    public static final String DIFFICULTY = "difficulty";
+    public static final String PRICE = "price";
+
     private final VectorStore vectorStore;
     private final EmbeddingModel embeddingModel;
 
     public void addToVectorStore(Event event) {
+        // Add to vector store (upsert if ID exists)
+        vectorStore.add(List.of(toDocument(event)));
+    }
+
+    public void deleteFromVectorStore(int eventId) {
+        vectorStore.delete(List.of(documentId(eventId)));
+    }
+
+    /**
+     * Builds the vector store document for an event. Reads the element
+     * collections, so call it while the event is still attached.
+     */
+    public Document toDocument(Event event) {
         if (event.getId() == 0) {
             throw new IllegalArgumentException("Event must have an ID before adding to vector store");
         }
@@ -32,46 +52,38 @@ public class VectorService {
         String content = buildEventTextForEmbedding(event);
 
         // Generate UUID from event ID for Qdrant compatibility
-        String documentId = generateUuidFromEventId(event.getId());
+        String documentId = documentId(event.getId());
 
         // Build metadata map - using HashMap for easier construction
         Map<String, Object> metadata = new HashMap<>();
         metadata.put("id", String.valueOf(event.getId()));
-        metadata.put("eventId", String.valueOf(event.getId()));
+        metadata.put(EVENT_ID, event.getId());
         metadata.put("type", "EVENT");
         metadata.put("title", event.getTitle());
         metadata.put("organizer", event.getOrganizer().getOrganization_name());
         metadata.put("location", event.getLocation());
-        metadata.put("difficulty", event.getDifficultyLevel().name());
-        metadata.put("price", String.valueOf(event.getPrice()));
-        metadata.put("startDate", event.getDate().toString());
-        metadata.put("durationDays", String.valueOf(event.getDurationDays()));
+        metadata.put(DIFFICULTY, event.getDifficultyLevel().name());
+        metadata.put(PRICE, event.getPrice());
+        metadata.put(START_DATE, event.getDate().toEpochDay());  // days since 1970-01-01, for range filters
+        metadata.put("durationDays", event.getDurationDays());
         metadata.put("status", event.getStatus().name());
-        metadata.put("maxParticipants", String.valueOf(event.getMaxParticipants()));
-        metadata.put("isActive", String.valueOf(event.getStatus() == EventStatus.ACTIVE));
+        metadata.put("maxParticipants", event.getMaxParticipants());
+        metadata.put(IS_ACTIVE, event.getStatus() == EventStatus.ACTIVE);
         metadata.put("createdAt", event.getCreatedAt() != null ? event.getCreatedAt().toString() : "");
 
         // Create document with UUID and metadata
-        Document doc = new Document(
+        return new Document(
                 documentId,     // UUID format required by Qdrant
                 content,        // Content to embed
                 metadata        // Metadata
         );
-
-        // Add to vector store (upsert if ID exists)
-        vectorStore.add(List.of(doc));
-    }
-
-    public void deleteFromVectorStore(int eventId) {
-        String documentId = generateUuidFromEventId(eventId);
-        vectorStore.delete(List.of(documentId));
     }
 
     /**
      * Generate deterministic UUID from event ID
      * This ensures same event ID always generates same UUID
      */
-    private String generateUuidFromEventId(int eventId) {
+    public String documentId(int eventId) {
         // Simple approach: pad with zeros to create valid UUID
         return String.format("00000000-0000-0000-0000-%012d", eventId);
     }
@@ -169,4 +181,4 @@ public class VectorService {
                 String.join(", ", event.getRequirements())
         ).trim();
     }
-}
\ No newline at end of file
+}
\ No newline at end of file
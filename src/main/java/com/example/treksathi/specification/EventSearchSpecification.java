@@ -1,23 +1,40 @@
 package com.example.treksathi.specification;
 
+import com.example.treksathi.config.PostgresSearchFunctionContributor;
 import com.example.treksathi.dto.search.SearchCriteria;
 import com.example.treksathi.enums.EventStatus;
 import com.example.treksathi.model.Event;
 import com.example.treksathi.model.Organizer;
+import com.example.treksathi.util.GeoHash;
 import jakarta.persistence.criteria.*;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 
 @Slf4j
 public class EventSearchSpecification {
 
+    private static final int MAX_COVER_CELLS = 16;
+
+    @SuppressWarnings("unchecked")
     public static Specification<Event> searchEvents(SearchCriteria criteria) {
         return (root, query, criteriaBuilder) -> {
             List<Predicate> predicates = new ArrayList<>();
 
+            // Load each result's organizer, its user and the event's chat room in the same statement; all three are
+            // eager, so leaving them out costs a select per row. Count and facet queries must not fetch.
+            // Hibernate's fetches are joins too, so the organizer name filter reuses it
+            Join<Event, Organizer> organizer = null;
+            if (Event.class.equals(query.getResultType())) {
+                Fetch<Event, Organizer> organizerFetch = root.fetch("organizer", JoinType.INNER);
+                organizerFetch.fetch("user", JoinType.INNER);
+                root.fetch("chatRoom", JoinType.LEFT);
+                organizer = (Join<Event, Organizer>) organizerFetch;
+            }
+
             // ── Status handling ───────────────────────────────────────────────
             if (criteria.getOrganizerId() != null) {
                 // Organizer viewing their own events
@@ -42,30 +59,23 @@ public class EventSearchSpecification {
             }
 
 
-            // Text search in title, description, location
+            // Full-text search over title (weight A), location (B) and description (C), served by the GIN index
             if (criteria.getQuery() != null && !criteria.getQuery().trim().isEmpty()) {
-                String searchPattern = "%" + criteria.getQuery().toLowerCase() + "%";
-
-                Predicate titlePredicate = criteriaBuilder.like(
-                        criteriaBuilder.lower(root.get("title")),
-                        searchPattern
-                );
-
-                Predicate descriptionPredicate = criteriaBuilder.like(
-                        criteriaBuilder.lower(root.get("description")),
-                        searchPattern
-                );
-
-                Predicate locationPredicate = criteriaBuilder.like(
-                        criteriaBuilder.lower(root.get("location")),
-                        searchPattern
-                );
-
-                predicates.add(criteriaBuilder.or(
-                        titlePredicate,
-                        descriptionPredicate,
-                        locationPredicate
-                ));
+                // Any event column will do: the functions read search_vector from its table
+                Expression<Integer> event = root.get("id");
+                Expression<String> searchText = criteriaBuilder.literal(criteria.getQuery().trim());
+
+                predicates.add(criteriaBuilder.isTrue(criteriaBuilder.function(
+                        PostgresSearchFunctionContributor.FTS_MATCH, Boolean.class, event, searchText)));
+
+                // Relevance cannot be expressed as a Sort property, so it is ordered here; count and facet queries skip it
+                if ("relevance".equalsIgnoreCase(criteria.getSortBy()) && !criteria.isScrollMode()
+                        && Event.class.equals(query.getResultType())) {
+                    query.orderBy(
+                            criteriaBuilder.desc(criteriaBuilder.function(
+                                    PostgresSearchFunctionContributor.FTS_RANK, Double.class, event, searchText)),
+                            criteriaBuilder.asc(root.get("id")));
+                }
             }
 
             // Difficulty level filter
@@ -128,18 +138,19 @@ public class EventSearchSpecification {
 
             // Organizer name filter
             if (criteria.getOrganizerName() != null && !criteria.getOrganizerName().trim().isEmpty()) {
-                Join<Event, Organizer> organizerJoin = root.join("organizer", JoinType.INNER);
+                if (organizer == null) {
+                    organizer = root.join("organizer", JoinType.INNER);
+                }
                 predicates.add(criteriaBuilder.like(
-                        criteriaBuilder.lower(organizerJoin.get("organization_name")),
+                        criteriaBuilder.lower(organizer.get("organization_name")),
                         "%" + criteria.getOrganizerName().toLowerCase() + "%"
                 ));
             }
 
-            // Organizer ID filter
+            // Organizer ID filter, on the event's foreign key without a join
             if (criteria.getOrganizerId() != null) {
-                Join<Event, Organizer> organizerJoin = root.join("organizer", JoinType.INNER);
                 predicates.add(criteriaBuilder.equal(
-                        organizerJoin.get("id"),
+                        root.get("organizer").get("id"),
                         criteria.getOrganizerId()
                 ));
             }
@@ -147,4 +158,47 @@ public class EventSearchSpecification {
             return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
         };
     }
+
+    /**
+     * Events within the radius. The geohash cells covering the circle are
+     * range scans on the geohash index, so only events in nearby cells are
+     * measured; the exact distance then trims the cell corners.
+     */
+    public static Specification<Event> within(double latitude, double longitude, double radiusKm,
+                                              boolean orderByDistance) {
+        return (root, query, criteriaBuilder) -> {
+            Expression<String> geohash = root.get("geohash");
+            Predicate inCells = criteriaBuilder.or(GeoHash.cover(latitude, longitude, radiusKm, MAX_COVER_CELLS).stream()
+                    .map(cell -> criteriaBuilder.between(geohash, cell, GeoHash.upperBound(cell)))
+                    .toArray(Predicate[]::new));
+            Expression<Double> distance = criteriaBuilder.function(
+                    PostgresSearchFunctionContributor.GEO_DISTANCE_KM, Double.class,
+                    root.get("latitude"), root.get("longitude"),
+                    criteriaBuilder.literal(latitude), criteriaBuilder.literal(longitude));
+
+            // Like relevance, distance is not a Sort property; count and facet queries skip it
+            if (orderByDistance && Event.class.equals(query.getResultType())) {
+                query.orderBy(criteriaBuilder.asc(distance), criteriaBuilder.asc(root.get("id")));
+            }
+            return criteriaBuilder.and(inCells, criteriaBuilder.le(distance, radiusKm));
+        };
+    }
+
+    /**
+     * Rows strictly after (date, id) in the given direction, for scroll pages
+     * ordered by date with id as tie-breaker.
+     */
+    public static Specification<Event> seekPast(LocalDate date, int id, boolean descending) {
+        return (root, query, criteriaBuilder) -> {
+            Expression<LocalDate> eventDate = root.get("date");
+            Expression<Integer> eventId = root.get("id");
+            return descending
+                    ? criteriaBuilder.or(
+                            criteriaBuilder.lessThan(eventDate, date),
+                            criteriaBuilder.and(criteriaBuilder.equal(eventDate, date), criteriaBuilder.lessThan(eventId, id)))
+                    : criteriaBuilder.or(
+                            criteriaBuilder.greaterThan(eventDate, date),
+                            criteriaBuilder.and(criteriaBuilder.equal(eventDate, date), criteriaBuilder.greaterThan(eventId, id)));
+        };
+    }
 }
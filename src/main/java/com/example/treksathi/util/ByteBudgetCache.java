@@ -0,0 +1,146 @@
+package com.example.treksathi.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * In-process cache that keeps values as serialized JSON and is bounded by the
+ * total payload size rather than the entry count. Least recently used entries
+ * are evicted once the byte budget is exceeded. {@link #invalidateAll()} bumps
+ * a generation counter, so loads that started before the invalidation are
+ * served but never stored.
+ * <p>
+ * Every hit deserializes a fresh copy, so callers may modify what they get.
+ */
+@Slf4j
+public class ByteBudgetCache<K, V> {
+
+    private record Entry(byte[] payload, long generation, long expiresAt) {
+    }
+
+    private final String name;
+    private final Class<V> type;
+    private final ObjectMapper objectMapper;
+    private final long ttlNanos;
+    private final long maxBytes;
+
+    // Access-ordered, so iteration starts at the least recently used entry; guarded by lock
+    private final LinkedHashMap<K, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final ReentrantLock lock = new ReentrantLock();
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicLong bytes = new AtomicLong();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public ByteBudgetCache(String name, Class<V> type, ObjectMapper objectMapper, Duration ttl, long maxBytes,
+                           MeterRegistry meterRegistry) {
+        this.name = name;
+        this.type = type;
+        this.objectMapper = objectMapper;
+        this.ttlNanos = ttl.toNanos();
+        this.maxBytes = maxBytes;
+        this.hits = Counter.builder("cache.gets").tag("cache", name).tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("cache.gets").tag("cache", name).tag("result", "miss").register(meterRegistry);
+        this.evictions = Counter.builder("cache.evictions").tag("cache", name).register(meterRegistry);
+        Gauge.builder("cache.size", entries, Map::size).tag("cache", name).register(meterRegistry);
+        Gauge.builder("cache.bytes", bytes, AtomicLong::get).tag("cache", name).register(meterRegistry);
+    }
+
+    public V get(K key, Supplier<V> loader) {
+        long loadGeneration = generation.get();
+        byte[] payload = lookup(key, loadGeneration);
+        if (payload != null) {
+            try {
+                V value = objectMapper.readValue(payload, type);
+                hits.increment();
+                return value;
+            } catch (IOException e) {
+                log.warn("Discarding unreadable {} cache entry: {}", name, e.getMessage());
+            }
+        }
+
+        misses.increment();
+        V value = loader.get();
+        store(key, value, loadGeneration);
+        return value;
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        lock.lock();
+        try {
+            entries.clear();
+            bytes.set(0);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private byte[] lookup(K key, long currentGeneration) {
+        lock.lock();
+        try {
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.generation() != currentGeneration || System.nanoTime() - entry.expiresAt() >= 0) {
+                entries.remove(key);
+                bytes.addAndGet(-entry.payload().length);
+                return null;
+            }
+            return entry.payload();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void store(K key, V value, long loadGeneration) {
+        byte[] payload;
+        try {
+            payload = objectMapper.writeValueAsBytes(value);
+        } catch (IOException e) {
+            log.warn("Could not serialize {} cache entry: {}", name, e.getMessage());
+            return;
+        }
+        if (payload.length > maxBytes) {
+            return;
+        }
+
+        lock.lock();
+        try {
+            // Invalidated while loading: the caller gets the value but it is not kept
+            if (loadGeneration != generation.get()) {
+                return;
+            }
+            Entry previous = entries.put(key, new Entry(payload, loadGeneration, System.nanoTime() + ttlNanos));
+            if (previous != null) {
+                bytes.addAndGet(-previous.payload().length);
+            }
+            bytes.addAndGet(payload.length);
+
+            Iterator<Map.Entry<K, Entry>> eldest = entries.entrySet().iterator();
+            while (bytes.get() > maxBytes && eldest.hasNext()) {
+                Map.Entry<K, Entry> candidate = eldest.next();
+                eldest.remove();
+                bytes.addAndGet(-candidate.getValue().payload().length);
+                evictions.increment();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+}
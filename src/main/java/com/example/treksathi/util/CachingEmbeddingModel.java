@@ -0,0 +1,101 @@
+package com.example.treksathi.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Embedding model decorator that remembers the embeddings of the most recently
+ * used query texts. Only {@link #embed(String)} is cached, which is what vector
+ * stores call for a similarity search; document and batch embeddings used for
+ * indexing always go to the delegate.
+ * <p>
+ * Concurrent misses for the same text may both call the delegate; the results
+ * are identical, so the last one simply wins.
+ */
+public class CachingEmbeddingModel implements EmbeddingModel {
+
+    private final EmbeddingModel delegate;
+    private final int maxEntries;
+
+    // Access-ordered, so iteration starts at the least recently used entry; guarded by lock
+    private final LinkedHashMap<String, float[]> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public CachingEmbeddingModel(EmbeddingModel delegate, int maxEntries, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.maxEntries = maxEntries;
+        this.hits = Counter.builder("cache.gets").tag("cache", "query-embeddings").tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("cache.gets").tag("cache", "query-embeddings").tag("result", "miss")
+                .register(meterRegistry);
+        this.evictions = Counter.builder("cache.evictions").tag("cache", "query-embeddings").register(meterRegistry);
+        Gauge.builder("cache.size", entries, Map::size).tag("cache", "query-embeddings").register(meterRegistry);
+    }
+
+    @Override
+    public float[] embed(String text) {
+        float[] cached = lookup(text);
+        if (cached != null) {
+            hits.increment();
+            return cached.clone();
+        }
+
+        misses.increment();
+        float[] embedding = delegate.embed(text);
+        store(text, embedding.clone());
+        return embedding;
+    }
+
+    @Override
+    public float[] embed(Document document) {
+        return delegate.embed(document);
+    }
+
+    @Override
+    public EmbeddingResponse call(EmbeddingRequest request) {
+        return delegate.call(request);
+    }
+
+    @Override
+    public int dimensions() {
+        return delegate.dimensions();
+    }
+
+    private float[] lookup(String text) {
+        lock.lock();
+        try {
+            return entries.get(text);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void store(String text, float[] embedding) {
+        lock.lock();
+        try {
+            entries.put(text, embedding);
+            Iterator<String> eldest = entries.keySet().iterator();
+            while (entries.size() > maxEntries && eldest.hasNext()) {
+                eldest.next();
+                eldest.remove();
+                evictions.increment();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+}
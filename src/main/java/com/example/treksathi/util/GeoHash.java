@@ -0,0 +1,114 @@
+package com.example.treksathi.util;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Geohash encoding and cell cover for radius searches. A geohash names a
+ * rectangular cell, and every longer hash sharing its prefix lies inside it,
+ * so the events in a cell are one range of the sorted geohash column.
+ */
+public final class GeoHash {
+
+    public static final int STORED_PRECISION = 6;
+
+    private static final String BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz";
+    private static final double EARTH_RADIUS_KM = 6371.0;
+    private static final double KM_PER_DEGREE_LATITUDE = 111.32;
+
+    private GeoHash() {
+    }
+
+    public static String encode(double latitude, double longitude, int precision) {
+        double minLat = -90, maxLat = 90, minLon = -180, maxLon = 180;
+        StringBuilder hash = new StringBuilder(precision);
+        boolean evenBit = true;
+        int bit = 0, ch = 0;
+
+        while (hash.length() < precision) {
+            if (evenBit) {
+                double mid = (minLon + maxLon) / 2;
+                if (longitude >= mid) {
+                    ch = (ch << 1) | 1;
+                    minLon = mid;
+                } else {
+                    ch <<= 1;
+                    maxLon = mid;
+                }
+            } else {
+                double mid = (minLat + maxLat) / 2;
+                if (latitude >= mid) {
+                    ch = (ch << 1) | 1;
+                    minLat = mid;
+                } else {
+                    ch <<= 1;
+                    maxLat = mid;
+                }
+            }
+            evenBit = !evenBit;
+            if (++bit == 5) {
+                hash.append(BASE32.charAt(ch));
+                bit = 0;
+                ch = 0;
+            }
+        }
+        return hash.toString();
+    }
+
+    /**
+     * Cells that together contain every point within the radius, at the finest
+     * precision (at most {@link #STORED_PRECISION}) that needs no more than
+     * {@code maxCells} cells.
+     */
+    public static List<String> cover(double latitude, double longitude, double radiusKm, int maxCells) {
+        double latSpan = radiusKm / KM_PER_DEGREE_LATITUDE;
+        double lonSpan = radiusKm / (KM_PER_DEGREE_LATITUDE * Math.max(Math.cos(Math.toRadians(latitude)), 0.01));
+        double minLat = Math.max(latitude - latSpan, -90), maxLat = Math.min(latitude + latSpan, 90);
+        double minLon = longitude - lonSpan, maxLon = longitude + lonSpan;
+
+        for (int precision = STORED_PRECISION; precision > 1; precision--) {
+            double cellLat = 180 / Math.pow(2, Math.floor(5 * precision / 2.0));
+            double cellLon = 360 / Math.pow(2, Math.ceil(5 * precision / 2.0));
+            long cells = (long) (Math.floor((maxLat + 90) / cellLat) - Math.floor((minLat + 90) / cellLat) + 1)
+                    * (long) (Math.floor((maxLon + 180) / cellLon) - Math.floor((minLon + 180) / cellLon) + 1);
+            if (cells <= maxCells) {
+                return cells(minLat, maxLat, minLon, maxLon, cellLat, cellLon, precision);
+            }
+        }
+        return cells(minLat, maxLat, minLon, maxLon, 180 / 4.0, 360 / 8.0, 1);
+    }
+
+    /**
+     * Upper bound of the stored hashes inside a cell, for a
+     * {@code geohash BETWEEN cell AND upperBound(cell)} range scan.
+     */
+    public static String upperBound(String cell) {
+        return cell + "z".repeat(Math.max(0, STORED_PRECISION - cell.length()));
+    }
+
+    public static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.pow(Math.sin(dLat / 2), 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.pow(Math.sin(dLon / 2), 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    private static List<String> cells(double minLat, double maxLat, double minLon, double maxLon,
+                                      double cellLat, double cellLon, int precision) {
+        Set<String> cells = new LinkedHashSet<>();
+        // Step through cell centres so each probe lands inside exactly one cell
+        for (double lat = (Math.floor((minLat + 90) / cellLat) + 0.5) * cellLat - 90; lat < maxLat + cellLat / 2; lat += cellLat) {
+            for (double lon = (Math.floor((minLon + 180) / cellLon) + 0.5) * cellLon - 180; lon < maxLon + cellLon / 2; lon += cellLon) {
+                cells.add(encode(Math.min(lat, 90), wrapLongitude(lon), precision));
+            }
+        }
+        return new ArrayList<>(cells);
+    }
+
+    private static double wrapLongitude(double longitude) {
+        return ((longitude + 180) % 360 + 360) % 360 - 180;
+    }
+}
@@ -0,0 +1,337 @@
+package com.example.treksathi.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.vectorstore.SearchRequest;
+import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.ai.vectorstore.filter.Filter;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Vector store kept in process. Embeddings are normalized to unit length and
+ * stored as consecutive rows of one off-heap float buffer, so a search is a
+ * dot product (the cosine similarity) over contiguous memory. Every row is
+ * scored; at the few thousand events this holds, that is faster than keeping
+ * an approximate index up to date. Filter expressions are evaluated against the
+ * document metadata by {@link MetadataFilter}.
+ * <p>
+ * When a snapshot directory is configured, {@link #saveSnapshot()} writes the
+ * matrix through a memory-mapped file, with the documents as JSON beside it,
+ * and {@link #loadSnapshot()} reads them back. Both files are written to a
+ * temporary directory that then replaces the previous snapshot, so a load
+ * never sees a mix of two snapshots. Searches share a read lock; writes take
+ * the write lock.
+ */
+@Slf4j
+public class InMemoryVectorStore implements VectorStore {
+
+    private static final int INITIAL_ROWS = 256;
+    private static final String VECTORS_FILE = "vectors.f32";
+    private static final String DOCUMENTS_FILE = "documents.json";
+    private static final String SNAPSHOT = "snapshot";
+    private static final String SNAPSHOT_TMP = "snapshot.tmp";
+    private static final String SNAPSHOT_OLD = "snapshot.old";
+
+    record StoredDocument(String id, String content, Map<String, Object> metadata) {
+    }
+
+    record Snapshot(int dimensions, List<StoredDocument> documents) {
+    }
+
+    private record Scored(int row, double score) {
+    }
+
+    private final EmbeddingModel embeddingModel;
+    private final ObjectMapper objectMapper;
+    private final Path snapshotDirectory;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Row i of the matrix is the embedding of documents.get(i); all guarded by lock
+    private FloatBuffer matrix;
+    private int dimensions;
+    private final List<StoredDocument> documents = new ArrayList<>();
+    private final Map<String, Integer> rows = new HashMap<>();
+
+    /**
+     * @param snapshotDirectory where snapshots are kept, or null for none
+     */
+    public InMemoryVectorStore(EmbeddingModel embeddingModel, ObjectMapper objectMapper, Path snapshotDirectory) {
+        this.embeddingModel = embeddingModel;
+        this.objectMapper = objectMapper;
+        this.snapshotDirectory = snapshotDirectory;
+    }
+
+    @Override
+    public void add(List<Document> newDocuments) {
+        if (newDocuments.isEmpty()) {
+            return;
+        }
+        // One batched embedding call, made before taking the lock
+        List<float[]> embeddings = embeddingModel.embed(newDocuments.stream().map(Document::getContent).toList());
+
+        lock.writeLock().lock();
+        try {
+            for (int i = 0; i < newDocuments.size(); i++) {
+                Document document = newDocuments.get(i);
+                put(new StoredDocument(document.getId(), document.getContent(), new HashMap<>(document.getMetadata())),
+                        normalize(embeddings.get(i)));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<Boolean> delete(List<String> ids) {
+        lock.writeLock().lock();
+        try {
+            boolean allFound = true;
+            for (String id : ids) {
+                Integer row = rows.remove(id);
+                if (row == null) {
+                    allFound = false;
+                    continue;
+                }
+                // Move the last row into the gap so the matrix stays dense
+                int last = documents.size() - 1;
+                if (row != last) {
+                    StoredDocument moved = documents.get(last);
+                    documents.set(row, moved);
+                    rows.put(moved.id(), row);
+                    matrix.put(row * dimensions, matrix, last * dimensions, dimensions);
+                }
+                documents.remove(last);
+            }
+            return Optional.of(allFound);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Document> similaritySearch(SearchRequest request) {
+        float[] query = normalize(embeddingModel.embed(request.getQuery()));
+        Filter.Expression filter = request.getFilterExpression();
+        int topK = request.getTopK();
+
+        lock.readLock().lock();
+        try {
+            if (documents.isEmpty()) {
+                return List.of();
+            }
+            if (query.length != dimensions) {
+                throw new IllegalArgumentException(
+                        "Query has " + query.length + " dimensions, the store holds " + dimensions);
+            }
+
+            // Min-heap of the best rows so far
+            PriorityQueue<Scored> best = new PriorityQueue<>(Comparator.comparingDouble(Scored::score));
+            float[] vector = new float[dimensions];
+            for (int row = 0; row < documents.size(); row++) {
+                matrix.get(row * dimensions, vector);
+                double score = dot(query, vector);
+                if (score < request.getSimilarityThreshold()
+                        || (best.size() == topK && score <= best.peek().score())) {
+                    continue;
+                }
+                if (filter != null && !MetadataFilter.matches(filter, documents.get(row).metadata())) {
+                    continue;
+                }
+                best.add(new Scored(row, score));
+                if (best.size() > topK) {
+                    best.poll();
+                }
+            }
+
+            List<Document> results = new ArrayList<>(best.size());
+            best.stream()
+                    .sorted(Comparator.comparingDouble(Scored::score).reversed())
+                    .forEach(scored -> {
+                        StoredDocument stored = documents.get(scored.row());
+                        Map<String, Object> metadata = new HashMap<>(stored.metadata());
+                        metadata.put("distance", (float) (1 - scored.score()));
+                        results.add(new Document(stored.id(), stored.content(), metadata));
+                    });
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void saveSnapshot() throws IOException {
+        if (snapshotDirectory == null) {
+            return;
+        }
+        lock.readLock().lock();
+        try {
+            if (documents.isEmpty()) {
+                return;
+            }
+            Path tmp = snapshotDirectory.resolve(SNAPSHOT_TMP);
+            deleteDirectory(tmp);
+            Files.createDirectories(tmp);
+            Path vectors = tmp.resolve(VECTORS_FILE);
+            long bytes = (long) documents.size() * dimensions * Float.BYTES;
+            try (FileChannel channel = FileChannel.open(vectors, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, bytes);
+                mapped.order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer()
+                        .put(matrix.duplicate().position(0).limit(documents.size() * dimensions));
+                mapped.force();
+            }
+            objectMapper.writeValue(tmp.resolve(DOCUMENTS_FILE).toFile(), new Snapshot(dimensions, documents));
+
+            // A directory cannot be renamed over a non-empty one, so the previous snapshot steps
+            // aside first; until the new one is in place, a load falls back to it
+            Path current = snapshotDirectory.resolve(SNAPSHOT);
+            Path old = snapshotDirectory.resolve(SNAPSHOT_OLD);
+            deleteDirectory(old);
+            if (Files.exists(current)) {
+                Files.move(current, old, StandardCopyOption.ATOMIC_MOVE);
+            }
+            Files.move(tmp, current, StandardCopyOption.ATOMIC_MOVE);
+            deleteDirectory(old);
+            log.info("Saved vector store snapshot with {} documents to {}", documents.size(), snapshotDirectory);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the contents with the last snapshot, if there is one.
+     *
+     * @return whether a snapshot was loaded
+     */
+    public boolean loadSnapshot() throws IOException {
+        if (snapshotDirectory == null) {
+            return false;
+        }
+        Path directory = snapshotDirectory.resolve(SNAPSHOT);
+        if (!Files.exists(directory)) {
+            directory = snapshotDirectory.resolve(SNAPSHOT_OLD);
+            if (!Files.exists(directory)) {
+                return false;
+            }
+        }
+        Snapshot snapshot = objectMapper.readValue(directory.resolve(DOCUMENTS_FILE).toFile(), Snapshot.class);
+        int count = snapshot.documents().size();
+        if (count == 0) {
+            return false;
+        }
+
+        lock.writeLock().lock();
+        try (FileChannel channel = FileChannel.open(directory.resolve(VECTORS_FILE), StandardOpenOption.READ)) {
+            long bytes = (long) count * snapshot.dimensions() * Float.BYTES;
+            if (channel.size() != bytes) {
+                throw new IOException("Vector file does not match the snapshot documents");
+            }
+            FloatBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, bytes)
+                    .order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer();
+
+            dimensions = snapshot.dimensions();
+            matrix = allocate(Math.max(INITIAL_ROWS, count) * dimensions);
+            matrix.put(0, mapped, 0, count * dimensions);
+            documents.clear();
+            rows.clear();
+            for (StoredDocument document : snapshot.documents()) {
+                rows.put(document.id(), documents.size());
+                documents.add(document);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Loaded vector store snapshot with {} documents from {}", count, directory);
+        return true;
+    }
+
+    private void put(StoredDocument document, float[] vector) {
+        if (matrix == null) {
+            dimensions = vector.length;
+            matrix = allocate(INITIAL_ROWS * dimensions);
+        }
+        if (vector.length != dimensions) {
+            throw new IllegalArgumentException(
+                    "Embedding has " + vector.length + " dimensions, the store holds " + dimensions);
+        }
+
+        Integer row = rows.get(document.id());
+        if (row == null) {
+            row = documents.size();
+            if ((row + 1) * dimensions > matrix.capacity()) {
+                FloatBuffer grown = allocate(matrix.capacity() * 2);
+                grown.put(0, matrix, 0, row * dimensions);
+                matrix = grown;
+            }
+            documents.add(document);
+            rows.put(document.id(), row);
+        } else {
+            documents.set(row, document);
+        }
+        matrix.put(row * dimensions, vector);
+    }
+
+    private static void deleteDirectory(Path directory) throws IOException {
+        if (!Files.exists(directory)) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.toList()) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+
+    private static FloatBuffer allocate(int floats) {
+        return ByteBuffer.allocateDirect(floats * Float.BYTES).order(ByteOrder.nativeOrder()).asFloatBuffer();
+    }
+
+    private static float[] normalize(float[] vector) {
+        double norm = Math.sqrt(dot(vector, vector));
+        float[] unit = new float[vector.length];
+        if (norm > 0) {
+            for (int i = 0; i < vector.length; i++) {
+                unit[i] = (float) (vector[i] / norm);
+            }
+        }
+        return unit;
+    }
+
+    private static double dot(float[] a, float[] b) {
+        float sum = 0;
+        for (int i = 0; i < a.length; i++) {
+            sum += a[i] * b[i];
+        }
+        return sum;
+    }
+}
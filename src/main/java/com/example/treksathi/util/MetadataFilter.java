@@ -0,0 +1,79 @@
+package com.example.treksathi.util;
+
+import org.springframework.ai.vectorstore.filter.Filter;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Evaluates a vector store filter expression against a document's metadata,
+ * for stores that filter in process. Numbers compare by value whatever their
+ * boxed type, so an Integer payload matches a Long in the filter. A missing
+ * key only satisfies NE and NIN, as in Qdrant.
+ */
+public final class MetadataFilter {
+
+    private MetadataFilter() {
+    }
+
+    public static boolean matches(Filter.Operand operand, Map<String, Object> metadata) {
+        if (operand instanceof Filter.Group group) {
+            return matches(group.content(), metadata);
+        }
+        if (!(operand instanceof Filter.Expression expression)) {
+            throw new IllegalArgumentException("Not a filter expression: " + operand);
+        }
+
+        return switch (expression.type()) {
+            case AND -> matches(expression.left(), metadata) && matches(expression.right(), metadata);
+            case OR -> matches(expression.left(), metadata) || matches(expression.right(), metadata);
+            case NOT -> !matches(expression.left(), metadata);
+            case IN, NIN -> {
+                Object actual = metadata.get(key(expression.left()));
+                boolean found = actual != null && values(expression.right()).stream()
+                        .anyMatch(value -> compare(actual, value) == 0);
+                yield expression.type() == Filter.ExpressionType.IN ? found : !found;
+            }
+            default -> {
+                Object actual = metadata.get(key(expression.left()));
+                if (actual == null) {
+                    yield expression.type() == Filter.ExpressionType.NE;
+                }
+                int comparison = compare(actual, ((Filter.Value) expression.right()).value());
+                yield switch (expression.type()) {
+                    case EQ -> comparison == 0;
+                    case NE -> comparison != 0;
+                    case GT -> comparison > 0;
+                    case GTE -> comparison >= 0;
+                    case LT -> comparison < 0;
+                    case LTE -> comparison <= 0;
+                    default -> throw new IllegalArgumentException("Unsupported filter operator: " + expression.type());
+                };
+            }
+        };
+    }
+
+    private static String key(Filter.Operand operand) {
+        String key = ((Filter.Key) operand).key();
+        // Keys with special characters arrive quoted from the text parser
+        if (key.length() > 1 && (key.startsWith("\"") || key.startsWith("'"))) {
+            return key.substring(1, key.length() - 1);
+        }
+        return key;
+    }
+
+    private static List<?> values(Filter.Operand operand) {
+        Object value = ((Filter.Value) operand).value();
+        return value instanceof List<?> list ? list : List.of(value);
+    }
+
+    private static int compare(Object actual, Object expected) {
+        if (actual instanceof Number a && expected instanceof Number e) {
+            return Double.compare(a.doubleValue(), e.doubleValue());
+        }
+        if (actual instanceof Boolean a && expected instanceof Boolean e) {
+            return a.compareTo(e);
+        }
+        return actual.toString().compareTo(String.valueOf(expected));
+    }
+}
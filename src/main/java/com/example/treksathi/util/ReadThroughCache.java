@@ -0,0 +1,127 @@
+package com.example.treksathi.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Small in-process read-through cache with a per-entry TTL and a bound on the
+ * number of entries. Concurrent misses for the same key share one load, and
+ * hits, misses and evictions are published as Micrometer cache metrics.
+ */
+public class ReadThroughCache<K, V> {
+
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    private static final class Entry<V> {
+        private final CompletableFuture<V> value = new CompletableFuture<>();
+        private final long generation;
+        // Stays at MAX_VALUE while loading so waiters join the load instead of starting another
+        private volatile long expiresAt = Long.MAX_VALUE;
+
+        private Entry(long generation) {
+            this.generation = generation;
+        }
+
+        private boolean isExpired(long now) {
+            return expiresAt != Long.MAX_VALUE && now - expiresAt >= 0;
+        }
+    }
+
+    public ReadThroughCache(String name, Duration ttl, int maxEntries, MeterRegistry meterRegistry) {
+        this.ttlNanos = ttl.toNanos();
+        this.maxEntries = maxEntries;
+        this.hits = Counter.builder("cache.gets").tag("cache", name).tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("cache.gets").tag("cache", name).tag("result", "miss").register(meterRegistry);
+        this.evictions = Counter.builder("cache.evictions").tag("cache", name).register(meterRegistry);
+        Gauge.builder("cache.size", entries, Map::size).tag("cache", name).register(meterRegistry);
+    }
+
+    public V get(K key, Supplier<V> loader) {
+        long now = System.nanoTime();
+        Entry<V> entry = entries.get(key);
+        if (entry != null && !entry.isExpired(now)) {
+            hits.increment();
+            return await(entry);
+        }
+
+        Entry<V> fresh = new Entry<>(generation.get());
+        Entry<V> current = entries.compute(key,
+                (k, existing) -> existing == null || existing.isExpired(now) ? fresh : existing);
+        if (current != fresh) {
+            hits.increment();
+            return await(current);
+        }
+
+        misses.increment();
+        V value;
+        try {
+            value = loader.get();
+        } catch (RuntimeException e) {
+            entries.remove(key, fresh);
+            fresh.value.completeExceptionally(e);
+            throw e;
+        }
+
+        fresh.expiresAt = System.nanoTime() + ttlNanos;
+        fresh.value.complete(value);
+        if (fresh.generation != generation.get()) {
+            // Invalidated while loading: hand the value to the waiting callers but do not keep it
+            entries.remove(key, fresh);
+        }
+        evictIfOversized();
+        return value;
+    }
+
+    public void invalidate(K key) {
+        generation.incrementAndGet();
+        entries.remove(key);
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        entries.clear();
+    }
+
+    private void evictIfOversized() {
+        while (entries.size() > maxEntries) {
+            // Evict the loaded entry closest to expiry; entries still loading are left alone
+            var oldest = entries.entrySet().stream()
+                    .filter(e -> e.getValue().value.isDone())
+                    .min(Comparator.comparingLong(e -> e.getValue().expiresAt));
+            if (oldest.isEmpty()) {
+                return;
+            }
+            if (entries.remove(oldest.get().getKey(), oldest.get().getValue())) {
+                evictions.increment();
+            }
+        }
+    }
+
+    private V await(Entry<V> entry) {
+        try {
+            return entry.value.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.treksathi.util;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.Temporal;
+import java.util.Base64;
+
+/**
+ * Position of the last row of a scroll page: its sort value (a date or
+ * timestamp) and its id as tie-breaker. The next page seeks past this
+ * position instead of skipping rows with an offset, and no count is needed to
+ * tell whether more rows follow.
+ * <p>
+ * Clients receive it as an opaque URL-safe token.
+ */
+public record SeekCursor(String position, int id) {
+
+    public static SeekCursor of(Temporal position, int id) {
+        return new SeekCursor(position.toString(), id);
+    }
+
+    /**
+     * @return null for a missing cursor, i.e. the first page
+     */
+    public static SeekCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = decoded.lastIndexOf('|');
+            return new SeekCursor(decoded.substring(0, separator), Integer.parseInt(decoded.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((position + '|' + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public LocalDate date() {
+        try {
+            return LocalDate.parse(position);
+        } catch (DateTimeParseException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+
+    public LocalDateTime dateTime() {
+        try {
+            return LocalDateTime.parse(position);
+        } catch (DateTimeParseException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.example.treksathi.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.ai.embedding.EmbeddingModel;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Cache keyed by the meaning of a question rather than its exact text. A lookup
+ * embeds the question and returns the value stored for the most similar earlier
+ * question in the same scope, provided the cosine similarity reaches the
+ * threshold. The scope holds whatever besides the question decides the answer,
+ * such as structured filters, and must match exactly. Entries are
+ * tagged with the ids they depend on, so a change to one of those ids drops
+ * them; they also expire after the TTL, oldest first once the cache is full.
+ * <p>
+ * Lookups scan every entry, which is cheap at the few hundred entries this is
+ * meant for. As with {@link ByteBudgetCache}, a value computed before an
+ * invalidation is never stored: take {@link #generation()} before computing it
+ * and pass it to {@link #put}.
+ */
+public class SemanticCache<V> {
+
+    private record Entry<V>(String scope, float[] vector, V value, Set<Integer> tags, long expiresAt) {
+    }
+
+    public record Hit<V>(V value, Set<Integer> tags, double similarity) {
+    }
+
+    private final EmbeddingModel embeddingModel;
+    private final double similarityThreshold;
+    private final long ttlNanos;
+    private final int maxEntries;
+
+    // Insertion-ordered by scope and normalized question, so iteration starts at the oldest entry; guarded by lock
+    private final LinkedHashMap<String, Entry<V>> entries = new LinkedHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final AtomicLong generation = new AtomicLong();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public SemanticCache(String name, EmbeddingModel embeddingModel, double similarityThreshold, Duration ttl,
+                         int maxEntries, MeterRegistry meterRegistry) {
+        this.embeddingModel = embeddingModel;
+        this.similarityThreshold = similarityThreshold;
+        this.ttlNanos = ttl.toNanos();
+        this.maxEntries = maxEntries;
+        this.hits = Counter.builder("cache.gets").tag("cache", name).tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("cache.gets").tag("cache", name).tag("result", "miss").register(meterRegistry);
+        this.evictions = Counter.builder("cache.evictions").tag("cache", name).register(meterRegistry);
+        Gauge.builder("cache.size", entries, Map::size).tag("cache", name).register(meterRegistry);
+    }
+
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * The entry whose question is closest to this one, or null when none is
+     * similar enough.
+     */
+    public Hit<V> find(String scope, String question) {
+        float[] vector = normalize(embeddingModel.embed(question));
+        long now = System.nanoTime();
+
+        Entry<V> best = null;
+        double bestSimilarity = similarityThreshold;
+        lock.lock();
+        try {
+            Iterator<Entry<V>> it = entries.values().iterator();
+            while (it.hasNext()) {
+                Entry<V> entry = it.next();
+                if (now - entry.expiresAt() >= 0) {
+                    it.remove();
+                    continue;
+                }
+                if (!entry.scope().equals(scope)) {
+                    continue;
+                }
+                double similarity = dot(vector, entry.vector());
+                if (similarity >= bestSimilarity) {
+                    best = entry;
+                    bestSimilarity = similarity;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (best == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return new Hit<>(best.value(), best.tags(), bestSimilarity);
+    }
+
+    public void put(String scope, String question, V value, Set<Integer> tags, long loadGeneration) {
+        float[] vector = normalize(embeddingModel.embed(question));
+
+        lock.lock();
+        try {
+            // Invalidated while computing: the caller has the value but it is not kept
+            if (loadGeneration != generation.get()) {
+                return;
+            }
+            String key = scope + '\u0000' + SuggestionIndex.normalize(question);
+            entries.remove(key);
+            entries.put(key, new Entry<>(scope, vector, value, Set.copyOf(tags), System.nanoTime() + ttlNanos));
+
+            Iterator<Entry<V>> eldest = entries.values().iterator();
+            while (entries.size() > maxEntries && eldest.hasNext()) {
+                eldest.next();
+                eldest.remove();
+                evictions.increment();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Drops every entry tagged with this id.
+     */
+    public void invalidateTag(int tag) {
+        generation.incrementAndGet();
+        lock.lock();
+        try {
+            entries.values().removeIf(entry -> entry.tags().contains(tag));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Drops every entry without tags, such as answers that found nothing,
+     * which any new or changed id could now improve.
+     */
+    public void invalidateUntagged() {
+        generation.incrementAndGet();
+        lock.lock();
+        try {
+            entries.values().removeIf(entry -> entry.tags().isEmpty());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        lock.lock();
+        try {
+            entries.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static float[] normalize(float[] vector) {
+        double norm = Math.sqrt(dot(vector, vector));
+        float[] unit = new float[vector.length];
+        if (norm > 0) {
+            for (int i = 0; i < vector.length; i++) {
+                unit[i] = (float) (vector[i] / norm);
+            }
+        }
+        return unit;
+    }
+
+    private static double dot(float[] a, float[] b) {
+        if (a.length != b.length) {
+            return 0;
+        }
+        double sum = 0;
+        for (int i = 0; i < a.length; i++) {
+            sum += a[i] * b[i];
+        }
+        return sum;
+    }
+}
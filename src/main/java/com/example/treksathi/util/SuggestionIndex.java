@@ -0,0 +1,239 @@
+package com.example.treksathi.util;
+
+import com.example.treksathi.record.SearchSuggestionRecord;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory typeahead index. Every word of an entry's text starts one token
+ * (the rest of the text from that word on), kept in a sorted map, so both
+ * "ever" and "base" find "Everest Base Camp" with one range scan. The whole
+ * range is read, however short the prefix, and only the best matches per type
+ * are kept, so ranking by weight holds. Queries of at least three characters
+ * that start inside a word fall back to a scan over the entries.
+ * <p>
+ * Reads are lock-free. Writers must be serialized by the caller. Memory use is
+ * estimated per entry and token; puts that would exceed the budget are refused
+ * and the index is flagged incomplete.
+ */
+public class SuggestionIndex {
+
+    private static final char SEPARATOR = '\u0000';
+    private static final int MIN_INFIX_LENGTH = 3;
+    private static final long ENTRY_OVERHEAD_BYTES = 160;
+    private static final long TOKEN_OVERHEAD_BYTES = 96;
+
+    private record Entry(String key, String type, String text, String value, String normalized, long weight,
+                         long bytes) {
+    }
+
+    private record Match(Entry entry, boolean atStart) {
+    }
+
+    // Matches at the start of the text first, then heavier entries; the key keeps distinct entries apart
+    private static final Comparator<Match> RANKING = Comparator.comparing((Match m) -> !m.atStart())
+            .thenComparing(m -> -m.entry().weight())
+            .thenComparing(m -> m.entry().text())
+            .thenComparing(m -> m.entry().key());
+
+    // The best matches of one type seen so far, at most limit of them
+    private static final class TopMatches {
+
+        private final int limit;
+        private final TreeSet<Match> best = new TreeSet<>(RANKING);
+        private final Set<String> keys = new HashSet<>();
+
+        TopMatches(int limit) {
+            this.limit = limit;
+        }
+
+        void offer(Match match) {
+            if (limit <= 0 || keys.contains(match.entry().key())) {
+                return;
+            }
+            if (best.size() == limit) {
+                if (RANKING.compare(match, best.last()) >= 0) {
+                    return;
+                }
+                keys.remove(best.pollLast().entry().key());
+            }
+            best.add(match);
+            keys.add(match.entry().key());
+        }
+
+        boolean isFull() {
+            return best.size() >= limit;
+        }
+    }
+
+    private final long maxBytes;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<String, String> tokens = new ConcurrentSkipListMap<>();
+    private final AtomicLong bytes = new AtomicLong();
+    private volatile boolean complete = true;
+
+    public SuggestionIndex(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Adds or replaces the entry identified by type and id.
+     *
+     * @return false when the entry did not fit in the memory budget
+     */
+    public boolean put(String type, String id, String text, String value, long weight) {
+        String key = key(type, id);
+        String normalized = normalize(text);
+        if (normalized.isEmpty()) {
+            remove(type, id);
+            return true;
+        }
+
+        List<String> tokenKeys = wordSuffixes(normalized).stream()
+                .map(suffix -> suffix + SEPARATOR + key)
+                .toList();
+        long size = ENTRY_OVERHEAD_BYTES + 2L * (key.length() + text.length() + value.length() + normalized.length())
+                + tokenKeys.stream().mapToLong(t -> TOKEN_OVERHEAD_BYTES + 2L * t.length()).sum();
+        // Checked before the old entry goes, so a refused update leaves it searchable
+        Entry previous = entries.get(key);
+        if (bytes.get() - (previous != null ? previous.bytes() : 0) + size > maxBytes) {
+            complete = false;
+            return false;
+        }
+
+        remove(type, id);
+        entries.put(key, new Entry(key, type, text, value, normalized, weight, size));
+        tokenKeys.forEach(token -> tokens.put(token, key));
+        bytes.addAndGet(size);
+        return true;
+    }
+
+    public void remove(String type, String id) {
+        String key = key(type, id);
+        Entry entry = entries.remove(key);
+        if (entry == null) {
+            return;
+        }
+        wordSuffixes(entry.normalized()).forEach(suffix -> tokens.remove(suffix + SEPARATOR + key));
+        bytes.addAndGet(-entry.bytes());
+    }
+
+    public String text(String type, String id) {
+        Entry entry = entries.get(key(type, id));
+        return entry != null ? entry.text() : null;
+    }
+
+    /**
+     * Best matches per type, in the iteration order of {@code limits}. Matches
+     * at the start of the text come first, then heavier entries.
+     */
+    public List<SearchSuggestionRecord> search(String query, LinkedHashMap<String, Integer> limits) {
+        String q = normalize(query);
+        if (q.isEmpty()) {
+            return List.of();
+        }
+
+        Map<String, TopMatches> byType = new HashMap<>();
+        limits.forEach((type, limit) -> byType.put(type, new TopMatches(limit)));
+        for (String key : tokens.subMap(q, true, q + Character.MAX_VALUE, false).values()) {
+            offer(byType, entries.get(key), q);
+        }
+
+        // Infix fallback for types the word-start scan could not fill; it reads every entry, so short
+        // queries, which match inside most texts anyway, skip it
+        Set<String> unfilled = new HashSet<>();
+        byType.forEach((type, top) -> {
+            if (!top.isFull()) {
+                unfilled.add(type);
+            }
+        });
+        if (q.length() >= MIN_INFIX_LENGTH && !unfilled.isEmpty()) {
+            for (Entry entry : entries.values()) {
+                if (unfilled.contains(entry.type()) && entry.normalized().contains(q)) {
+                    offer(byType, entry, q);
+                }
+            }
+        }
+
+        List<SearchSuggestionRecord> results = new ArrayList<>();
+        limits.forEach((type, limit) -> byType.get(type).best.forEach(m -> results.add(new SearchSuggestionRecord(
+                type, m.entry().text(), m.entry().value(), m.entry().weight()))));
+        return results;
+    }
+
+    private static void offer(Map<String, TopMatches> byType, Entry entry, String q) {
+        TopMatches top = entry != null ? byType.get(entry.type()) : null;
+        if (top != null) {
+            top.offer(new Match(entry, entry.normalized().startsWith(q)));
+        }
+    }
+
+    /**
+     * Entry texts keyed by "type:id", for comparison against the database.
+     */
+    public Map<String, String> texts() {
+        Map<String, String> texts = new HashMap<>();
+        entries.forEach((key, entry) -> texts.put(key, entry.text()));
+        return texts;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public int tokenCount() {
+        return tokens.size();
+    }
+
+    public long estimatedBytes() {
+        return bytes.get();
+    }
+
+    public long maxBytes() {
+        return maxBytes;
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+
+    public static String key(String type, String id) {
+        return type + ':' + id;
+    }
+
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return Normalizer.normalize(text, Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .toLowerCase(Locale.ROOT)
+                .trim()
+                .replaceAll("\\s+", " ");
+    }
+
+    private static List<String> wordSuffixes(String normalized) {
+        List<String> suffixes = new ArrayList<>();
+        for (int i = 0; i < normalized.length(); i++) {
+            boolean wordStart = Character.isLetterOrDigit(normalized.charAt(i))
+                    && (i == 0 || !Character.isLetterOrDigit(normalized.charAt(i - 1)));
+            if (wordStart) {
+                suffixes.add(normalized.substring(i));
+            }
+        }
+        return suffixes;
+    }
+}
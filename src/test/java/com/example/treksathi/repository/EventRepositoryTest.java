@@ -0,0 +1,118 @@
+package com.example.treksathi.repository;
+
+import com.example.treksathi.dto.search.SearchCriteria;
+import com.example.treksathi.enums.*;
+import com.example.treksathi.model.*;
+import com.example.treksathi.specification.EventSearchSpecification;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@DisplayName("EventRepository Integration Tests")
+class EventRepositoryTest {
+
+    private static final int EVENTS = 25;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        User admin = new User();
+        admin.setName("Admin");
+        admin.setEmail("admin@example.com");
+        admin.setRole(Role.ADMIN);
+        admin = entityManager.persist(admin);
+
+        // Every event has its own organizer, verified by the admin, and every third one has a chat room
+        for (int i = 1; i <= EVENTS; i++) {
+            User user = new User();
+            user.setName("Organizer " + i);
+            user.setEmail("organizer" + i + "@example.com");
+            user.setRole(Role.ORGANIZER);
+            user = entityManager.persist(user);
+
+            Organizer organizer = new Organizer();
+            organizer.setUser(user);
+            organizer.setOrganization_name("Organization " + i);
+            organizer.setContact_person("Contact " + i);
+            organizer.setVerified_by(admin);
+            organizer = entityManager.persist(organizer);
+
+            Event event = new Event();
+            event.setTitle("Trek " + i);
+            event.setLocation("Pokhara");
+            event.setDate(LocalDate.now().plusDays(i));
+            event.setDifficultyLevel(DifficultyLevel.values()[0]);
+            event.setStatus(EventStatus.ACTIVE);
+            event.setOrganizer(organizer);
+            event.setPrice(100.0 * i);
+            event = entityManager.persist(event);
+
+            if (i % 3 == 0) {
+                ChatRoom chatRoom = new ChatRoom();
+                chatRoom.setName("Trek " + i + " Discussion");
+                chatRoom.setType(ChatRoomType.EVENT_GROUP);
+                chatRoom.setOrganizer(organizer);
+                chatRoom.setEvent(event);
+                entityManager.persist(chatRoom);
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    @DisplayName("Should run the same number of statements for a search page of 2 and a page of 20")
+    void searchPage_StatementCountIndependentOfPageSize() {
+        long smallPageStatements = statementsForPageOf(2);
+        long largePageStatements = statementsForPageOf(20);
+
+        // The page query and its count query, nothing per row or per organizer
+        assertThat(smallPageStatements).isEqualTo(2);
+        assertThat(largePageStatements).isEqualTo(smallPageStatements);
+    }
+
+    private long statementsForPageOf(int size) {
+        entityManager.clear();
+        statistics.clear();
+
+        Page<Event> page = eventRepository.findAll(EventSearchSpecification.searchEvents(new SearchCriteria()),
+                PageRequest.of(0, size, Sort.by("date")));
+
+        // Read what the search page maps, so a lazy association would show up here too
+        assertThat(page.getContent()).hasSize(size).allSatisfy(event -> {
+            assertThat(event.getOrganizer().getOrganization_name()).isNotNull();
+            assertThat(event.getOrganizer().getContact_person()).isNotNull();
+        });
+        assertThat(page.getTotalElements()).isEqualTo(EVENTS);
+
+        return statistics.getPrepareStatementCount();
+    }
+}
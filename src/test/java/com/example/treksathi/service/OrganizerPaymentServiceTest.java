@@ -7,6 +7,7 @@ import com.example.treksathi.model.*;
 import com.example.treksathi.repository.EventRepository;
 import com.example.treksathi.repository.OrganizerRepository;
 import com.example.treksathi.repository.PaymentRepository;
+import com.example.treksathi.repository.RevenueDailyRollupRepository;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.TypedQuery;
 import jakarta.persistence.criteria.*;
@@ -39,6 +40,12 @@ class OrganizerPaymentServiceTest {
     @Mock
     private OrganizerRepository organizerRepository;
 
+    @Mock
+    private RevenueDailyRollupRepository revenueRollupRepository;
+
+    @Mock
+    private CsvExportService csvExportService;
+
     @Mock
     private EntityManager entityManager;
 
@@ -131,7 +138,6 @@ class OrganizerPaymentServiceTest {
         filters.setStatus("ALL");
 
         List<Payments> payments = Collections.singletonList(payment);
-        List<Event> events = Collections.singletonList(event);
 
         when(organizerRepository.findByUserId(userId)).thenReturn(Optional.of(organizer));
         when(entityManager.getCriteriaBuilder()).thenReturn(criteriaBuilder);
@@ -142,8 +148,10 @@ class OrganizerPaymentServiceTest {
         when(criteriaQuery.distinct(anyBoolean())).thenReturn(criteriaQuery);
         when(entityManager.createQuery(criteriaQuery)).thenReturn(typedQuery);
         when(typedQuery.getResultList()).thenReturn(payments);
-        when(eventRepository.findByOrganizer(organizer)).thenReturn(events);
-        when(paymentRepository.findByOrganizerId(organizer.getId())).thenReturn(payments);
+        when(eventRepository.countByMonthForOrganizer(eq(organizer.getId()), any(LocalDate.class)))
+                .thenReturn(Collections.emptyList());
+        when(revenueRollupRepository.summarizeByMonthForOrganizer(eq(organizer.getId()), anyList(), any(LocalDate.class)))
+                .thenReturn(Collections.emptyList());
 
         // When
         PaymentDashboardDTO result = organizerPaymentService.getPaymentDashboard(userId, filters);
@@ -197,8 +205,10 @@ class OrganizerPaymentServiceTest {
         when(criteriaQuery.distinct(anyBoolean())).thenReturn(criteriaQuery);
         when(entityManager.createQuery(criteriaQuery)).thenReturn(typedQuery);
         when(typedQuery.getResultList()).thenReturn(payments);
-        when(eventRepository.findByOrganizer(organizer)).thenReturn(Collections.singletonList(event));
-        when(paymentRepository.findByOrganizerId(organizer.getId())).thenReturn(payments);
+        when(eventRepository.countByMonthForOrganizer(eq(organizer.getId()), any(LocalDate.class)))
+                .thenReturn(Collections.emptyList());
+        when(revenueRollupRepository.summarizeByMonthForOrganizer(eq(organizer.getId()), anyList(), any(LocalDate.class)))
+                .thenReturn(Collections.emptyList());
 
         // When
         PaymentDashboardDTO result = organizerPaymentService.getPaymentDashboard(userId, filters);
@@ -228,8 +238,10 @@ class OrganizerPaymentServiceTest {
         when(criteriaQuery.distinct(anyBoolean())).thenReturn(criteriaQuery);
         when(entityManager.createQuery(criteriaQuery)).thenReturn(typedQuery);
         when(typedQuery.getResultList()).thenReturn(payments);
-        when(eventRepository.findByOrganizer(organizer)).thenReturn(Collections.singletonList(event));
-        when(paymentRepository.findByOrganizerId(organizer.getId())).thenReturn(payments);
+        when(eventRepository.countByMonthForOrganizer(eq(organizer.getId()), any(LocalDate.class)))
+                .thenReturn(Collections.emptyList());
+        when(revenueRollupRepository.summarizeByMonthForOrganizer(eq(organizer.getId()), anyList(), any(LocalDate.class)))
+                .thenReturn(Collections.emptyList());
 
         // When
         PaymentDashboardDTO result = organizerPaymentService.getPaymentDashboard(userId, filters);
@@ -262,8 +274,10 @@ class OrganizerPaymentServiceTest {
         when(criteriaQuery.distinct(anyBoolean())).thenReturn(criteriaQuery);
         when(entityManager.createQuery(criteriaQuery)).thenReturn(typedQuery);
         when(typedQuery.getResultList()).thenReturn(payments);
-        when(eventRepository.findByOrganizer(organizer)).thenReturn(Collections.singletonList(event));
-        when(paymentRepository.findByOrganizerId(organizer.getId())).thenReturn(payments);
+        when(eventRepository.countByMonthForOrganizer(eq(organizer.getId()), any(LocalDate.class)))
+                .thenReturn(Collections.emptyList());
+        when(revenueRollupRepository.summarizeByMonthForOrganizer(eq(organizer.getId()), anyList(), any(LocalDate.class)))
+                .thenReturn(Collections.emptyList());
 
         // When
         PaymentDashboardDTO result = organizerPaymentService.getPaymentDashboard(userId, filters);
@@ -298,8 +312,10 @@ class OrganizerPaymentServiceTest {
         when(criteriaQuery.distinct(anyBoolean())).thenReturn(criteriaQuery);
         when(entityManager.createQuery(criteriaQuery)).thenReturn(typedQuery);
         when(typedQuery.getResultList()).thenReturn(payments);
-        when(eventRepository.findByOrganizer(organizer)).thenReturn(Collections.singletonList(event));
-        when(paymentRepository.findByOrganizerId(organizer.getId())).thenReturn(payments);
+        when(eventRepository.countByMonthForOrganizer(eq(organizer.getId()), any(LocalDate.class)))
+                .thenReturn(Collections.emptyList());
+        when(revenueRollupRepository.summarizeByMonthForOrganizer(eq(organizer.getId()), anyList(), any(LocalDate.class)))
+                .thenReturn(Collections.emptyList());
 
         // When
         PaymentDashboardDTO result = organizerPaymentService.getPaymentDashboard(1, filters);
@@ -331,8 +347,10 @@ class OrganizerPaymentServiceTest {
         when(criteriaQuery.distinct(anyBoolean())).thenReturn(criteriaQuery);
         when(entityManager.createQuery(criteriaQuery)).thenReturn(typedQuery);
         when(typedQuery.getResultList()).thenReturn(payments);
-        when(eventRepository.findByOrganizer(organizer)).thenReturn(Collections.singletonList(event));
-        when(paymentRepository.findByOrganizerId(organizer.getId())).thenReturn(payments);
+        when(eventRepository.countByMonthForOrganizer(eq(organizer.getId()), any(LocalDate.class)))
+                .thenReturn(Collections.emptyList());
+        when(revenueRollupRepository.summarizeByMonthForOrganizer(eq(organizer.getId()), anyList(), any(LocalDate.class)))
+                .thenReturn(Collections.emptyList());
 
         // When
         PaymentDashboardDTO result = organizerPaymentService.getPaymentDashboard(1, filters);
@@ -367,8 +385,10 @@ class OrganizerPaymentServiceTest {
         when(criteriaQuery.distinct(anyBoolean())).thenReturn(criteriaQuery);
         when(entityManager.createQuery(criteriaQuery)).thenReturn(typedQuery);
         when(typedQuery.getResultList()).thenReturn(payments);
-        when(eventRepository.findByOrganizer(organizer)).thenReturn(Collections.singletonList(event));
-        when(paymentRepository.findByOrganizerId(organizer.getId())).thenReturn(payments);
+        when(eventRepository.countByMonthForOrganizer(eq(organizer.getId()), any(LocalDate.class)))
+                .thenReturn(Collections.emptyList());
+        when(revenueRollupRepository.summarizeByMonthForOrganizer(eq(organizer.getId()), anyList(), any(LocalDate.class)))
+                .thenReturn(Collections.emptyList());
 
         // When
         PaymentDashboardDTO result = organizerPaymentService.getPaymentDashboard(1, filters);
@@ -403,8 +423,10 @@ class OrganizerPaymentServiceTest {
         when(criteriaQuery.distinct(anyBoolean())).thenReturn(criteriaQuery);
         when(entityManager.createQuery(criteriaQuery)).thenReturn(typedQuery);
         when(typedQuery.getResultList()).thenReturn(payments);
-        when(eventRepository.findByOrganizer(organizer)).thenReturn(Collections.singletonList(event));
-        when(paymentRepository.findByOrganizerId(organizer.getId())).thenReturn(payments);
+        when(eventRepository.countByMonthForOrganizer(eq(organizer.getId()), any(LocalDate.class)))
+                .thenReturn(Collections.emptyList());
+        when(revenueRollupRepository.summarizeByMonthForOrganizer(eq(organizer.getId()), anyList(), any(LocalDate.class)))
+                .thenReturn(Collections.emptyList());
 
         // When
         PaymentDashboardDTO result = organizerPaymentService.getPaymentDashboard(1, filters);
@@ -440,8 +462,10 @@ class OrganizerPaymentServiceTest {
         when(criteriaQuery.distinct(anyBoolean())).thenReturn(criteriaQuery);
         when(entityManager.createQuery(criteriaQuery)).thenReturn(typedQuery);
         when(typedQuery.getResultList()).thenReturn(Collections.emptyList());
-        when(eventRepository.findByOrganizer(organizer)).thenReturn(Collections.emptyList());
-        when(paymentRepository.findByOrganizerId(organizer.getId())).thenReturn(Collections.emptyList());
+        when(eventRepository.countByMonthForOrganizer(eq(organizer.getId()), any(LocalDate.class)))
+                .thenReturn(Collections.emptyList());
+        when(revenueRollupRepository.summarizeByMonthForOrganizer(eq(organizer.getId()), anyList(), any(LocalDate.class)))
+                .thenReturn(Collections.emptyList());
 
         // When
         PaymentDashboardDTO result = organizerPaymentService.getPaymentDashboard(userId, filters);
@@ -483,8 +507,10 @@ class OrganizerPaymentServiceTest {
         when(criteriaQuery.distinct(anyBoolean())).thenReturn(criteriaQuery);
         when(entityManager.createQuery(criteriaQuery)).thenReturn(typedQuery);
         when(typedQuery.getResultList()).thenReturn(payments);
-        when(eventRepository.findByOrganizer(organizer)).thenReturn(Collections.singletonList(event));
-        when(paymentRepository.findByOrganizerId(organizer.getId())).thenReturn(payments);
+        when(eventRepository.countByMonthForOrganizer(eq(organizer.getId()), any(LocalDate.class)))
+                .thenReturn(Collections.emptyList());
+        when(revenueRollupRepository.summarizeByMonthForOrganizer(eq(organizer.getId()), anyList(), any(LocalDate.class)))
+                .thenReturn(Collections.emptyList());
 
         // When
         PaymentDashboardDTO result = organizerPaymentService.getPaymentDashboard(1, filters);
@@ -516,8 +542,10 @@ class OrganizerPaymentServiceTest {
         when(criteriaQuery.distinct(anyBoolean())).thenReturn(criteriaQuery);
         when(entityManager.createQuery(criteriaQuery)).thenReturn(typedQuery);
         when(typedQuery.getResultList()).thenReturn(payments);
-        when(eventRepository.findByOrganizer(organizer)).thenReturn(Collections.singletonList(event));
-        when(paymentRepository.findByOrganizerId(organizer.getId())).thenReturn(payments);
+        when(eventRepository.countByMonthForOrganizer(eq(organizer.getId()), any(LocalDate.class)))
+                .thenReturn(Collections.emptyList());
+        when(revenueRollupRepository.summarizeByMonthForOrganizer(eq(organizer.getId()), anyList(), any(LocalDate.class)))
+                .thenReturn(Collections.emptyList());
 
         // When
         PaymentDashboardDTO result = organizerPaymentService.getPaymentDashboard(userId, filters);
@@ -0,0 +1,191 @@
+package com.example.treksathi.service;
+
+import com.example.treksathi.dto.search.SearchCacheKey;
+import com.example.treksathi.dto.search.SearchCriteria;
+import com.example.treksathi.dto.search.SearchFacetsDTO;
+import com.example.treksathi.dto.search.SearchResponse;
+import com.example.treksathi.dto.search.SearchResultDTO;
+import com.example.treksathi.enums.DifficultyLevel;
+import com.example.treksathi.enums.EventStatus;
+import com.example.treksathi.model.Event;
+import com.example.treksathi.model.Organizer;
+import com.example.treksathi.record.IdCountRecord;
+import com.example.treksathi.record.RatingSummaryRecord;
+import com.example.treksathi.repository.EventRegistrationRepository;
+import com.example.treksathi.repository.EventRepository;
+import com.example.treksathi.repository.OrganizerRepository;
+import com.example.treksathi.repository.ReviewRepository;
+import com.example.treksathi.util.ByteBudgetCache;
+import com.example.treksathi.util.SeekCursor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SearchServiceImpl Unit Tests")
+class SearchServiceImplTest {
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @Mock
+    private OrganizerRepository organizerRepository;
+
+    @Mock
+    private EventRegistrationRepository eventRegistrationRepository;
+
+    @Mock
+    private ReviewRepository reviewsRepository;
+
+    @Mock
+    private SuggestionIndexService suggestionIndexService;
+
+    @Mock
+    private SearchFacetService searchFacetService;
+
+    @Mock
+    private ByteBudgetCache<SearchCacheKey, SearchResponse> searchResultCache;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private SearchServiceImpl searchService;
+
+    private List<Organizer> organizers;
+
+    @BeforeEach
+    void setUp() {
+        organizers = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            Organizer organizer = new Organizer();
+            organizer.setId(i);
+            organizer.setOrganization_name("Organizer " + i);
+            organizer.setContact_person("Contact " + i);
+            organizers.add(organizer);
+        }
+
+        // Always miss the cache and run the loader without a real transaction
+        lenient().when(searchResultCache.get(any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<SearchResponse>>getArgument(1).get());
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    @DisplayName("Should assemble participant, rating and organizer figures from the grouped results")
+    void searchEvents_AssemblesDtosFromGroupedResults() {
+        List<Event> events = events(2);
+        stubPage(events);
+        when(eventRegistrationRepository.countByEventIds(anyCollection()))
+                .thenReturn(List.of(new IdCountRecord(1, 7)));
+        when(reviewsRepository.summarizeRatingsByEventIds(anyCollection()))
+                .thenReturn(List.of(new RatingSummaryRecord(1, 4.5, 2)));
+        when(eventRepository.countByOrganizerIds(anyCollection()))
+                .thenReturn(List.of(new IdCountRecord(1, 3), new IdCountRecord(2, 1)));
+        when(reviewsRepository.summarizeRatingsByOrganizerIds(anyCollection()))
+                .thenReturn(List.of(new RatingSummaryRecord(1, 4.0, 5)));
+
+        SearchResponse response = searchService.searchEvents(criteria(events.size()));
+
+        SearchResultDTO first = response.getResults().get(0);
+        assertThat(first.getCurrentParticipants()).isEqualTo(7);
+        assertThat(first.getAverageRating()).isEqualTo(4.5);
+        assertThat(first.getReviewCount()).isEqualTo(2);
+        assertThat(first.getOrganizer().getTotalEvents()).isEqualTo(3);
+        assertThat(first.getOrganizer().getRating()).isEqualTo(4.0);
+
+        // Events without registrations or reviews fall back to zero
+        SearchResultDTO second = response.getResults().get(1);
+        assertThat(second.getCurrentParticipants()).isZero();
+        assertThat(second.getAverageRating()).isZero();
+        assertThat(second.getReviewCount()).isZero();
+        assertThat(second.getOrganizer().getTotalEvents()).isEqualTo(1);
+        assertThat(second.getOrganizer().getRating()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should compute facets only when they are requested")
+    void searchEvents_ComputesFacetsOnlyOnRequest() {
+        stubPage(events(1));
+
+        SearchCriteria plain = criteria(10);
+        assertThat(searchService.searchEvents(plain).getFacets()).isNull();
+        verifyNoInteractions(searchFacetService);
+
+        SearchFacetsDTO facets = SearchFacetsDTO.builder().difficultyLevels(List.of()).build();
+        SearchCriteria withFacets = criteria(10);
+        withFacets.setIncludeFacets(true);
+        when(searchFacetService.computeFacets(any())).thenReturn(facets);
+
+        assertThat(searchService.searchEvents(withFacets).getFacets()).isSameAs(facets);
+    }
+
+    @Test
+    @DisplayName("Should page by cursor from one extra row without a count query")
+    @SuppressWarnings("unchecked")
+    void searchEvents_ScrollModeSkipsCount() {
+        List<Event> rows = events(3);
+        doReturn(rows).when(eventRepository).findBy(any(Specification.class), any());
+
+        SearchCriteria criteria = criteria(2);
+        criteria.setScroll(true);
+        SearchResponse response = searchService.searchEvents(criteria);
+
+        assertThat(response.getResults()).extracting(SearchResultDTO::getId).containsExactly(1, 2);
+        assertThat(response.getHasNext()).isTrue();
+        assertThat(response.getTotalElements()).isNull();
+        assertThat(SeekCursor.decode(response.getNextCursor()))
+                .isEqualTo(SeekCursor.of(rows.get(1).getDate(), rows.get(1).getId()));
+        verify(eventRepository, never()).count(any(Specification.class));
+        verify(eventRepository, never()).findAll(any(Specification.class), any(Pageable.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubPage(List<Event> events) {
+        when(eventRepository.findAll(any(Specification.class), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(events, PageRequest.of(0, events.size()), events.size()));
+    }
+
+    private List<Event> events(int count) {
+        List<Event> events = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            Event event = new Event();
+            event.setId(i);
+            event.setTitle("Trek " + i);
+            event.setLocation("Pokhara");
+            event.setDate(LocalDate.now().plusDays(i));
+            event.setDurationDays(3);
+            event.setDifficultyLevel(DifficultyLevel.values()[0]);
+            event.setStatus(EventStatus.ACTIVE);
+            event.setOrganizer(organizers.get((i - 1) % organizers.size()));
+            events.add(event);
+        }
+        return events;
+    }
+
+    private SearchCriteria criteria(int size) {
+        SearchCriteria criteria = new SearchCriteria();
+        criteria.setSize(size);
+        return criteria;
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.treksathi.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.vectorstore.SearchRequest;
+import org.springframework.ai.vectorstore.filter.FilterExpressionBuilder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("InMemoryVectorStore Unit Tests")
+class InMemoryVectorStoreTest {
+
+    // Enough dimensions that the few words used here never share one
+    private static final int DIMENSIONS = 1024;
+
+    @TempDir
+    Path snapshotDirectory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final FilterExpressionBuilder b = new FilterExpressionBuilder();
+
+    private InMemoryVectorStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = newStore();
+        store.add(List.of(
+                document("full", "alpine lake trek", true, 120, "MODERATE"),
+                document("two", "alpine lake", false, 130, "EASY"),
+                document("one", "alpine", true, 90, "EASY"),
+                document("other", "desert lake ride", true, 200, "HARD")));
+    }
+
+    @Test
+    @DisplayName("Should return the top K documents, most similar first")
+    void similaritySearch_ReturnsTopKInScoreOrder() {
+        List<Document> results = store.similaritySearch(SearchRequest.query("alpine lake trek").withTopK(3));
+
+        assertThat(results).extracting(Document::getId).containsExactly("full", "two", "one");
+        List<Float> distances = results.stream().map(doc -> (Float) doc.getMetadata().get("distance")).toList();
+        assertThat(distances).isSorted();
+        assertThat(distances.get(0)).isCloseTo(0f, within(1e-5f));
+    }
+
+    @Test
+    @DisplayName("Should leave out documents below the similarity threshold")
+    void similaritySearch_AppliesThreshold() {
+        // Against the query alpine lake scores 2/sqrt(6) = 0.82, alpine 1/sqrt(3) = 0.58, desert lake ride 1/3
+        List<Document> results = store.similaritySearch(SearchRequest.query("alpine lake trek")
+                .withTopK(10)
+                .withSimilarityThreshold(0.7));
+
+        assertThat(results).extracting(Document::getId).containsExactly("full", "two");
+    }
+
+    @Test
+    @DisplayName("Should only return documents whose metadata matches the filter")
+    void similaritySearch_AppliesFilterExpression() {
+        // Integer payloads must match the Long values the filter carries
+        List<Document> results = store.similaritySearch(SearchRequest.query("alpine lake trek")
+                .withTopK(10)
+                .withFilterExpression(b.and(b.eq("isActive", true), b.gte("startDate", 100L)).build()));
+
+        assertThat(results).extracting(Document::getId).containsExactly("full", "other");
+    }
+
+    @Test
+    @DisplayName("Should evaluate IN, NOT and missing keys like Qdrant")
+    void metadataFilter_EvaluatesOperators() {
+        Map<String, Object> metadata = Map.of("difficulty", "EASY", "price", 1500.0);
+
+        assertThat(MetadataFilter.matches(b.in("difficulty", "EASY", "MODERATE").build(), metadata)).isTrue();
+        assertThat(MetadataFilter.matches(b.nin("difficulty", "EASY").build(), metadata)).isFalse();
+        assertThat(MetadataFilter.matches(b.not(b.lt("price", 1000)).build(), metadata)).isTrue();
+        assertThat(MetadataFilter.matches(b.or(b.gt("price", 2000), b.eq("difficulty", "EASY")).build(), metadata))
+                .isTrue();
+        assertThat(MetadataFilter.matches(b.eq("region", "Mustang").build(), metadata)).isFalse();
+        assertThat(MetadataFilter.matches(b.ne("region", "Mustang").build(), metadata)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should keep rows consistent when documents are deleted and added again")
+    void deleteThenAdd_KeepsRowsConsistent() {
+        // Deleting the first row moves the last one into its place
+        assertThat(store.delete(List.of("full", "missing"))).contains(false);
+        assertThat(store.size()).isEqualTo(3);
+
+        List<Document> afterDelete = store.similaritySearch(SearchRequest.query("desert lake ride").withTopK(1));
+        assertThat(afterDelete).singleElement().satisfies(doc -> {
+            assertThat(doc.getId()).isEqualTo("other");
+            assertThat(doc.getContent()).isEqualTo("desert lake ride");
+        });
+
+        store.add(List.of(document("full", "alpine lake trek", true, 120, "MODERATE")));
+        // Adding an existing id replaces its document rather than adding a row
+        store.add(List.of(document("one", "alpine meadow", true, 90, "EASY")));
+
+        assertThat(store.size()).isEqualTo(4);
+        assertThat(store.similaritySearch(SearchRequest.query("alpine lake trek").withTopK(1)))
+                .extracting(Document::getId).containsExactly("full");
+        assertThat(store.similaritySearch(SearchRequest.query("alpine meadow").withTopK(1)))
+                .extracting(Document::getContent).containsExactly("alpine meadow");
+    }
+
+    @Test
+    @DisplayName("Should restore documents, vectors and metadata from a snapshot")
+    void snapshot_RoundTrips() throws Exception {
+        store.saveSnapshot();
+        // A second save replaces the first one whole
+        store.delete(List.of("other"));
+        store.saveSnapshot();
+
+        InMemoryVectorStore restored = newStore();
+        assertThat(restored.loadSnapshot()).isTrue();
+
+        assertThat(restored.size()).isEqualTo(3);
+        assertThat(Files.exists(snapshotDirectory.resolve("snapshot.tmp"))).isFalse();
+        SearchRequest request = SearchRequest.query("alpine lake trek")
+                .withTopK(10)
+                .withFilterExpression(b.eq("isActive", true).build());
+        assertThat(restored.similaritySearch(request)).extracting(Document::getId)
+                .containsExactlyElementsOf(store.similaritySearch(request).stream().map(Document::getId).toList())
+                .containsExactly("full", "one");
+    }
+
+    @Test
+    @DisplayName("Should report no snapshot when none was saved")
+    void loadSnapshot_WithoutSnapshot_ReturnsFalse() throws Exception {
+        assertThat(newStore().loadSnapshot()).isFalse();
+    }
+
+    private InMemoryVectorStore newStore() {
+        return new InMemoryVectorStore(new HashingEmbeddingModel(DIMENSIONS), objectMapper, snapshotDirectory);
+    }
+
+    private static Document document(String id, String content, boolean active, int startDate, String difficulty) {
+        return new Document(id, content, Map.of("isActive", active, "startDate", startDate, "difficulty", difficulty));
+    }
+}